@@ -27,4 +27,13 @@ public interface IBattleManagerBase {
 	void startNewBattle(BattleSpecification spec, String initialPositions, boolean waitTillOver, boolean enableRecording);
 
 	void takeScreenshot();
+
+	/**
+	 * Sets the strategy used for handing turns between the battle thread and the robot threads in the battles
+	 * started with a battle specification.
+	 *
+	 * @param turnHandoff the turn handoff strategy, i.e. "monitor" or "park", or null for the TURNHANDOFF system
+	 *                    property
+	 */
+	void setTurnHandoff(String turnHandoff);
 }
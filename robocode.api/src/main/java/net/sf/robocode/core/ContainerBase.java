@@ -19,4 +19,33 @@ public abstract class ContainerBase {
 	public static <T> T getComponent(java.lang.Class<T> tClass) {
 		return instance == null ? null : instance.getBaseComponent(tClass);
 	}
+
+	/**
+	 * Creates a new engine, which has its own battle manager, host manager and thread manager, so it can run
+	 * battles concurrently with the other engines in this JVM.
+	 *
+	 * @return the new engine, or null if the container has not been initialized
+	 */
+	public static ContainerBase createEngine() {
+		return instance == null ? null : instance.createBaseEngine();
+	}
+
+	protected ContainerBase createBaseEngine() {
+		return this;
+	}
+
+	/**
+	 * Returns a component of this engine.
+	 *
+	 * @param tClass the type of the component
+	 * @return the component, or null if it was not found
+	 */
+	public <T> T getEngineComponent(java.lang.Class<T> tClass) {
+		return getBaseComponent(tClass);
+	}
+
+	/**
+	 * Stops the battles of this engine and releases its components.
+	 */
+	public void closeEngine() {}
 }
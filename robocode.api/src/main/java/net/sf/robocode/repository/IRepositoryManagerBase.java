@@ -16,6 +16,7 @@ import robocode.control.RobotSpecification;
  */
 public interface IRepositoryManagerBase {
 	boolean refresh();
+	void reload(boolean forced);
 	RobotSpecification[] getSpecifications();
 	RobotSpecification[] loadSelectedRobots(String selectedRobots);
 }
@@ -15,6 +15,7 @@ import robocode.robotinterfaces.ITeamRobot;
 
 import java.awt.*;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 
 
 /**
@@ -30,6 +31,7 @@ public final class MessageEvent extends Event {
 
 	private final String sender;
 	private final Serializable message;
+	private final transient ByteBuffer binaryMessage;
 
 	/**
 	 * Called by the game to create a new MessageEvent.
@@ -38,8 +40,26 @@ public final class MessageEvent extends Event {
 	 * @param message the message for your robot
 	 */
 	public MessageEvent(String sender, Serializable message) {
+		this(sender, message, null);
+	}
+
+	private MessageEvent(String sender, Serializable message, ByteBuffer binaryMessage) {
 		this.sender = sender;
 		this.message = message;
+		this.binaryMessage = binaryMessage;
+	}
+
+	/**
+	 * Called by the game to create a new MessageEvent for a binary message.
+	 *
+	 * @param sender        the name of the sending robot
+	 * @param binaryMessage the binary message for your robot
+	 * @return a new MessageEvent for the binary message
+	 *
+	 * @since 1.11.2.0
+	 */
+	public static MessageEvent binaryMessageEvent(String sender, ByteBuffer binaryMessage) {
+		return new MessageEvent(sender, null, binaryMessage);
 	}
 
 	/**
@@ -54,12 +74,29 @@ public final class MessageEvent extends Event {
 	/**
 	 * Returns the message itself.
 	 *
-	 * @return the message
+	 * @return the message, or {@code null} if the message is a binary message
+	 * @see #getBinaryMessage()
 	 */
 	public Serializable getMessage() {
 		return message;
 	}
 
+	/**
+	 * Returns the binary message sent with {@link TeamRobot#sendBinaryMessage(String, ByteBuffer)
+	 * sendBinaryMessage()} or {@link TeamRobot#broadcastBinaryMessage(ByteBuffer) broadcastBinaryMessage()}.
+	 * <p>
+	 * The message is returned as a read-only buffer positioned at the first byte of the message, where each call
+	 * returns a new buffer, so reading from the buffer does not affect later calls.
+	 *
+	 * @return the binary message, or {@code null} if the message is not a binary message
+	 * @see #getMessage()
+	 *
+	 * @since 1.11.2.0
+	 */
+	public ByteBuffer getBinaryMessage() {
+		return binaryMessage == null ? null : binaryMessage.duplicate();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -14,6 +14,7 @@ import robocode.robotinterfaces.peer.ITeamRobotPeer;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Vector;
 
 
@@ -201,4 +202,62 @@ public class TeamRobot extends AdvancedRobot implements ITeamRobot, ITeamEvents
 			uninitializedException();
 		}
 	}
+
+	/**
+	 * Broadcasts a binary message to all teammates. The remaining bytes of the
+	 * buffer are sent as they are, which is much faster than sending an object
+	 * with {@link #broadcastMessage(Serializable)}, as the message is not
+	 * serialized. The position of the buffer is not changed, so the buffer can
+	 * be reused for the next message.
+	 * <p>
+	 * The teammates receive the message with
+	 * {@link MessageEvent#getBinaryMessage()}.
+	 * <p>
+	 * Example:
+	 * <pre>
+	 *   ByteBuffer buffer = ByteBuffer.allocate(16);
+	 *
+	 *   public void onScannedRobot(ScannedRobotEvent e) {
+	 *       buffer.clear();
+	 *       buffer.putDouble(e.getBearingRadians()).putDouble(e.getDistance());
+	 *       buffer.flip();
+	 *       broadcastBinaryMessage(buffer);
+	 *   }
+	 * </pre>
+	 *
+	 * @param message the message to broadcast to all teammates
+	 * @throws IOException if the message could not be broadcasted to the
+	 *                     teammates
+	 * @see #sendBinaryMessage(String, ByteBuffer)
+	 *
+	 * @since 1.11.2.0
+	 */
+	public void broadcastBinaryMessage(ByteBuffer message) throws IOException {
+		if (peer != null) {
+			((ITeamRobotPeer) peer).broadcastBinaryMessage(message);
+		} else {
+			uninitializedException();
+		}
+	}
+
+	/**
+	 * Sends a binary message to one (or more) teammates. The remaining bytes
+	 * of the buffer are sent as they are, which is much faster than sending an
+	 * object with {@link #sendMessage(String, Serializable)}, as the message is
+	 * not serialized. The position of the buffer is not changed.
+	 *
+	 * @param name	the name of the intended recipient of the message
+	 * @param message the message to send
+	 * @throws IOException if the message could not be sent
+	 * @see #broadcastBinaryMessage(ByteBuffer)
+	 *
+	 * @since 1.11.2.0
+	 */
+	public void sendBinaryMessage(String name, ByteBuffer message) throws IOException {
+		if (peer != null) {
+			((ITeamRobotPeer) peer).sendBinaryMessage(name, message);
+		} else {
+			uninitializedException();
+		}
+	}
 }
@@ -33,6 +33,10 @@ import java.util.List;
  * The RobocodeEngine is used by e.g. RoboRumble@Home client, which is integrated in
  * Robocode. In addition, the RobocodeEngine is also used by the test units for
  * testing the Robocode application itself.
+ * <p>
+ * When the MULTIPLEENGINES system property is set to true, each RobocodeEngine has its own battle manager and
+ * robot threads, so several RobocodeEngines can run battles concurrently in the same JVM. The GUI is not
+ * available to these engines.
  *
  * @author Mathew A. Nelson (original)
  * @author Flemming N. Larsen (contributor)
@@ -43,6 +47,7 @@ import java.util.List;
  */
 public class RobocodeEngine implements IRobocodeEngine {
 
+	private ContainerBase engine;
 	private BattleObserver battleObserver;
 	private BattleSpecification battleSpecification;
 	private final List<IBattleListener> listeners = new ArrayList<IBattleListener>();
@@ -131,11 +136,26 @@ public class RobocodeEngine implements IRobocodeEngine {
 			battleObserver = new BattleObserver();
 			battleObserver.listener = listener;
 		}
-		HiddenAccess.initContainerForRobotEngine(robocodeHome, battleObserver);
+		init(robocodeHome, battleObserver);
 	}
 
 	private void init(File robocodeHome, IBattleListener listener) {
-		HiddenAccess.initContainerForRobotEngine(robocodeHome, listener);
+		// Each RobocodeEngine gets an engine of its own, so battles can run concurrently in one JVM
+		if (System.getProperty("MULTIPLEENGINES", "false").equals("true")) {
+			HiddenAccess.initContainerForRobotEngine(robocodeHome, null);
+			engine = ContainerBase.createEngine();
+			if (listener != null) {
+				getBattleManager().addListener(listener);
+			}
+		} else {
+			HiddenAccess.initContainerForRobotEngine(robocodeHome, listener);
+		}
+	}
+
+	private IBattleManagerBase getBattleManager() {
+		return engine != null
+				? engine.getEngineComponent(IBattleManagerBase.class)
+				: ContainerBase.getComponent(IBattleManagerBase.class);
 	}
 
 	/**
@@ -143,7 +163,7 @@ public class RobocodeEngine implements IRobocodeEngine {
 	 */
 	public void addBattleListener(IBattleListener listener) {
 		listeners.add(listener);
-		ContainerBase.getComponent(IBattleManagerBase.class).addListener(listener);
+		getBattleManager().addListener(listener);
 	}
 
 	/**
@@ -151,19 +171,25 @@ public class RobocodeEngine implements IRobocodeEngine {
 	 */
 	public void removeBattleListener(IBattleListener listener) {
 		listeners.remove(listener);
-		ContainerBase.getComponent(IBattleManagerBase.class).removeListener(listener);
+		getBattleManager().removeListener(listener);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	public void close() {
+		if (engine != null) {
+			// Other engines may still be running, so only this engine is closed
+			engine.closeEngine();
+			listeners.clear();
+			return;
+		}
 		setVisible(false);
 		if (battleObserver != null) {
-			ContainerBase.getComponent(IBattleManagerBase.class).removeListener(battleObserver);
+			getBattleManager().removeListener(battleObserver);
 		}
 		for (IBattleListener listener : listeners) {
-			ContainerBase.getComponent(IBattleManagerBase.class).removeListener(listener);
+			getBattleManager().removeListener(listener);
 		}
 		listeners.clear();
 		HiddenAccess.cleanup();
@@ -198,6 +224,18 @@ public class RobocodeEngine implements IRobocodeEngine {
 		return FileUtil.getRobotsDir();
 	}
 
+	/**
+	 * Sets the strategy used for handing turns between the battle thread and the robot threads in the battles run
+	 * by this RobocodeEngine. When MULTIPLEENGINES is set to true, each RobocodeEngine can use a strategy of its own.
+	 *
+	 * @param turnHandoff "monitor" for wait/notify, "park" for park/unpark, or null for the TURNHANDOFF system
+	 *                    property, which is "monitor" by default.
+	 * @since 1.11.2
+	 */
+	public void setTurnHandoff(String turnHandoff) {
+		getBattleManager().setTurnHandoff(turnHandoff);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -251,7 +289,7 @@ public class RobocodeEngine implements IRobocodeEngine {
 	 */
 	public void runBattle(BattleSpecification battleSpecification, String initialPositions, boolean waitTillOver) {
 		this.battleSpecification = battleSpecification;
-		ContainerBase.getComponent(IBattleManagerBase.class).startNewBattle(battleSpecification, initialPositions,
+		getBattleManager().startNewBattle(battleSpecification, initialPositions,
 				waitTillOver, false);
 	}
 
@@ -260,7 +298,7 @@ public class RobocodeEngine implements IRobocodeEngine {
 	 */
 	public void runBattle(BattleSpecification battleSpecification, String initialPositions, boolean waitTillOver, boolean enableRecording) {
 		this.battleSpecification = battleSpecification;
-		ContainerBase.getComponent(IBattleManagerBase.class).startNewBattle(battleSpecification, initialPositions,
+		getBattleManager().startNewBattle(battleSpecification, initialPositions,
 				waitTillOver, enableRecording);
 	}
 
@@ -268,28 +306,28 @@ public class RobocodeEngine implements IRobocodeEngine {
 	 * {@inheritDoc}
 	 */
 	public void waitTillBattleOver() {
-		ContainerBase.getComponent(IBattleManagerBase.class).waitTillOver();
+		getBattleManager().waitTillOver();
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	public void abortCurrentBattle() {
-		ContainerBase.getComponent(IBattleManagerBase.class).stop(true);
+		getBattleManager().stop(true);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	public void abortCurrentBattle(boolean waitTillEnd) {
-		ContainerBase.getComponent(IBattleManagerBase.class).stop(waitTillEnd);
+		getBattleManager().stop(waitTillEnd);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	public void takeScreenshot() {
-		ContainerBase.getComponent(IBattleManagerBase.class).takeScreenshot();
+		getBattleManager().takeScreenshot();
 	}
 
 	/**
@@ -360,10 +398,14 @@ public class RobocodeEngine implements IRobocodeEngine {
 	/**
 	 * Registered only if listener in not null.
 	 */
-	private class BattleObserver extends BattleAdaptor {
+	private class BattleObserver extends BattleAdaptor implements ITurnSnapshotListener {
 		@SuppressWarnings("deprecation") // We must still support deprecated RobocodeListener
 		private RobocodeListener listener;
 
+		public int getTurnSnapshotInterval() {
+			return NO_TURN_SNAPSHOTS;
+		}
+
 		@SuppressWarnings("deprecation") // We must still support deprecated RobocodeListener
 		@Override
 		public void onBattleFinished(BattleFinishedEvent event) {
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package robocode.control.events;
+
+
+/**
+ * A battle listener that declares how often it needs the turn snapshots of the
+ * {@link IBattleListener#onTurnEnded(TurnEndedEvent) onTurnEnded()} events.
+ * <p>
+ * The game only takes a snapshot of a turn when a listener needs it, so battles run faster when no listener
+ * needs the snapshots, e.g. when running battles without a GUI.
+ * Listeners that do not implement this interface receive a snapshot of every turn.
+ *
+ * @see IBattleListener
+ * @see TurnEndedEvent
+ */
+public interface ITurnSnapshotListener extends IBattleListener {
+
+	/**
+	 * The listener does not need any turn snapshots, and the
+	 * {@link IBattleListener#onTurnEnded(TurnEndedEvent) onTurnEnded()} method is never called.
+	 */
+	int NO_TURN_SNAPSHOTS = 0;
+
+	/**
+	 * The listener needs a snapshot of every turn.
+	 */
+	int EVERY_TURN = 1;
+
+	/**
+	 * Returns how often this listener needs a turn snapshot. When this method returns N, the
+	 * {@link IBattleListener#onTurnEnded(TurnEndedEvent) onTurnEnded()} method is only called for every N'th turn
+	 * of the battle. The robot console output of the skipped turns is included in the next snapshot.
+	 * <p>
+	 * The value should not change while a battle is running.
+	 *
+	 * @return {@link #NO_TURN_SNAPSHOTS}, {@link #EVERY_TURN}, or the number of turns between the snapshots.
+	 */
+	int getTurnSnapshotInterval();
+}
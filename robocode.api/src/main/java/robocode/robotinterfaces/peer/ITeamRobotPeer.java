@@ -12,6 +12,7 @@ import robocode.MessageEvent;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 
@@ -119,6 +120,46 @@ public interface ITeamRobotPeer extends IAdvancedRobotPeer {
 	 */
 	void sendMessage(String name, Serializable message) throws IOException;
 
+	/**
+	 * Broadcasts a binary message to all teammates. The remaining bytes of
+	 * the buffer are sent as they are, without Java serialization, and the
+	 * position of the buffer is not changed.
+	 * <p>
+	 * Example:
+	 * <pre>
+	 *   public void onScannedRobot(ScannedRobotEvent e) {
+	 *       buffer.clear();
+	 *       buffer.putDouble(e.getBearingRadians()).putDouble(e.getDistance());
+	 *       buffer.flip();
+	 *       broadcastBinaryMessage(buffer);
+	 *   }
+	 * </pre>
+	 *
+	 * @param message the message to broadcast to all teammates
+	 * @throws IOException if the message could not be broadcasted to the
+	 *                     teammates
+	 * @see #sendBinaryMessage(String, ByteBuffer)
+	 * @see MessageEvent#getBinaryMessage()
+	 *
+	 * @since 1.11.2.0
+	 */
+	void broadcastBinaryMessage(ByteBuffer message) throws IOException;
+
+	/**
+	 * Sends a binary message to one (or more) teammates. The remaining bytes
+	 * of the buffer are sent as they are, without Java serialization, and the
+	 * position of the buffer is not changed.
+	 *
+	 * @param name	the name of the intended recipient of the message
+	 * @param message the message to send
+	 * @throws IOException if the message could not be sent
+	 * @see #broadcastBinaryMessage(ByteBuffer)
+	 * @see MessageEvent#getBinaryMessage()
+	 *
+	 * @since 1.11.2.0
+	 */
+	void sendBinaryMessage(String name, ByteBuffer message) throws IOException;
+
 	/**
 	 * Returns a vector containing all MessageEvents currently in the robot's
 	 * queue. You might, for example, call this while processing another event.
@@ -268,6 +268,13 @@ public abstract class BaseBattle implements IBattle, Runnable {
 		}
 	}
 
+	/**
+	 * Ends the current round, even if the battle is paused.
+	 */
+	protected void endRound() {
+		roundOver = true;
+	}
+
 	protected boolean isRoundOver() {
 		return (endTimer > 5 * TURNS_DISPLAYED_AFTER_ENDING);
 	}
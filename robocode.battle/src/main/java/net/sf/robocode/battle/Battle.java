@@ -9,10 +9,13 @@ package net.sf.robocode.battle;
 
 
 import net.sf.robocode.battle.events.BattleEventDispatcher;
+import net.sf.robocode.battle.peer.BroadPhase;
 import net.sf.robocode.battle.peer.BulletPeer;
 import net.sf.robocode.battle.peer.ContestantPeer;
 import net.sf.robocode.battle.peer.RobotPeer;
 import net.sf.robocode.battle.peer.TeamPeer;
+import net.sf.robocode.battle.peer.TurnBarrier;
+import net.sf.robocode.battle.peer.TurnHandoff;
 import net.sf.robocode.battle.snapshot.TurnSnapshot;
 import net.sf.robocode.host.ICpuManager;
 import net.sf.robocode.host.IHostManager;
@@ -32,6 +35,8 @@ import robocode.control.snapshot.BulletState;
 import robocode.control.snapshot.ITurnSnapshot;
 import robocode.robotinterfaces.IBasicRobot;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Matcher;
@@ -55,6 +60,15 @@ public final class Battle extends BaseBattle {
 
 	private static final int DEBUG_TURN_WAIT_MILLIS = 10 * 60 * 1000; // 10 seconds
 
+	// Maximum wall-clock time to wait for a robot when CPU time is enforced, as a multiple of the CPU time budget
+	private static final int CPU_TIME_MAX_WAIT_FACTOR = 10;
+
+	// Maximum wall-clock time to wait for a robot in lockstep mode, which only stops robots blocked without using CPU
+	private static final long LOCKSTEP_MAX_WAIT_MILLIS = 60 * 1000;
+
+	// CPU time per turn of a robot in lockstep mode, unless set with LOCKSTEPCPUTIME in nanoseconds
+	private static final long LOCKSTEP_DEFAULT_CPU_TIME_NANOS = 5 * 1000000;
+
 	private final IHostManager hostManager;
 	private final long cpuConstant;
 
@@ -63,7 +77,11 @@ public final class Battle extends BaseBattle {
 	private double inactivityEnergy;
 
 	// Turn skip related items
+	private String turnHandoffType;
+	private final TurnBarrier turnBarrier = new TurnBarrier();
 	private boolean parallelOn;
+	private boolean cpuTimeOn;
+	private boolean lockstepOn;
 	private long millisWait;
 	private int nanoWait;
 
@@ -71,7 +89,17 @@ public final class Battle extends BaseBattle {
 	private int robotsCount;
 	private List<RobotPeer> robots = new ArrayList<RobotPeer>();
 	private List<ContestantPeer> contestants = new ArrayList<ContestantPeer>();
-	private final List<BulletPeer> bullets = new CopyOnWriteArrayList<BulletPeer>();
+	private final List<BulletPeer> bullets = new ArrayList<BulletPeer>(); // guarded by itself, as robot threads can add bullets
+
+	// Broad phase of the collision checks, or null if all robots and bullets are checked against each other
+	private BroadPhase broadPhase;
+
+	// Permutation buffers reused every turn for fair play, so that no list is allocated per turn
+	private final List<RobotPeer> robotsAtRandom = new ArrayList<RobotPeer>();
+	private final List<RobotPeer> otherRobotsAtRandom = new ArrayList<RobotPeer>();
+	private final List<BulletPeer> bulletsAtRandom = new ArrayList<BulletPeer>();
+	private final List<BulletPeer> otherBulletsAtRandom = new ArrayList<BulletPeer>();
+	private final List<RobotPeer> deathRobotsAtRandom = new ArrayList<RobotPeer>();
 
 	// Robot counters
 	private int activeParticipants;
@@ -95,6 +123,7 @@ public final class Battle extends BaseBattle {
 				battleProps.getNumRounds(), battleProps.getGunCoolingRate(), battleProps.getInactivityTime(),
 				battleProps.getHideEnemyNames(), battleProps.getSentryBorderSize());
 		robotsCount = battlingRobotsList.length;
+		turnHandoffType = battleProps.getTurnHandoff();
 		computeInitialPositions(battleProps.getInitialPositions());
 		createPeers(battlingRobotsList);
 	}
@@ -181,12 +210,32 @@ public final class Battle extends BaseBattle {
 		return robotsCount;
 	}
 
+	/**
+	 * Returns the strategy used for handing turns between the battle thread and the robot threads.
+	 *
+	 * @return the turn handoff type, see {@link TurnHandoff}
+	 */
+	public String getTurnHandoffType() {
+		return turnHandoffType;
+	}
+
+	/**
+	 * Returns the barrier that robots signal when they go to sleep.
+	 *
+	 * @return the turn barrier
+	 */
+	public TurnBarrier getTurnBarrier() {
+		return turnBarrier;
+	}
+
 	public boolean isDebugging() {
 		return RobocodeProperties.isDebuggingOn();
 	}
 
 	public void addBullet(BulletPeer bullet) {
-		bullets.add(bullet);
+		synchronized (bullets) {
+			bullets.add(bullet);
+		}
 	}
 
 	public void resetInactiveTurnCount(double energyLoss) {
@@ -245,8 +294,23 @@ public final class Battle extends BaseBattle {
 	protected void initializeBattle() {
 		super.initializeBattle();
 
+		// In lockstep mode, the battle waits for each robot until it has used up its CPU time instead of wall-clock
+		// time, so the outcome of a battle with a fixed random seed does not depend on the speed or load of the machine
+		lockstepOn = System.getProperty("LOCKSTEP", "false").equals("true");
+		cpuTimeOn = (lockstepOn || System.getProperty("CPUTIME", "false").equals("true")) && enableThreadCpuTime();
+		if (lockstepOn && !cpuTimeOn) {
+			Logger.logMessage("Lockstep mode is disabled, as it needs the CPU time of threads.");
+			lockstepOn = false;
+		}
+
 		parallelOn = System.getProperty("PARALLEL", "false").equals("true");
-		if (parallelOn) {
+		if (lockstepOn) {
+			// The CPU constant is measured on this machine, so lockstep mode uses a fixed CPU time per turn instead
+			final long cpuTime = Long.getLong("LOCKSTEPCPUTIME", LOCKSTEP_DEFAULT_CPU_TIME_NANOS);
+
+			millisWait = cpuTime / 1000000;
+			nanoWait = (int) (cpuTime % 1000000);
+		} else if (parallelOn && !cpuTimeOn) {
 			// how could robots share CPUs ?
 			double parallelConstant = robots.size() / Runtime.getRuntime().availableProcessors();
 
@@ -259,12 +323,31 @@ public final class Battle extends BaseBattle {
 			millisWait = waitTime / 1000000;
 			nanoWait = (int) (waitTime % 1000000);
 		} else {
+			// Sharing the CPUs does not add to the CPU time of a robot, so it is not scaled in a parallel battle
 			millisWait = cpuConstant / 1000000;
 			nanoWait = (int) (cpuConstant % 1000000);
 		}
 		if (nanoWait == 0) {
 			nanoWait = 1;
 		}
+
+		// The broad phase can be turned off for checking that collisions are the same without it
+		broadPhase = System.getProperty("BROADPHASE", "true").equals("true")
+				? new BroadPhase(battleRules.getBattlefieldWidth(), battleRules.getBattlefieldHeight())
+				: null;
+	}
+
+	private static boolean enableThreadCpuTime() {
+		final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+		if (!threadMXBean.isThreadCpuTimeSupported()) {
+			Logger.logMessage("CPU time of threads cannot be measured by this JVM. Using wall-clock time for robots.");
+			return false;
+		}
+		if (!threadMXBean.isThreadCpuTimeEnabled()) {
+			threadMXBean.setThreadCpuTimeEnabled(true);
+		}
+		return true;
 	}
 
 	@Override
@@ -322,6 +405,9 @@ public final class Battle extends BaseBattle {
 		if (isDebugging()) {
 			waitMillis = DEBUG_TURN_WAIT_MILLIS;
 			waitNanos = 0;
+		} else if (lockstepOn) {
+			waitMillis = LOCKSTEP_MAX_WAIT_MILLIS;
+			waitNanos = 0;
 		} else {
 			long waitTime = Math.min(300 * cpuConstant, 10000000000L);
 
@@ -329,7 +415,7 @@ public final class Battle extends BaseBattle {
 			waitNanos = (int) (waitTime % 1000000);
 		}
 
-		for (RobotPeer robotPeer : getRobotsAtRandom()) {
+		for (RobotPeer robotPeer : getRobotsAtRandom(robotsAtRandom)) {
 			robotPeer.startRound(waitMillis, waitNanos);
 		}
 
@@ -343,7 +429,11 @@ public final class Battle extends BaseBattle {
 
 		Logger.logMessage(""); // puts in a new-line in the log message
 
-		final ITurnSnapshot snapshot = new TurnSnapshot(this, robots, bullets, false);
+		final ITurnSnapshot snapshot;
+
+		synchronized (bullets) {
+			snapshot = new TurnSnapshot(this, robots, bullets, false);
+		}
 		eventDispatcher.onRoundStarted(new RoundStartedEvent(snapshot, getRoundNum(), robotObjects));
 	}
 
@@ -354,7 +444,9 @@ public final class Battle extends BaseBattle {
 		for (RobotPeer robotPeer : robots) {
 			robotPeer.waitForStop();
 		}
-		bullets.clear();
+		synchronized (bullets) {
+			bullets.clear();
+		}
 
 		eventDispatcher.onRoundEnded(new RoundEndedEvent(getRoundNum(), currentTime, totalTurns));
 	}
@@ -396,7 +488,7 @@ public final class Battle extends BaseBattle {
 	protected void shutdownTurn() {
 		if (endTimer == 0) {
 			if (isAborted()) {
-				for (RobotPeer robotPeer : getRobotsAtRandom()) {
+				for (RobotPeer robotPeer : getRobotsAtRandom(robotsAtRandom)) {
 					if (robotPeer.isAlive()) {
 						robotPeer.println("SYSTEM: game aborted.");
 					}
@@ -408,7 +500,7 @@ public final class Battle extends BaseBattle {
 				robocode.RoundEndedEvent roundEndedEvent = new robocode.RoundEndedEvent(getRoundNum(), currentTime,
 						totalTurns); 
 
-				for (RobotPeer robotPeer : getRobotsAtRandom()) {
+				for (RobotPeer robotPeer : getRobotsAtRandom(robotsAtRandom)) {
 					robotPeer.addEvent(roundEndedEvent);
 					if (robotPeer.isAlive() && !robotPeer.isWinner() && !robotPeer.isSentryRobot()) {
 						robotPeer.getRobotStatistics().scoreLastSurvivor();
@@ -455,7 +547,20 @@ public final class Battle extends BaseBattle {
 
 	@Override
 	protected void finalizeTurn() {
-		eventDispatcher.onTurnEnded(new TurnEndedEvent(new TurnSnapshot(this, robots, bullets, true)));
+		// Only take a snapshot of the turn when a listener needs it
+		if (eventDispatcher.isTurnSnapshotNeeded(totalTurns)) {
+			final ITurnSnapshot snapshot;
+
+			synchronized (bullets) {
+				snapshot = new TurnSnapshot(this, robots, bullets, true);
+			}
+			eventDispatcher.onTurnEnded(new TurnEndedEvent(snapshot), totalTurns);
+		} else if (!eventDispatcher.isTurnSnapshotWanted()) {
+			// The console output is otherwise read out by the snapshots
+			for (RobotPeer robotPeer : robots) {
+				robotPeer.discardOutText();
+			}
+		}
 
 		super.finalizeTurn();
 	}
@@ -488,25 +593,23 @@ public final class Battle extends BaseBattle {
 	 * This method was introduced as two equal robots like sample.RamFire got different scores even
 	 * though the code was exactly the same.
 	 *
-	 * @return a list of robot peers.
+	 * @param buffer the list to fill with the shuffled robots, which is only valid until it is reused.
+	 * @return the buffer containing the robot peers.
 	 */
-	private List<RobotPeer> getRobotsAtRandom() {
-		List<RobotPeer> shuffledList = new ArrayList<RobotPeer>(robots);
-
-		Collections.shuffle(shuffledList, RandomFactory.getRandom());
-		return shuffledList;
+	private List<RobotPeer> getRobotsAtRandom(List<RobotPeer> buffer) {
+		return shuffle(robots, buffer);
 	}
 
 	/**
 	 * Returns a list of all bullets in random order. This method is used to gain fair play in Robocode.
 	 *
-	 * @return a list of bullet peers.
+	 * @param buffer the list to fill with the shuffled bullets, which is only valid until it is reused.
+	 * @return the buffer containing the bullet peers.
 	 */
-	private List<BulletPeer> getBulletsAtRandom() {
-		List<BulletPeer> shuffledList = new ArrayList<BulletPeer>(bullets);
-
-		Collections.shuffle(shuffledList, RandomFactory.getRandom());
-		return shuffledList;
+	private List<BulletPeer> getBulletsAtRandom(List<BulletPeer> buffer) {
+		synchronized (bullets) {
+			return shuffle(bullets, buffer);
+		}
 	}
 
 	/**
@@ -515,10 +618,23 @@ public final class Battle extends BaseBattle {
 	 * @return a list of robot peers.
 	 */
 	private List<RobotPeer> getDeathRobotsAtRandom() {
-		List<RobotPeer> shuffledList = new ArrayList<RobotPeer>(deathRobots);
+		return shuffle(deathRobots, deathRobotsAtRandom);
+	}
+
+	/**
+	 * Copies the source list into the buffer and shuffles it. The shuffle is done with
+	 * {@link Collections#shuffle(List, Random)} in the same order as on a fresh copy of the source,
+	 * so the permutations (and the use of the random generator) are the same as when allocating new lists.
+	 */
+	private static <T> List<T> shuffle(List<T> source, List<T> buffer) {
+		buffer.clear();
 
-		Collections.shuffle(shuffledList, RandomFactory.getRandom());
-		return shuffledList;
+		// No iterator or toArray() here, as these would allocate
+		for (int i = 0; i < source.size(); i++) {
+			buffer.add(source.get(i));
+		}
+		Collections.shuffle(buffer, RandomFactory.getRandom());
+		return buffer;
 	}
 
 	private void loadCommands() {
@@ -529,10 +645,21 @@ public final class Battle extends BaseBattle {
 	}
 
 	private void updateBullets() {
-		for (BulletPeer bullet : getBulletsAtRandom()) {
-			bullet.update(getRobotsAtRandom(), getBulletsAtRandom());
+		final List<BulletPeer> shuffledBullets = getBulletsAtRandom(bulletsAtRandom);
+
+		if (broadPhase != null) {
+			synchronized (bullets) {
+				broadPhase.update(robots, bullets);
+			}
+		}
+		for (int i = 0; i < shuffledBullets.size(); i++) {
+			final BulletPeer bullet = shuffledBullets.get(i);
+
+			bullet.update(getRobotsAtRandom(otherRobotsAtRandom), getBulletsAtRandom(otherBulletsAtRandom), broadPhase);
 			if (bullet.getState() == BulletState.INACTIVE) {
-				bullets.remove(bullet);
+				synchronized (bullets) {
+					bullets.remove(bullet);
+				}
 			}
 		}
 	}
@@ -543,8 +670,8 @@ public final class Battle extends BaseBattle {
 		final double zapEnergy = isAborted() ? 5 : zap ? .1 : 0;
 
 		// Move all bots
-		for (RobotPeer robotPeer : getRobotsAtRandom()) {
-			robotPeer.performMove(getRobotsAtRandom(), zapEnergy);
+		for (RobotPeer robotPeer : getRobotsAtRandom(robotsAtRandom)) {
+			robotPeer.performMove(getRobotsAtRandom(otherRobotsAtRandom), zapEnergy, broadPhase);
 		}
 
 		// Correct bounding box after collisions
@@ -553,8 +680,8 @@ public final class Battle extends BaseBattle {
 		}
 
 		// Scan after moved all
-		for (RobotPeer robotPeer : getRobotsAtRandom()) {
-			robotPeer.performScan(getRobotsAtRandom());
+		for (RobotPeer robotPeer : getRobotsAtRandom(robotsAtRandom)) {
+			robotPeer.performScan(getRobotsAtRandom(otherRobotsAtRandom));
 		}
 	}
 
@@ -579,7 +706,7 @@ public final class Battle extends BaseBattle {
 			}
 
 			// Publish death to live robots
-			for (RobotPeer robotPeer : getRobotsAtRandom()) {
+			for (RobotPeer robotPeer : getRobotsAtRandom(robotsAtRandom)) {
 				if (robotPeer.isAlive()) {
 					robotPeer.addEvent(new RobotDeathEvent(robotPeer.getNameForEvent(deadRobot)));
 
@@ -618,54 +745,133 @@ public final class Battle extends BaseBattle {
 
 	private void wakeupRobots() {
 		// Wake up all robot threads
-		final List<RobotPeer> robotsAtRandom = getRobotsAtRandom();
+		final List<RobotPeer> shuffledRobots = getRobotsAtRandom(robotsAtRandom);
 
 		if (parallelOn) {
-			wakeupParallel(robotsAtRandom);
+			wakeupParallel(shuffledRobots);
 		} else {
-			wakeupSerial(robotsAtRandom);
+			wakeupSerial(shuffledRobots);
 		}
 	}
 
 	private void wakeupSerial(List<RobotPeer> robotsAtRandom) {
 		for (RobotPeer robotPeer : robotsAtRandom) {
 			if (robotPeer.isRunning()) {
+				if (cpuTimeOn) {
+					robotPeer.chargeCpuTime();
+				}
+
 				// This call blocks until the robot's thread actually wakes up.
 				robotPeer.waitWakeup();
 
 				if (robotPeer.isAlive()) {
 					if (isDebugging() || robotPeer.isPaintEnabled()) {
 						robotPeer.waitSleeping(DEBUG_TURN_WAIT_MILLIS, 1);
+					} else if (lockstepOn) {
+						robotPeer.waitSleepingCpuTime(getTurnWaitNanos(robotPeer), LOCKSTEP_MAX_WAIT_MILLIS * 1000000);
+					} else if (cpuTimeOn) {
+						final long cpuNanos = getTurnWaitNanos(robotPeer);
+
+						robotPeer.waitSleepingCpuTime(cpuNanos, cpuNanos * CPU_TIME_MAX_WAIT_FACTOR);
 					} else if (currentTime == 1) {
 						robotPeer.waitSleeping(millisWait * 10, 1);
 					} else {
 						robotPeer.waitSleeping(millisWait, nanoWait);
 					}
 				}
+				if (cpuTimeOn) {
+					robotPeer.chargeCpuTime();
+				}
 			}
 		}
 	}
 
 	private void wakeupParallel(List<RobotPeer> robotsAtRandom) {
+		// Must be armed before waking up, as fast robots could go to sleep before we start waiting
+		turnBarrier.arm();
+
+		long waitNanos = 0;
+
 		for (RobotPeer robotPeer : robotsAtRandom) {
 			if (robotPeer.isRunning()) {
 				// This call blocks until the robot's thread actually wakes up.
 				robotPeer.waitWakeup();
+
+				if (robotPeer.isAlive()) {
+					waitNanos = Math.max(waitNanos, getTurnWaitNanos(robotPeer));
+				}
 			}
 		}
-		for (RobotPeer robotPeer : robotsAtRandom) {
-			if (robotPeer.isRunning() && robotPeer.isAlive()) {
-				if (isDebugging() || robotPeer.isPaintEnabled()) {
-					robotPeer.waitSleeping(DEBUG_TURN_WAIT_MILLIS, 1);
-				} else if (currentTime == 1) {
-					robotPeer.waitSleeping(millisWait * 10, 1);
-				} else {
-					robotPeer.waitSleeping(millisWait, nanoWait);
-				}
+
+		// All robots compute at the same time, so they share one deadline for the turn
+		final long maxWaitNanos;
+
+		if (lockstepOn) {
+			maxWaitNanos = LOCKSTEP_MAX_WAIT_MILLIS * 1000000;
+		} else if (cpuTimeOn) {
+			// The robots may have to share a single CPU, so each one gets the wall-clock time of a serial battle
+			maxWaitNanos = waitNanos * CPU_TIME_MAX_WAIT_FACTOR * robotsAtRandom.size();
+		} else {
+			maxWaitNanos = waitNanos;
+		}
+		final long deadline = System.nanoTime() + maxWaitNanos;
+
+		while (cpuTimeOn ? !isAllSleepingOrOutOfCpuTime(robotsAtRandom) : !isAllSleeping(robotsAtRandom)) {
+			final long remaining = deadline - System.nanoTime();
+
+			if (remaining <= 0) {
+				break;
+			}
+			if (Thread.currentThread().isInterrupted()) {
+				Logger.logMessage("Wait for robots interrupted.");
+				break;
+			}
+			// Wait at most 1 ms at a time to notice robots that stop running without going to sleep
+			turnBarrier.await(Math.min(remaining, 1000000));
+		}
+		turnBarrier.disarm();
+
+		if (cpuTimeOn) {
+			// Robots that are still running have used up their CPU time, and skip the turn as in a serial battle
+			for (RobotPeer robotPeer : robotsAtRandom) {
+				robotPeer.chargeCpuTime();
 			}
 		}
 	}
 
+	private long getTurnWaitNanos(RobotPeer robotPeer) {
+		if (isDebugging() || robotPeer.isPaintEnabled()) {
+			return DEBUG_TURN_WAIT_MILLIS * 1000000L;
+		} else if (currentTime == 1) {
+			return millisWait * 10 * 1000000;
+		}
+		return millisWait * 1000000 + nanoWait;
+	}
+
+	private static boolean isAllSleeping(List<RobotPeer> robots) {
+		for (int i = 0; i < robots.size(); i++) {
+			final RobotPeer robotPeer = robots.get(i);
+
+			if (robotPeer.isRunning() && robotPeer.isAlive() && !robotPeer.isSleeping()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Robots that have used up their CPU time for the turn are not waited for, and will skip the turn
+	private boolean isAllSleepingOrOutOfCpuTime(List<RobotPeer> robots) {
+		for (int i = 0; i < robots.size(); i++) {
+			final RobotPeer robotPeer = robots.get(i);
+
+			if (robotPeer.isRunning() && robotPeer.isAlive() && !robotPeer.isSleeping()
+					&& robotPeer.getUnchargedCpuTime() < getTurnWaitNanos(robotPeer)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private int getActiveContestantCount(RobotPeer peer) {
 		int count = 0;
 
@@ -10,6 +10,7 @@ package net.sf.robocode.battle;
 
 import net.sf.robocode.battle.events.BattleEventDispatcher;
 import net.sf.robocode.core.Container;
+import net.sf.robocode.core.EngineContainer;
 import net.sf.robocode.host.ICpuManager;
 import net.sf.robocode.host.IHostManager;
 import net.sf.robocode.io.FileUtil;
@@ -49,10 +50,12 @@ public class BattleManager implements IBattleManager {
 	private final ICpuManager cpuManager;
 	private final IRecordManager recordManager;
 	private final IRepositoryManager repositoryManager;
+	private final EngineContainer engine;
 
 	private volatile IBattle battle;
 	private Thread battleThread;
 	private BattleProperties battleProperties;
+	private String turnHandoff;
 
 	private final BattleEventDispatcher battleEventDispatcher;
 
@@ -62,8 +65,9 @@ public class BattleManager implements IBattleManager {
 	private int pauseCount = 0;
 	private final AtomicBoolean isManagedTPS = new AtomicBoolean(false);
 
-	public BattleManager(ISettingsManager properties, IRepositoryManager repositoryManager, IHostManager hostManager, ICpuManager cpuManager, BattleEventDispatcher battleEventDispatcher, IRecordManager recordManager) { // NO_UCD (unused code)
+	public BattleManager(ISettingsManager properties, IRepositoryManager repositoryManager, IHostManager hostManager, ICpuManager cpuManager, BattleEventDispatcher battleEventDispatcher, IRecordManager recordManager, EngineContainer engine) { // NO_UCD (unused code)
 		this.properties = properties;
+		this.engine = engine;
 		this.recordManager = recordManager;
 		this.repositoryManager = repositoryManager;
 		this.cpuManager = cpuManager;
@@ -100,6 +104,9 @@ public class BattleManager implements IBattleManager {
 		battleProperties.setHideEnemyNames(spec.getHideEnemyNames());
 		battleProperties.setSentryBorderSize(spec.getSentryBorderSize());
 		battleProperties.setSelectedRobots(spec.getRobots());
+		if (turnHandoff != null) {
+			battleProperties.setTurnHandoff(turnHandoff);
+		}
 
 		final RobotSetup[] initialSetups = spec.getInitialSetups();
 		if (initialSetups != null) {
@@ -113,6 +120,11 @@ public class BattleManager implements IBattleManager {
 		startNewBattleImpl(robots, waitTillOver, enableRecording);
 	}
 
+	// Called from the RobocodeEngine
+	public void setTurnHandoff(String turnHandoff) {
+		this.turnHandoff = turnHandoff;
+	}
+
 	@Override
 	public void takeScreenshot() {
 		IWindowManager windowManager = Container.getComponent(IWindowManager.class);
@@ -147,7 +159,7 @@ public class BattleManager implements IBattleManager {
 			RandomFactory.resetDeterministic(Long.valueOf(seed));
 		}
 
-		Battle realBattle = Container.createComponent(Battle.class);
+		Battle realBattle = engine.createComponent(Battle.class);
 		realBattle.setup(battlingRobotsList, battleProperties, isPaused());
 
 		battle = realBattle;
@@ -192,7 +204,7 @@ public class BattleManager implements IBattleManager {
 		Logger.setLogListener(battleEventDispatcher);
 
 		recordManager.detachRecorder();
-		battle = Container.createComponent(BattlePlayer.class);
+		battle = engine.createComponent(BattlePlayer.class);
 
 		Thread battleThread = new Thread(Thread.currentThread().getThreadGroup(), battle);
 
@@ -389,6 +401,12 @@ public class BattleManager implements IBattleManager {
 		}
 	}
 
+	public synchronized void seekTurn(int round, int turn) {
+		if (battle != null && battle.isRunning() && battle instanceof BattlePlayer) {
+			((BattlePlayer) battle).seek(round, turn);
+		}
+	}
+
 	public synchronized void killRobot(int robotIndex) {
 		if (battle != null && battle.isRunning() && battle instanceof Battle) {
 			((Battle) battle).killRobot(robotIndex);
@@ -8,7 +8,7 @@
 package net.sf.robocode.battle;
 
 
-abstract class Command {
+public abstract class Command {
 
 	public void execute() {}
 }
@@ -20,11 +20,11 @@ import net.sf.robocode.recording.RecordManager;
  */
 public class Module {
 	static {
-		Container.cache.addComponent(IBattleManager.class, BattleManager.class);
-		Container.cache.addComponent(BattleEventDispatcher.class);
-		Container.cache.addComponent(IRecordManager.class, RecordManager.class);
+		Container.addEngineComponent(IBattleManager.class, BattleManager.class);
+		Container.addEngineComponent(BattleEventDispatcher.class);
+		Container.addEngineComponent(IRecordManager.class, RecordManager.class);
 
-		Container.factory.addComponent(Battle.class);
-		Container.factory.addComponent(BattlePlayer.class);
+		Container.addEngineFactoryComponent(Battle.class);
+		Container.addEngineFactoryComponent(BattlePlayer.class);
 	}
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle.peer;
+
+
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * Broad phase of the collision detection, which keeps the robots and bullets of a battle in uniform grids over the
+ * battlefield. The grids are rebuilt once per turn, and updated each time a robot or bullet moves, so that the
+ * bullet/robot, bullet/bullet and robot/robot collision checks only run their exact tests on the robots and bullets
+ * found in the cells around the moving robot or bullet.
+ * <p>
+ * The robots and bullets found are all robots and bullets whose bounds overlap the given bounds, and maybe a few more.
+ * The collision checks still visit the candidates in the shuffled order of the battle, so the collisions are the same
+ * as when the exact tests are run on all robots and bullets.
+ */
+public final class BroadPhase {
+
+	// Larger than a robot and than the distance moved by the fastest bullet, so that most queries cover a few cells
+	private static final double CELL_SIZE = 64;
+
+	private final CollisionGrid<RobotPeer> robotGrid;
+	private final CollisionGrid<BulletPeer> bulletGrid;
+
+	public BroadPhase(double battlefieldWidth, double battlefieldHeight) {
+		robotGrid = new CollisionGrid<RobotPeer>(battlefieldWidth, battlefieldHeight, CELL_SIZE);
+		bulletGrid = new CollisionGrid<BulletPeer>(battlefieldWidth, battlefieldHeight, CELL_SIZE);
+	}
+
+	/**
+	 * Rebuilds the grids from the current bounds of the robots and bullets.
+	 *
+	 * @param robots the robots of the battle
+	 * @param bullets the bullets of the battle
+	 */
+	public void update(List<RobotPeer> robots, List<BulletPeer> bullets) {
+		robotGrid.clear();
+		bulletGrid.clear();
+
+		for (RobotPeer robot : robots) {
+			if (robot != null) {
+				moveRobot(robot);
+			}
+		}
+		for (BulletPeer bullet : bullets) {
+			if (bullet != null) {
+				bullet.moveInBroadPhase(this);
+			}
+		}
+	}
+
+	void moveRobot(RobotPeer robot) {
+		final Rectangle2D box = robot.getBoundingBox();
+
+		robotGrid.put(robot, box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY());
+	}
+
+	void moveBullet(BulletPeer bullet, double minX, double minY, double maxX, double maxY) {
+		bulletGrid.put(bullet, minX, minY, maxX, maxY);
+	}
+
+	/**
+	 * Returns the robots which bounding boxes could overlap the given bounds.
+	 * The returned set is only valid until the next call of this method.
+	 */
+	Set<RobotPeer> getRobotsNear(double minX, double minY, double maxX, double maxY) {
+		return robotGrid.find(minX, minY, maxX, maxY);
+	}
+
+	/**
+	 * Returns the bullets which bounds could overlap the given bounds.
+	 * The returned set is only valid until the next call of this method.
+	 */
+	Set<BulletPeer> getBulletsNear(double minX, double minY, double maxX, double maxY) {
+		return bulletGrid.find(minX, minY, maxX, maxY);
+	}
+}
@@ -14,9 +14,11 @@ import robocode.control.snapshot.BulletState;
 import robocode.util.Utils;
 
 import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
 import static java.lang.Math.cos;
 import static java.lang.Math.sin;
 import java.util.List;
+import java.util.Set;
 
 
 /**
@@ -33,6 +35,8 @@ public class BulletPeer {
 
 	private static final int RADIUS = 3;
 
+	private static final double BROAD_PHASE_MARGIN = 1;
+
 	protected final RobotPeer owner;
 
 	private final BattleRules battleRules;
@@ -57,6 +61,9 @@ public class BulletPeer {
 
 	private final Line2D.Double boundingLine = new Line2D.Double();
 
+	// Bounds of the bounding line, used for rejecting collision candidates before the exact intersection tests
+	private double minX, minY, maxX, maxY;
+
 	protected int frame; // Do not set to -1
 
 	private final int color;
@@ -72,9 +79,16 @@ public class BulletPeer {
 		color = owner.getBulletColor(); // Store current bullet color set on robot
 	}
 
-	private void checkBulletCollision(List<BulletPeer> bullets) {
+	private void checkBulletCollision(List<BulletPeer> bullets, BroadPhase broadPhase) {
+		final Set<BulletPeer> near = (broadPhase == null) ? null
+				: broadPhase.getBulletsNear(minX - BROAD_PHASE_MARGIN, minY - BROAD_PHASE_MARGIN,
+				maxX + BROAD_PHASE_MARGIN, maxY + BROAD_PHASE_MARGIN);
+
 		for (BulletPeer b : bullets) {
-			if (b != null && b != this && b.owner != owner && b.isActive() && intersect(b.boundingLine)) {
+			if (near != null && !near.contains(b)) {
+				continue;
+			}
+			if (b != null && b != this && b.owner != owner && b.isActive() && isNear(b) && intersect(b.boundingLine)) {
 				// Check if one of the bullets belongs to a sentry robot and is within the safe zone
 				if (owner.isSentryRobot() || b.getOwner().isSentryRobot()) {
 					int sentryBorderSize = battleRules.getSentryBorderSize();
@@ -121,6 +135,25 @@ public class BulletPeer {
 		return otherRobot.getName();
 	}
 
+	/**
+	 * Bounds check for the bullets found by the broad phase. Two bullet lines can only intersect if their bounds
+	 * overlap. The bounds are widened by a margin, so that rounding errors in {@link #intersect(Line2D.Double)} can
+	 * never make this check reject a pair of bullets that the exact test would accept.
+	 */
+	private boolean isNear(BulletPeer b) {
+		return b.minX <= maxX + BROAD_PHASE_MARGIN && b.maxX >= minX - BROAD_PHASE_MARGIN
+				&& b.minY <= maxY + BROAD_PHASE_MARGIN && b.maxY >= minY - BROAD_PHASE_MARGIN;
+	}
+
+	/**
+	 * Bounds check for the robots found by the broad phase. Rectangle2D.intersectsLine() returns false when both end
+	 * points of the line are on the same outer side of the rectangle, which is exactly when these bounds do not overlap.
+	 */
+	private boolean isNear(Rectangle2D box) {
+		return maxX >= box.getX() && minX <= box.getX() + box.getWidth() && maxY >= box.getY()
+				&& minY <= box.getY() + box.getHeight();
+	}
+
 	// Workaround for http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=6457965
 	private boolean intersect(Line2D.Double line) {
 		double x1 = line.x1, x2 = line.x2, x3 = boundingLine.x1, x4 = boundingLine.x2;
@@ -137,10 +170,15 @@ public class BulletPeer {
 		return (ua >= 0 && ua <= 1) && (ub >= 0 && ub <= 1);
 	}
 
-	private void checkRobotCollision(List<RobotPeer> robots) {
+	private void checkRobotCollision(List<RobotPeer> robots, BroadPhase broadPhase) {
+		final Set<RobotPeer> near = (broadPhase == null) ? null : broadPhase.getRobotsNear(minX, minY, maxX, maxY);
+
 		for (RobotPeer otherRobot : robots) {
+			if (near != null && !near.contains(otherRobot)) {
+				continue;
+			}
 			if (!(otherRobot == null || otherRobot == owner || otherRobot.isDead())
-					&& otherRobot.getBoundingBox().intersectsLine(boundingLine)) {
+					&& isNear(otherRobot.getBoundingBox()) && otherRobot.getBoundingBox().intersectsLine(boundingLine)) {
 
 				state = BulletState.HIT_VICTIM;
 				frame = 0;
@@ -306,16 +344,26 @@ public class BulletPeer {
 		state = newState;
 	}
 
-	public void update(List<RobotPeer> robots, List<BulletPeer> bullets) {
+	/**
+	 * Moves the bullet and checks if it hits a wall, a robot or another bullet.
+	 *
+	 * @param robots the robots in the order they are checked
+	 * @param bullets the bullets in the order they are checked
+	 * @param broadPhase the broad phase of the battle, or null if all robots and bullets must be checked
+	 */
+	public void update(List<RobotPeer> robots, List<BulletPeer> bullets, BroadPhase broadPhase) {
 		frame++;
 		if (isActive()) {
 			updateMovement();
+			if (broadPhase != null) {
+				moveInBroadPhase(broadPhase);
+			}
 			checkWallCollision();
 			if (isActive()) {
-				checkRobotCollision(robots);
+				checkRobotCollision(robots, broadPhase);
 			}
 			if (isActive() && bullets != null) {
-				checkBulletCollision(bullets);
+				checkBulletCollision(bullets, broadPhase);
 			}
 		}
 		updateBulletState();
@@ -355,6 +403,15 @@ public class BulletPeer {
 		y += v * cos(heading);
 
 		boundingLine.setLine(lastX, lastY, x, y);
+
+		minX = Math.min(lastX, x);
+		maxX = Math.max(lastX, x);
+		minY = Math.min(lastY, y);
+		maxY = Math.max(lastY, y);
+	}
+
+	void moveInBroadPhase(BroadPhase broadPhase) {
+		broadPhase.moveBullet(this, minX, minY, maxX, maxY);
 	}
 
 	public int getExplosionImageIndex() {
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle.peer;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Uniform grid of square cells over the battlefield, where each item is kept in all cells covered by its bounds.
+ * Items and bounds outside the battlefield are kept in the border cells, so items with overlapping bounds always
+ * share a cell.
+ *
+ * @param <T> the type of the items, which are compared by identity
+ */
+final class CollisionGrid<T> {
+
+	private final double cellSize;
+	private final int columns;
+	private final int rows;
+	private final List<T>[] cells;
+
+	// The cell range of each item, i.e. first column, last column, first row and last row
+	private final Map<T, int[]> ranges = new IdentityHashMap<T, int[]>();
+
+	private final Set<T> found = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+
+	@SuppressWarnings("unchecked")
+	CollisionGrid(double width, double height, double cellSize) {
+		this.cellSize = cellSize;
+		columns = Math.max(1, (int) Math.ceil(width / cellSize));
+		rows = Math.max(1, (int) Math.ceil(height / cellSize));
+		cells = new List[columns * rows];
+		for (int i = 0; i < cells.length; i++) {
+			cells[i] = new ArrayList<T>(4);
+		}
+	}
+
+	/**
+	 * Removes all items.
+	 */
+	void clear() {
+		for (Map.Entry<T, int[]> entry : ranges.entrySet()) {
+			remove(entry.getKey(), entry.getValue());
+		}
+		ranges.clear();
+	}
+
+	/**
+	 * Adds an item, or moves it if it is already in the grid.
+	 */
+	void put(T item, double minX, double minY, double maxX, double maxY) {
+		final int firstColumn = column(minX);
+		final int lastColumn = column(maxX);
+		final int firstRow = row(minY);
+		final int lastRow = row(maxY);
+
+		int[] range = ranges.get(item);
+
+		if (range == null) {
+			range = new int[4];
+			ranges.put(item, range);
+		} else if (range[0] == firstColumn && range[1] == lastColumn && range[2] == firstRow && range[3] == lastRow) {
+			return;
+		} else {
+			remove(item, range);
+		}
+		range[0] = firstColumn;
+		range[1] = lastColumn;
+		range[2] = firstRow;
+		range[3] = lastRow;
+
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				cells[row * columns + column].add(item);
+			}
+		}
+	}
+
+	/**
+	 * Returns the items in the cells covered by the given bounds, which includes all items with overlapping bounds.
+	 * The returned set is reused, so it is only valid until the next call of this method.
+	 */
+	Set<T> find(double minX, double minY, double maxX, double maxY) {
+		final int firstColumn = column(minX);
+		final int lastColumn = column(maxX);
+		final int lastRow = row(maxY);
+
+		found.clear();
+		for (int row = row(minY); row <= lastRow; row++) {
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				found.addAll(cells[row * columns + column]);
+			}
+		}
+		return found;
+	}
+
+	private void remove(T item, int[] range) {
+		for (int row = range[2]; row <= range[3]; row++) {
+			for (int column = range[0]; column <= range[1]; column++) {
+				final List<T> cell = cells[row * columns + column];
+
+				for (int i = cell.size() - 1; i >= 0; i--) {
+					if (cell.get(i) == item) {
+						cell.remove(i);
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	private int column(double x) {
+		return Math.max(0, Math.min(columns - 1, (int) Math.floor(x / cellSize)));
+	}
+
+	private int row(double y) {
+		return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / cellSize)));
+	}
+}
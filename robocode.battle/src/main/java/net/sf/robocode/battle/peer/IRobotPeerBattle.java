@@ -64,7 +64,7 @@ interface IRobotPeerBattle extends ContestantPeer {
 
 	void performLoadCommands();
 
-	void performMove(List<RobotPeer> robots, double zapEnergy);
+	void performMove(List<RobotPeer> robots, double zapEnergy, BroadPhase broadPhase);
 
 	void performScan(List<RobotPeer> robots);
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle.peer;
+
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * Turn handoff using {@code wait()} and {@code notifyAll()} on the sleeping flag.
+ */
+final class MonitorTurnHandoff extends TurnHandoff {
+
+	// waiting for next tick
+	private final AtomicBoolean isSleeping = new AtomicBoolean(false);
+
+	MonitorTurnHandoff(AtomicBoolean isRunning, TurnBarrier barrier) {
+		super(isRunning, barrier);
+	}
+
+	@Override
+	public boolean isSleeping() {
+		return isSleeping.get();
+	}
+
+	@Override
+	public void sleep() {
+		synchronized (isSleeping) {
+			// Notify the battle that we are now asleep.
+			// This ends any pending wait() call in battle.runRound().
+			// Should not actually take place until we release the lock in wait(), below.
+			isSleeping.set(true);
+			isSleeping.notifyAll();
+			barrier.signal();
+			// Notifying battle that we're asleep
+			// Sleeping and waiting for battle to wake us up.
+			try {
+				isSleeping.wait();
+			} catch (InterruptedException e) {
+				// We are expecting this to happen when a round is ended!
+
+				// Immediately reasserts the exception by interrupting the caller thread itself
+				Thread.currentThread().interrupt();
+			}
+			isSleeping.set(false);
+			// Notify battle thread, which is waiting in
+			// our wakeup() call, to return.
+			// It's quite possible, by the way, that we'll be back in sleep (above)
+			// before the battle thread actually wakes up
+			isSleeping.notifyAll();
+		}
+	}
+
+	@Override
+	public void wakeup() throws InterruptedException {
+		synchronized (isSleeping) {
+			if (isSleeping()) {
+				// Wake up the thread
+				isSleeping.notifyAll();
+				isSleeping.wait(10000);
+			}
+		}
+	}
+
+	@Override
+	public void wakeupNoWait() {
+		synchronized (isSleeping) {
+			if (isSleeping()) {
+				// Wake up the thread
+				isSleeping.notifyAll();
+			}
+		}
+	}
+
+	@Override
+	public void waitSleeping(long millisWait, int nanosWait) throws InterruptedException {
+		synchronized (isSleeping) {
+			// It's quite possible for simple robots to
+			// complete their processing before we get here,
+			// so we test if the robot is already asleep.
+
+			if (!isSleeping()) {
+				for (long i = millisWait; i > 0 && !isSleeping() && isRunning.get(); i--) {
+					isSleeping.wait(0, 999999);
+				}
+				if (!isSleeping() && isRunning.get()) {
+					isSleeping.wait(0, nanosWait);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void waitStarted(long millisWait, int nanosWait) throws InterruptedException {
+		synchronized (isSleeping) {
+			// Wait for the robot to go to sleep (take action)
+			isSleeping.wait(millisWait, nanosWait);
+		}
+	}
+}
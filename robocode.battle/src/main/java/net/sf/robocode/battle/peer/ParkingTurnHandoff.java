@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle.peer;
+
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Turn handoff using {@link LockSupport#park}/{@link LockSupport#unpark}, where each side spins shortly
+ * before parking. Each wakeup is numbered, so a robot that is woken up and goes back to sleep before the
+ * battle thread notices it is never mistaken for a robot that was not woken up at all.
+ */
+final class ParkingTurnHandoff extends TurnHandoff {
+
+	// Time spent busy waiting before parking, which covers robots that are done almost immediately.
+	// Spinning on a single CPU would only keep the other thread from running.
+	private static final long SPIN_NANOS = Runtime.getRuntime().availableProcessors() > 1 ? 20000 : 0;
+
+	// Longest time to park at once, so that a robot thread that stops running is noticed like with the monitor
+	private static final long MAX_PARK_NANOS = 1000000;
+
+	private static final long WAKEUP_TIMEOUT_NANOS = 10000000000L;
+
+	private volatile boolean isSleeping;
+
+	private volatile Thread robotThread;
+	private volatile Thread battleThread;
+
+	// Number of wakeups sent by the battle thread, and the last one received by the robot thread
+	private final AtomicLong wakeups = new AtomicLong();
+	private volatile long wokenUp;
+
+	ParkingTurnHandoff(AtomicBoolean isRunning, TurnBarrier barrier) {
+		super(isRunning, barrier);
+	}
+
+	@Override
+	public boolean isSleeping() {
+		return isSleeping;
+	}
+
+	@Override
+	public void sleep() {
+		final Thread current = Thread.currentThread();
+
+		robotThread = current;
+
+		final long wakeup = wakeups.get();
+
+		isSleeping = true;
+		LockSupport.unpark(battleThread);
+		barrier.signal();
+
+		final long spinUntil = System.nanoTime() + SPIN_NANOS;
+
+		while (wakeups.get() == wakeup && !current.isInterrupted()) {
+			if (System.nanoTime() - spinUntil >= 0) {
+				LockSupport.park(this);
+			}
+		}
+
+		isSleeping = false;
+		wokenUp = wakeups.get();
+		LockSupport.unpark(battleThread);
+	}
+
+	@Override
+	public void wakeup() throws InterruptedException {
+		if (isSleeping) {
+			battleThread = Thread.currentThread();
+
+			final long wakeup = wakeups.incrementAndGet();
+
+			LockSupport.unpark(robotThread);
+
+			final long now = System.nanoTime();
+			final long spinUntil = now + SPIN_NANOS;
+			final long deadline = now + WAKEUP_TIMEOUT_NANOS;
+
+			while (wokenUp < wakeup) {
+				if (!await(spinUntil, deadline)) {
+					break;
+				}
+			}
+		}
+	}
+
+	@Override
+	public void wakeupNoWait() {
+		if (isSleeping) {
+			wakeups.incrementAndGet();
+			LockSupport.unpark(robotThread);
+		}
+	}
+
+	@Override
+	public void waitSleeping(long millisWait, int nanosWait) throws InterruptedException {
+		battleThread = Thread.currentThread();
+
+		final long now = System.nanoTime();
+		final long spinUntil = now + SPIN_NANOS;
+		final long deadline = now + millisWait * 1000000 + nanosWait;
+
+		while (!isSleeping && isRunning.get()) {
+			if (!await(spinUntil, deadline)) {
+				break;
+			}
+		}
+	}
+
+	@Override
+	public void waitStarted(long millisWait, int nanosWait) throws InterruptedException {
+		battleThread = Thread.currentThread();
+
+		final long now = System.nanoTime();
+		final long spinUntil = now + SPIN_NANOS;
+		final long deadline = now + millisWait * 1000000 + nanosWait;
+
+		while (!isSleeping) {
+			if (!await(spinUntil, deadline)) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Waits a little for the robot thread, by spinning until spinUntil and by parking after that.
+	 *
+	 * @param spinUntil the System.nanoTime() when to stop spinning
+	 * @param deadline the System.nanoTime() when to stop waiting
+	 * @return false if the deadline has passed; true otherwise
+	 * @throws InterruptedException if the battle thread is interrupted
+	 */
+	private boolean await(long spinUntil, long deadline) throws InterruptedException {
+		if (Thread.interrupted()) {
+			throw new InterruptedException();
+		}
+		final long now = System.nanoTime();
+		final long remaining = deadline - now;
+
+		if (remaining <= 0) {
+			return false;
+		}
+		if (now - spinUntil >= 0) {
+			LockSupport.parkNanos(this, Math.min(remaining, MAX_PARK_NANOS));
+		}
+		return true;
+	}
+}
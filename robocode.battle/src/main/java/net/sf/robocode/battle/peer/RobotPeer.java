@@ -14,7 +14,6 @@ import net.sf.robocode.battle.BoundingRectangle;
 import net.sf.robocode.host.IHostManager;
 import net.sf.robocode.host.RobotStatics;
 import net.sf.robocode.host.events.EventManager;
-import net.sf.robocode.host.events.EventQueue;
 import net.sf.robocode.host.proxies.IHostingRobotProxy;
 import net.sf.robocode.io.Logger;
 import net.sf.robocode.io.RobocodeProperties;
@@ -37,15 +36,20 @@ import robocode.util.Utils;
 import static robocode.util.Utils.*;
 
 import java.awt.geom.Arc2D;
-import java.awt.geom.Rectangle2D;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 
 import static java.lang.Math.*;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -79,6 +83,8 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 	private static final int MAX_SKIPPED_TURNS = 30;
 	private static final int MAX_SKIPPED_TURNS_WITH_IO = 240;
 
+	private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
 	private Battle battle;
 	private RobotStatistics statistics;
 	private final RobotSpecification robotSpecification;
@@ -87,12 +93,32 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 	private IHostingRobotProxy robotProxy;
 	private AtomicReference<RobotStatus> status = new AtomicReference<RobotStatus>();
 	private AtomicReference<ExecCommands> commands = new AtomicReference<ExecCommands>();
-	private AtomicReference<EventQueue> events = new AtomicReference<EventQueue>(new EventQueue());
+	private AtomicReference<List<Event>> events = new AtomicReference<List<Event>>(new ArrayList<Event>());
 	private AtomicReference<List<TeamMessage>> teamMessages = new AtomicReference<List<TeamMessage>>(
 			new ArrayList<TeamMessage>());
 	private AtomicReference<List<BulletStatus>> bulletUpdates = new AtomicReference<List<BulletStatus>>(
 			new ArrayList<BulletStatus>());
 
+	// The lists read out by the robot in the previous turn, which are reused for collecting the next turn
+	private List<Event> readEvents = new ArrayList<Event>();
+	private List<TeamMessage> readTeamMessages = new ArrayList<TeamMessage>();
+	private List<BulletStatus> readBulletUpdates = new ArrayList<BulletStatus>();
+
+	// The teammates matching the recipient names of the messages sent by this robot, where the null name is used for
+	// broadcasts. The team does not change during a battle, so the names only need to be matched once.
+	private static final int MAX_MESSAGE_RECIPIENTS = 64;
+	private final Map<String, RobotPeer[]> messageRecipients = new HashMap<String, RobotPeer[]>();
+
+	// The commands and results exchanged with the robot alternate between two instances, as the battle and robot
+	// keep using the instances of the previous exchange, while the instances for the next exchange are filled
+	private final ExecCommands[] battleCommandSlots = { new ExecCommands(), new ExecCommands() };
+	private final ExecCommands[] robotCommandSlots = { new ExecCommands(), new ExecCommands() };
+	private final ExecResults[] resultSlots = {
+		new ExecResults(null, null, null, null, null, false, false, false),
+		new ExecResults(null, null, null, null, null, false, false, false)
+	};
+	private int exchange;
+
 	// thread is running
 	private final AtomicBoolean isRunning = new AtomicBoolean(false);
 
@@ -124,13 +150,18 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 	private boolean sgPaintEnabled;
 
 	// waiting for next tick
-	private final AtomicBoolean isSleeping = new AtomicBoolean(false);
+	private final TurnHandoff turnHandoff;
 	private final AtomicBoolean halt = new AtomicBoolean(false);
 
 	// last and current execution time and detecting skipped turns
 	private int lastExecutionTime = -1;
 	private int currentExecutionTime;
 
+	// CPU time accounting, done on the battle thread
+	private volatile long robotThreadId = -1;
+	private long cpuTimeThreadId = -1;
+	private long lastCpuTime;
+
 	private boolean isExecFinishedAndDisabled;
 	private boolean isEnergyDrained;
 	private boolean isWinner;
@@ -139,6 +170,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 
 	private RobotState state;
 	private final Arc2D scanArc;
+	private final ScanSector scanSector = new ScanSector();
 	private final BoundingRectangle boundingBox;
 	private final RbSerializer rbSerializer;
 
@@ -152,6 +184,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 
 		this.boundingBox = new BoundingRectangle();
 		this.scanArc = new Arc2D.Double();
+		this.turnHandoff = TurnHandoff.create(battle.getTurnHandoffType(), isRunning, battle.getTurnBarrier());
 		this.teamPeer = team;
 		this.state = RobotState.ACTIVE;
 		this.battleRules = battle.getBattleRules();
@@ -208,6 +241,13 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		}
 	}
 
+	public void discardOutText() {
+		synchronized (proxyText) {
+			battleText.setLength(0);
+			proxyText.setLength(0);
+		}
+	}
+
 	public RobotStatistics getRobotStatistics() {
 		return statistics;
 	}
@@ -325,7 +365,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 	}
 
 	public boolean isSleeping() {
-		return isSleeping.get();
+		return turnHandoff.isSleeping();
 	}
 
 	public boolean isHalt() {
@@ -464,7 +504,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 
 		if (!isExecFinishedAndDisabled) {
 			// from robot to battle
-			commands.set(new ExecCommands(newCommands, true));
+			publishCommands(newCommands);
 			print(newCommands.getOutputText());
 		} else {
 			// slow down spammer
@@ -498,33 +538,56 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		checkSkippedTurn();
 
 		// from battle to robot
-		final ExecCommands resCommands = new ExecCommands(this.commands.get(), false);
+		final ExecCommands resCommands = robotCommandSlots[exchange];
+
+		resCommands.set(this.commands.get(), false);
 		final RobotStatus resStatus = status.get();
 
 		final boolean shouldWait = battle.isAborted() || (battle.isLastRound() && isWinner());
 
-		return new ExecResults(resCommands, resStatus, readoutEvents(), readoutTeamMessages(), readoutBullets(),
+		return exchangeResults(resCommands, resStatus, readoutEvents(), readoutTeamMessages(), readoutBullets(),
 				isHalt(), shouldWait, isPaintEnabled());
 	}
 
 	public ExecResults waitForBattleEndImpl(ExecCommands newCommands) {
 		if (!isHalt()) {
 			// from robot to battle
-			commands.set(new ExecCommands(newCommands, true));
+			publishCommands(newCommands);
 			print(newCommands.getOutputText());
 
 			waitForNextTurn();
 		}
 		// from battle to robot
-		final ExecCommands resCommands = new ExecCommands(this.commands.get(), false);
+		final ExecCommands resCommands = robotCommandSlots[exchange];
+
+		resCommands.set(this.commands.get(), false);
 		final RobotStatus resStatus = status.get();
 
 		final boolean shouldWait = battle.isAborted() || (battle.isLastRound() && !isWinner());
 
 		readoutTeamMessages(); // throw away
 		
-		return new ExecResults(resCommands, resStatus, readoutEvents(), new ArrayList<TeamMessage>(), readoutBullets(),
-				isHalt(), shouldWait, false);
+		return exchangeResults(resCommands, resStatus, readoutEvents(), Collections.<TeamMessage>emptyList(),
+				readoutBullets(), isHalt(), shouldWait, false);
+	}
+
+	// Copies the commands of the robot into the instance, which is not used by the battle, and passes it to the battle
+	private void publishCommands(ExecCommands newCommands) {
+		final ExecCommands battleCommands = commands.get() == battleCommandSlots[0]
+				? battleCommandSlots[1]
+				: battleCommandSlots[0];
+
+		battleCommands.set(newCommands, true);
+		commands.set(battleCommands);
+	}
+
+	// Fills the results instance, which the robot is not using since the previous exchange
+	private ExecResults exchangeResults(ExecCommands commands, RobotStatus status, List<Event> events, List<TeamMessage> teamMessages, List<BulletStatus> bulletUpdates, boolean halt, boolean shouldWait, boolean paintEnabled) {
+		final ExecResults results = resultSlots[exchange];
+
+		results.set(commands, status, events, teamMessages, bulletUpdates, halt, shouldWait, paintEnabled);
+		exchange ^= 1;
+		return results;
 	}
 
 	private void validateCommands(ExecCommands newCommands) {
@@ -539,42 +602,35 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		newCommands.setMaxVelocity(Math.min(abs(newCommands.getMaxVelocity()), Rules.MAX_VELOCITY));
 	}
 
+	// The robot has processed the lists, which it read out in the previous turn, when it reads out the lists again
 	private List<Event> readoutEvents() {
-		return events.getAndSet(new EventQueue());
+		final List<Event> next = readEvents;
+
+		next.clear();
+		readEvents = events.getAndSet(next);
+		return readEvents;
 	}
 
 	private List<TeamMessage> readoutTeamMessages() {
-		return teamMessages.getAndSet(new ArrayList<TeamMessage>());
+		final List<TeamMessage> next = readTeamMessages;
+
+		next.clear();
+		readTeamMessages = teamMessages.getAndSet(next);
+		return readTeamMessages;
 	}
 
 	private List<BulletStatus> readoutBullets() {
-		return bulletUpdates.getAndSet(new ArrayList<BulletStatus>());
+		final List<BulletStatus> next = readBulletUpdates;
+
+		next.clear();
+		readBulletUpdates = bulletUpdates.getAndSet(next);
+		return readBulletUpdates;
 	}
 
 	private void waitForNextTurn() {
-		synchronized (isSleeping) {
-			// Notify the battle that we are now asleep.
-			// This ends any pending wait() call in battle.runRound().
-			// Should not actually take place until we release the lock in wait(), below.
-			isSleeping.set(true);
-			isSleeping.notifyAll();
-			// Notifying battle that we're asleep
-			// Sleeping and waiting for battle to wake us up.
-			try {
-				isSleeping.wait();
-			} catch (InterruptedException e) {
-				// We are expecting this to happen when a round is ended!
-
-				// Immediately reasserts the exception by interrupting the caller thread itself
-				Thread.currentThread().interrupt();
-			}
-			isSleeping.set(false);
-			// Notify battle thread, which is waiting in
-			// our wakeup() call, to return.
-			// It's quite possible, by the way, that we'll be back in sleep (above)
-			// before the battle thread actually wakes up
-			isSleeping.notifyAll();
-		}
+		// Notify the battle that we are now asleep, and wait for the battle to wake us up.
+		// An interrupt is expected to happen when a round is ended, and is kept on the thread.
+		turnHandoff.sleep();
 	}
 
 	// -----------
@@ -582,49 +638,103 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 	// -----------
 
 	public void waitWakeup() {
-		synchronized (isSleeping) {
-			if (isSleeping()) {
-				// Wake up the thread
-				isSleeping.notifyAll();
-				try {
-					isSleeping.wait(10000);
-				} catch (InterruptedException e) {
-					// Immediately reasserts the exception by interrupting the caller thread itself
-					Thread.currentThread().interrupt();
-				}
-			}
+		try {
+			turnHandoff.wakeup();
+		} catch (InterruptedException e) {
+			// Immediately reasserts the exception by interrupting the caller thread itself
+			Thread.currentThread().interrupt();
 		}
 	}
 
 	private void waitWakeupNoWait() {
-		synchronized (isSleeping) {
-			if (isSleeping()) {
-				// Wake up the thread
-				isSleeping.notifyAll();
-			}
-		}
+		turnHandoff.wakeupNoWait();
 	}
 
 	public void waitSleeping(long millisWait, int nanosWait) {
-		synchronized (isSleeping) {
+		try {
 			// It's quite possible for simple robots to
 			// complete their processing before we get here,
-			// so we test if the robot is already asleep.
+			// so the handoff tests if the robot is already asleep.
+			turnHandoff.waitSleeping(millisWait, nanosWait);
+		} catch (InterruptedException e) {
+			// Immediately reasserts the exception by interrupting the caller thread itself
+			Thread.currentThread().interrupt();
 
-			if (!isSleeping()) {
-				try {
-					for (long i = millisWait; i > 0 && !isSleeping() && isRunning(); i--) {
-						isSleeping.wait(0, 999999);
-					}
-					if (!isSleeping() && isRunning()) {
-						isSleeping.wait(0, nanosWait);
-					}
-				} catch (InterruptedException e) {
-					// Immediately reasserts the exception by interrupting the caller thread itself
-					Thread.currentThread().interrupt();
+			logMessage("Wait for " + getName() + " interrupted.");
+		}
+	}
 
-					logMessage("Wait for " + getName() + " interrupted.");
-				}
+	/**
+	 * Charges the CPU time used by the robot thread since the last call to the robot statistics.
+	 */
+	public void chargeCpuTime() {
+		final long threadId = robotThreadId;
+
+		if (threadId < 0) {
+			return;
+		}
+		final long cpuTime = THREAD_MX_BEAN.getThreadCpuTime(threadId);
+
+		if (cpuTime < 0) {
+			return; // the robot thread is not alive
+		}
+		if (threadId != cpuTimeThreadId) {
+			// A new robot thread has been started for this round
+			cpuTimeThreadId = threadId;
+			lastCpuTime = 0;
+		}
+		statistics.addCpuTime(cpuTime - lastCpuTime);
+		lastCpuTime = cpuTime;
+	}
+
+	/**
+	 * Returns the CPU time used by the robot thread since the last call to {@link #chargeCpuTime()}.
+	 *
+	 * @return the CPU time in nanoseconds, or 0 if the CPU time of the robot thread cannot be measured.
+	 */
+	public long getUnchargedCpuTime() {
+		final long threadId = robotThreadId;
+		final long cpuTime = threadId < 0 ? -1 : THREAD_MX_BEAN.getThreadCpuTime(threadId);
+
+		if (cpuTime < 0) {
+			return 0;
+		}
+		return threadId == cpuTimeThreadId ? cpuTime - lastCpuTime : cpuTime;
+	}
+
+	/**
+	 * Waits for the robot to go to sleep, until the robot thread has used up its CPU time for the turn since the last
+	 * call to {@link #chargeCpuTime()}, or until the wall-clock time is up. Time the robot thread spends waiting for
+	 * the CPU, e.g. on an overloaded machine or during garbage collection, is not charged.
+	 *
+	 * @param cpuNanos the CPU time budget in nanoseconds
+	 * @param maxWaitNanos the maximum wall-clock time to wait in nanoseconds
+	 */
+	public void waitSleepingCpuTime(long cpuNanos, long maxWaitNanos) {
+		final long deadline = System.nanoTime() + maxWaitNanos;
+		final long threadId = robotThreadId;
+
+		long remainingCpu = cpuNanos;
+
+		while (!isSleeping() && isRunning()) {
+			final long remainingWait = deadline - System.nanoTime();
+
+			if (remainingCpu <= 0 || remainingWait <= 0 || Thread.currentThread().isInterrupted()) {
+				break;
+			}
+			// A thread cannot use more CPU time than the wall-clock time it runs, so the robot is
+			// never charged more than its remaining CPU time while we wait for that long.
+			final long wait = min(remainingCpu, remainingWait);
+
+			waitSleeping(wait / 1000000, max(1, (int) (wait % 1000000)));
+
+			final long cpuTime = threadId < 0 ? -1 : THREAD_MX_BEAN.getThreadCpuTime(threadId);
+
+			if (cpuTime < 0 || threadId != cpuTimeThreadId) {
+				// No CPU time to compare with, so the wall-clock time is used
+				remainingCpu -= wait;
+			} else {
+				remainingCpu = cpuNanos - (cpuTime - lastCpuTime);
 			}
 		}
 	}
@@ -636,7 +746,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 
 		int numSkippedTurns = (currentExecutionTime - lastExecutionTime) - 1;
 		if (numSkippedTurns >= 1) {
-			events.get().clear(false);
+			clearEvents(events.get(), Long.MAX_VALUE);
 
 			if (isAlive()) {
 				for (int skippedTurn = lastExecutionTime + 1; skippedTurn < currentExecutionTime; skippedTurn++) {
@@ -814,16 +924,14 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		status.set(stat);
 		robotProxy.startRound(currentCommands, stat);
 
-		synchronized (isSleeping) {
-			try {
-				// Wait for the robot to go to sleep (take action)
-				isSleeping.wait(waitMillis, waitNanos);
-			} catch (InterruptedException e) {
-				logMessage("Wait for " + getName() + " interrupted.");
+		try {
+			// Wait for the robot to go to sleep (take action)
+			turnHandoff.waitStarted(waitMillis, waitNanos);
+		} catch (InterruptedException e) {
+			logMessage("Wait for " + getName() + " interrupted.");
 
-				// Immediately reasserts the exception by interrupting the caller thread itself
-				Thread.currentThread().interrupt();
-			}
+			// Immediately reasserts the exception by interrupting the caller thread itself
+			Thread.currentThread().interrupt();
 		}
 		if (!isSleeping() && !battle.isDebugging()) {
 			logMessage("\n" + getName() + " still has not started after " + waitMillis + " ms... giving up.");
@@ -894,7 +1002,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		}
 	}
 
-	public void performMove(List<RobotPeer> robots, double zapEnergy) {
+	public void performMove(List<RobotPeer> robots, double zapEnergy, BroadPhase broadPhase) {
 
 		// Reset robot state to active if it is not dead
 		if (isDead()) {
@@ -931,7 +1039,10 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		}
 
 		// Now check for robot collision
-		checkRobotCollision(robots);
+		if (broadPhase != null) {
+			broadPhase.moveRobot(this);
+		}
+		checkRobotCollision(robots, broadPhase);
 		
 		// Scan false means robot did not call scan() manually.
 		// But if we're moving, scan
@@ -966,8 +1077,8 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		// dispatch messages
 		if (statics.isTeamRobot() && teamPeer != null) {
 			for (TeamMessage teamMessage : currentCommands.getTeamMessages()) {
-				for (RobotPeer member : teamPeer) {
-					if (checkDispatchToMember(member, teamMessage.recipient)) {
+				for (RobotPeer member : getMessageRecipients(teamMessage.recipient)) {
+					if (member.isAlive()) {
 						member.addTeamMessage(teamMessage);
 					}
 				}
@@ -985,25 +1096,32 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		queue.add(message);
 	}
 
-	private boolean checkDispatchToMember(RobotPeer member, String recipient) {
-		if (member.isAlive()) {
-			if (recipient == null) {
-				return member != this;
-			} else {
-				final int nl = recipient.length();
-				final String currentName = member.statics.getName();
-
-				if ((currentName.length() >= nl && currentName.substring(0, nl).equals(recipient))) {
-					return true;
-				}
+	private RobotPeer[] getMessageRecipients(String recipient) {
+		RobotPeer[] recipients = messageRecipients.get(recipient);
 
-				final String currentClassName = member.statics.getFullClassName();
+		if (recipients == null) {
+			final List<RobotPeer> members = new ArrayList<RobotPeer>();
 
-				return currentClassName.length() >= nl && currentClassName.substring(0, nl).equals(recipient);
+			for (RobotPeer member : teamPeer) {
+				if (checkDispatchToMember(member, recipient)) {
+					members.add(member);
+				}
+			}
+			recipients = members.toArray(new RobotPeer[members.size()]);
 
+			// Robots sending to ever new names must not make the cache grow without bounds
+			if (messageRecipients.size() < MAX_MESSAGE_RECIPIENTS) {
+				messageRecipients.put(recipient, recipients);
 			}
 		}
-		return false;
+		return recipients;
+	}
+
+	private boolean checkDispatchToMember(RobotPeer member, String recipient) {
+		if (recipient == null) {
+			return member != this;
+		}
+		return member.statics.getName().startsWith(recipient) || member.statics.getFullClassName().startsWith(recipient);
 	}
 
 	public String getNameForEvent(RobotPeer otherRobot) {
@@ -1013,10 +1131,17 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		return otherRobot.getName();
 	}		
 
-	private void checkRobotCollision(List<RobotPeer> robots) {
+	private void checkRobotCollision(List<RobotPeer> robots, BroadPhase broadPhase) {
 		inCollision = false;
 
+		final Set<RobotPeer> near = (broadPhase == null) ? null
+				: broadPhase.getRobotsNear(boundingBox.getMinX(), boundingBox.getMinY(), boundingBox.getMaxX(),
+				boundingBox.getMaxY());
+
 		for (RobotPeer otherRobot : robots) {
+			if (near != null && !near.contains(otherRobot)) {
+				continue;
+			}
 			if (!(otherRobot == null || otherRobot == this || otherRobot.isDead())
 					&& boundingBox.intersects(otherRobot.boundingBox)) {
 				// Bounce back
@@ -1264,7 +1389,7 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 	// TODO: Only add events to robots that are alive? + Remove checks if the Robot is alive before adding the event?
 	public void addEvent(Event event) {
 		if (isRunning()) {
-			final EventQueue queue = events.get();
+			final List<Event> queue = events.get();
 
 			if ((queue.size() > EventManager.MAX_QUEUE_SIZE)
 					&& !(event instanceof DeathEvent || event instanceof WinEvent || event instanceof SkippedTurnEvent)) {
@@ -1272,13 +1397,27 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 						"Not adding to " + statics.getShortName() + "'s queue, exceeded " + EventManager.MAX_QUEUE_SIZE
 						+ " events in queue.");
 				// clean up old stuff
-				queue.clear(battle.getTime() - EventManager.MAX_EVENT_STACK);
+				clearEvents(queue, battle.getTime() - EventManager.MAX_EVENT_STACK);
 			} else {
 				queue.add(event);
 			}
 		}
 	}
 
+	// Removes the events that are not critical and not newer than the clear time in a single pass
+	private static void clearEvents(List<Event> events, long clearTime) {
+		int kept = 0;
+
+		for (int i = 0; i < events.size(); i++) {
+			Event event = events.get(i);
+
+			if (event.getTime() > clearTime || HiddenAccess.isCriticalEvent(event)) {
+				events.set(kept++, event);
+			}
+		}
+		events.subList(kept, events.size()).clear();
+	}
+
 	private void updateGunHeading() {
 		if (currentCommands.getGunTurnRemaining() > 0) {
 			if (currentCommands.getGunTurnRemaining() < Rules.GUN_TURN_RATE_RADIANS) {
@@ -1551,9 +1690,11 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		scanArc.setArc(x - Rules.RADAR_SCAN_RADIUS, y - Rules.RADAR_SCAN_RADIUS, 2 * Rules.RADAR_SCAN_RADIUS,
 				2 * Rules.RADAR_SCAN_RADIUS, 180.0 * startAngle / PI, 180.0 * scanRadians / PI, Arc2D.PIE);
 
+		scanSector.set(scanArc);
+
 		for (RobotPeer otherRobot : robots) {
 			if (!(otherRobot == null || otherRobot == this || otherRobot.isDead())
-					&& intersects(scanArc, otherRobot.boundingBox)) {
+					&& scanSector.intersects(otherRobot.boundingBox)) {
 				double dx = otherRobot.x - x;
 				double dy = otherRobot.y - y;
 				double angle = atan2(dx, dy);
@@ -1568,12 +1709,6 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 		}
 	}
 
-	private boolean intersects(Arc2D arc, Rectangle2D rect) {
-		return (rect.intersectsLine(arc.getCenterX(), arc.getCenterY(), arc.getStartPoint().getX(),
-				arc.getStartPoint().getY()))
-				|| arc.intersects(rect);
-	}
-
 	private void zap(double zapAmount) {
 		if (energy == 0) {
 			kill();
@@ -1588,6 +1723,10 @@ public final class RobotPeer implements IRobotPeerBattle, IRobotPeer {
 	}
 
 	public void setRunning(boolean value) {
+		if (value) {
+			// Called on the robot thread when it starts running
+			robotThreadId = Thread.currentThread().getId();
+		}
 		isRunning.set(value);
 	}
 
@@ -50,6 +50,10 @@ public class RobotStatistics implements ContestantStatistics {
 	private int totalSeconds;
 	private int totalThirds;
 
+	// Thread CPU time in nanoseconds, only measured when the CPU time of robots is enforced
+	private long cpuTime;
+	private long totalCpuTime;
+
 	RobotStatistics(RobotPeer robotPeer, int numberOfRobots) {
 		super();
 		this.robotPeer = robotPeer;
@@ -65,6 +69,8 @@ public class RobotStatistics implements ContestantStatistics {
 
 		isActive = true;
 		isInRound = true;
+
+		cpuTime = 0;
 	}
 
 	private void resetScores() {
@@ -133,6 +139,31 @@ public class RobotStatistics implements ContestantStatistics {
 		return totalThirds;
 	}
 
+	/**
+	 * Returns the CPU time used by the robot thread in the current round.
+	 * The CPU time is only measured when the battle enforces CPU time instead of wall-clock time.
+	 *
+	 * @return the CPU time in nanoseconds
+	 */
+	public long getCpuTime() {
+		return cpuTime;
+	}
+
+	/**
+	 * Returns the CPU time used by the robot thread in all rounds of the battle.
+	 * The CPU time is only measured when the battle enforces CPU time instead of wall-clock time.
+	 *
+	 * @return the CPU time in nanoseconds
+	 */
+	public long getTotalCpuTime() {
+		return totalCpuTime;
+	}
+
+	void addCpuTime(long nanos) {
+		cpuTime += nanos;
+		totalCpuTime += nanos;
+	}
+
 	public double getCurrentScore() {
 		return robotPeer.isSentryRobot()
 				? 0
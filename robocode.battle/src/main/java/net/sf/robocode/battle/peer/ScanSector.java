@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle.peer;
+
+
+import java.awt.geom.Arc2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+
+
+/**
+ * Radar sweep test used by {@link RobotPeer} for finding the robots that are scanned in a turn.
+ * <p>
+ * The radar sweep is a pie shaped {@link Arc2D}, which is still used for painting the scan arc.
+ * But instead of calling the generic {@link Arc2D#intersects(Rectangle2D)} for each robot, this class tests
+ * the pie against the bounding box of a robot with a few comparisons:
+ * <ol>
+ * <li>A bounding box that has no point closer than the scan radius to the center is never scanned.</li>
+ * <li>A bounding box that is hit by the start or end line of the pie is scanned.</li>
+ * <li>Otherwise the part of the bounding box that is inside the scan radius is either entirely inside or
+ * entirely outside the pie, so it is enough to check if the closest point of the box is within the pie angles.</li>
+ * </ol>
+ * When the closest point is on the edge of the scan radius or the pie angles, where rounding could make the
+ * result differ from the Arc2D test, the Arc2D test is used instead. Hence the result is always the same as
+ * with {@link #intersects(Arc2D, Rectangle2D)}.
+ */
+final class ScanSector {
+
+	// Relative tolerances for when to fall back to the Arc2D test
+	private static final double RADIUS_TOLERANCE = 1e-9;
+	private static final double ANGLE_TOLERANCE = 1e-7; // degrees
+
+	private Arc2D arc;
+
+	private double centerX;
+	private double centerY;
+	private double radiusSq;
+
+	private double startX;
+	private double startY;
+	private double endX;
+	private double endY;
+
+	private double angleStart; // normalized degrees
+	private double angleExtent; // degrees
+	private boolean backwards;
+
+	/**
+	 * Prepares the sector for the tests of the current scan.
+	 *
+	 * @param arc the pie shaped scan arc, which must be circular
+	 */
+	void set(Arc2D arc) {
+		this.arc = arc;
+
+		centerX = arc.getCenterX();
+		centerY = arc.getCenterY();
+
+		double radius = arc.getWidth() / 2;
+
+		radiusSq = radius * radius;
+
+		// The same end points as used by Arc2D.intersects()
+		Point2D start = arc.getStartPoint();
+		Point2D end = arc.getEndPoint();
+
+		startX = start.getX();
+		startY = start.getY();
+		endX = end.getX();
+		endY = end.getY();
+
+		angleStart = normalizeDegrees(arc.getAngleStart());
+		angleExtent = arc.getAngleExtent();
+		backwards = angleExtent < 0;
+		if (backwards) {
+			angleExtent = -angleExtent;
+		}
+	}
+
+	/**
+	 * Checks if the rectangle is inside the scan, i.e. hit by the start line of the scan arc or intersecting the arc.
+	 *
+	 * @param rect the rectangle to test, e.g. the bounding box of a robot
+	 * @return true if the rectangle is scanned; false otherwise
+	 */
+	boolean intersects(Rectangle2D rect) {
+		final double minX = rect.getX();
+		final double minY = rect.getY();
+		final double maxX = minX + rect.getWidth();
+		final double maxY = minY + rect.getHeight();
+
+		// Closest point of the rectangle to the center
+		final double nearX = centerX < minX ? minX : (centerX > maxX ? maxX : centerX);
+		final double nearY = centerY < minY ? minY : (centerY > maxY ? maxY : centerY);
+
+		final double dx = nearX - centerX;
+		final double dy = nearY - centerY;
+		final double distSq = dx * dx + dy * dy;
+
+		// Distance prefilter, which rejects most robots
+		if (distSq > radiusSq * (1 + RADIUS_TOLERANCE)) {
+			return false;
+		}
+		if (rect.intersectsLine(centerX, centerY, startX, startY) || rect.intersectsLine(centerX, centerY, endX, endY)) {
+			return true;
+		}
+		if (distSq == 0 || distSq >= radiusSq * (1 - RADIUS_TOLERANCE)) {
+			return intersects(arc, rect);
+		}
+
+		// Angle of the closest point relative to the start of the arc, like Arc2D.containsAngle()
+		double angle = normalizeDegrees(-Math.toDegrees(Math.atan2(dy, dx))) - angleStart;
+
+		if (backwards) {
+			angle = -angle;
+		}
+		if (angle < 0) {
+			angle += 360;
+		}
+		if (angle < ANGLE_TOLERANCE || angle > 360 - ANGLE_TOLERANCE || Math.abs(angle - angleExtent) < ANGLE_TOLERANCE) {
+			return intersects(arc, rect);
+		}
+		return angle < angleExtent;
+	}
+
+	/**
+	 * The generic scan test, which checks if the rectangle is hit by the start line of the arc or intersects the arc.
+	 *
+	 * @param arc the pie shaped scan arc
+	 * @param rect the rectangle to test
+	 * @return true if the rectangle is scanned; false otherwise
+	 */
+	static boolean intersects(Arc2D arc, Rectangle2D rect) {
+		return (rect.intersectsLine(arc.getCenterX(), arc.getCenterY(), arc.getStartPoint().getX(),
+				arc.getStartPoint().getY()))
+				|| arc.intersects(rect);
+	}
+
+	// Same normalization as in Arc2D
+	private static double normalizeDegrees(double angle) {
+		if (angle > 180.0) {
+			if (angle <= (180.0 + 360.0)) {
+				angle = angle - 360.0;
+			} else {
+				angle = Math.IEEEremainder(angle, 360.0);
+				// IEEEremainder can return -180 here for some input values...
+				if (angle == -180.0) {
+					angle = 180.0;
+				}
+			}
+		} else if (angle <= -180.0) {
+			if (angle > (-180.0 - 360.0)) {
+				angle = angle + 360.0;
+			} else {
+				angle = Math.IEEEremainder(angle, 360.0);
+				// IEEEremainder can return -180 here for some input values...
+				if (angle == -180.0) {
+					angle = 180.0;
+				}
+			}
+		}
+		return angle;
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle.peer;
+
+
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Barrier used by the battle thread for waiting on all robots of a turn at once, when robots are executed in
+ * parallel. Every robot that goes to sleep signals the barrier, so the battle thread wakes up and can check
+ * whether the last robot has taken its action, instead of waiting for the robots one by one.
+ */
+public final class TurnBarrier {
+
+	private volatile Thread waiter;
+
+	/**
+	 * Makes the current thread the one that is signalled when a robot goes to sleep.
+	 * Must be called before the robots are woken up.
+	 */
+	public void arm() {
+		waiter = Thread.currentThread();
+	}
+
+	/**
+	 * Stops signalling the thread that armed the barrier.
+	 */
+	public void disarm() {
+		waiter = null;
+	}
+
+	/**
+	 * Waits until a robot goes to sleep, the time is up, or the current thread is interrupted.
+	 * A robot that went to sleep since the last call makes this method return immediately.
+	 *
+	 * @param nanos the maximum number of nanoseconds to wait
+	 */
+	public void await(long nanos) {
+		LockSupport.parkNanos(this, nanos);
+	}
+
+	// called on robot thread, when it goes to sleep
+	void signal() {
+		final Thread current = waiter;
+
+		if (current != null) {
+			LockSupport.unpark(current);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle.peer;
+
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * Hands the turn back and forth between the battle thread and the thread of a robot.
+ * The robot thread goes to sleep when it has taken its action for the turn, and the battle thread
+ * wakes it up again when the next turn has been computed.
+ * <p>
+ * The strategy is selected per battle with the turn handoff of the battle properties, which each engine can set,
+ * and which defaults to the TURNHANDOFF system property:
+ * <ul>
+ * <li>{@code monitor} (default) uses {@code wait()}/{@code notifyAll()} on a shared monitor.</li>
+ * <li>{@code park} uses {@link java.util.concurrent.locks.LockSupport} and spins shortly before parking,
+ * so that the battle thread learns within microseconds that a fast robot is done.</li>
+ * </ul>
+ */
+public abstract class TurnHandoff {
+
+	public static final String MONITOR = "monitor";
+	public static final String PARK = "park";
+
+	/**
+	 * Creates the turn handoff for a robot.
+	 *
+	 * @param type the strategy, i.e. {@link #MONITOR} or {@link #PARK}
+	 * @param isRunning flag telling if the robot thread is running
+	 * @param barrier the barrier to signal when the robot goes to sleep
+	 * @return a new turn handoff
+	 */
+	public static TurnHandoff create(String type, AtomicBoolean isRunning, TurnBarrier barrier) {
+		if (PARK.equalsIgnoreCase(type)) {
+			return new ParkingTurnHandoff(isRunning, barrier);
+		}
+		return new MonitorTurnHandoff(isRunning, barrier);
+	}
+
+	protected final AtomicBoolean isRunning;
+	protected final TurnBarrier barrier;
+
+	protected TurnHandoff(AtomicBoolean isRunning, TurnBarrier barrier) {
+		this.isRunning = isRunning;
+		this.barrier = barrier;
+	}
+
+	/**
+	 * Checks if the robot thread is sleeping, i.e. it has taken its action for the current turn.
+	 *
+	 * @return true if the robot is sleeping; false otherwise
+	 */
+	public abstract boolean isSleeping();
+
+	// -----------
+	// called on robot thread
+	// -----------
+
+	/**
+	 * Tells the battle that the robot is asleep, and waits until the battle wakes it up.
+	 * If the robot thread is interrupted, the interrupt flag is kept and the method returns.
+	 */
+	public abstract void sleep();
+
+	// -----------
+	// called on battle thread
+	// -----------
+
+	/**
+	 * Wakes up the robot if it is sleeping, and waits until the robot thread has actually woken up.
+	 *
+	 * @throws InterruptedException if the battle thread is interrupted
+	 */
+	public abstract void wakeup() throws InterruptedException;
+
+	/**
+	 * Wakes up the robot if it is sleeping, without waiting for it.
+	 */
+	public abstract void wakeupNoWait();
+
+	/**
+	 * Waits until the robot is sleeping, its thread stops running, or the time is up.
+	 *
+	 * @param millisWait milliseconds to wait
+	 * @param nanosWait additional nanoseconds to wait
+	 * @throws InterruptedException if the battle thread is interrupted
+	 */
+	public abstract void waitSleeping(long millisWait, int nanosWait) throws InterruptedException;
+
+	/**
+	 * Waits until a robot that is starting a round is sleeping, or the time is up.
+	 *
+	 * @param millisWait milliseconds to wait
+	 * @param nanosWait additional nanoseconds to wait
+	 * @throws InterruptedException if the battle thread is interrupted
+	 */
+	public abstract void waitStarted(long millisWait, int nanosWait) throws InterruptedException;
+}
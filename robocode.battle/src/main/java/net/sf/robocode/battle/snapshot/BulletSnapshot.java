@@ -11,6 +11,7 @@ package net.sf.robocode.battle.snapshot;
 import net.sf.robocode.battle.peer.BulletPeer;
 import net.sf.robocode.battle.peer.ExplosionPeer;
 import net.sf.robocode.battle.peer.RobotPeer;
+import static net.sf.robocode.battle.snapshot.TurnSnapshotCodec.differs;
 import net.sf.robocode.peer.ExecCommands;
 import net.sf.robocode.serialization.*;
 import robocode.control.snapshot.BulletState;
@@ -33,6 +34,21 @@ public final class BulletSnapshot implements java.io.Serializable, IXmlSerializa
 
 	private static final long serialVersionUID = 2L;
 
+	// Bits for the fields that differ from the previous snapshot of the bullet in the binary format
+	private static final int STATE = 1;
+	private static final int POWER = 1 << 1;
+	private static final int X = 1 << 2;
+	private static final int Y = 1 << 3;
+	private static final int PAINT_X = 1 << 4;
+	private static final int PAINT_Y = 1 << 5;
+	private static final int COLOR = 1 << 6;
+	private static final int FRAME = 1 << 7;
+	private static final int EXPLOSION_IMAGE = 1 << 8;
+	private static final int VICTIM = 1 << 9;
+	private static final int HEADING = 1 << 10;
+
+	private static final BulletState[] STATES = BulletState.values();
+
 	/** The bullet state */
 	private BulletState state;
 
@@ -268,6 +284,152 @@ public final class BulletSnapshot implements java.io.Serializable, IXmlSerializa
 		writer.endElement();
 	}
 
+	boolean isSameBullet(BulletSnapshot bullet) {
+		return ownerIndex == bullet.ownerIndex && bulletId == bullet.bulletId && isExplosion == bullet.isExplosion;
+	}
+
+	void writeBinary(TurnSnapshotCodec codec, BulletSnapshot previous) {
+		int changed;
+
+		if (previous == null) {
+			codec.putInt(ownerIndex);
+			codec.putInt(bulletId);
+			codec.putBoolean(isExplosion);
+			changed = ~0;
+		} else {
+			changed = 0;
+			if (state != previous.state) {
+				changed |= STATE;
+			}
+			if (differs(power, previous.power)) {
+				changed |= POWER;
+			}
+			if (differs(x, previous.x)) {
+				changed |= X;
+			}
+			if (differs(y, previous.y)) {
+				changed |= Y;
+			}
+			if (differs(paintX, previous.paintX)) {
+				changed |= PAINT_X;
+			}
+			if (differs(paintY, previous.paintY)) {
+				changed |= PAINT_Y;
+			}
+			if (color != previous.color) {
+				changed |= COLOR;
+			}
+			if (frame != previous.frame) {
+				changed |= FRAME;
+			}
+			if (explosionImageIndex != previous.explosionImageIndex) {
+				changed |= EXPLOSION_IMAGE;
+			}
+			if (victimIndex != previous.victimIndex) {
+				changed |= VICTIM;
+			}
+			if (differs(heading, previous.heading)) {
+				changed |= HEADING;
+			}
+			codec.putInt(changed);
+		}
+		if ((changed & STATE) != 0) {
+			codec.putInt(state.ordinal());
+		}
+		if ((changed & POWER) != 0) {
+			codec.putDouble(power);
+		}
+		if ((changed & X) != 0) {
+			codec.putDouble(x);
+		}
+		if ((changed & Y) != 0) {
+			codec.putDouble(y);
+		}
+		if ((changed & PAINT_X) != 0) {
+			codec.putDouble(paintX);
+		}
+		if ((changed & PAINT_Y) != 0) {
+			codec.putDouble(paintY);
+		}
+		if ((changed & COLOR) != 0) {
+			codec.putInt(color);
+		}
+		if ((changed & FRAME) != 0) {
+			codec.putInt(frame);
+		}
+		if ((changed & EXPLOSION_IMAGE) != 0) {
+			codec.putInt(explosionImageIndex);
+		}
+		if ((changed & VICTIM) != 0) {
+			codec.putInt(victimIndex);
+		}
+		if ((changed & HEADING) != 0) {
+			codec.putDouble(heading);
+		}
+	}
+
+	static BulletSnapshot readBinary(TurnSnapshotCodec codec, BulletSnapshot previous) {
+		final BulletSnapshot snapshot = new BulletSnapshot();
+		final int changed;
+
+		if (previous == null) {
+			snapshot.ownerIndex = codec.getInt();
+			snapshot.bulletId = codec.getInt();
+			snapshot.isExplosion = codec.getBoolean();
+			changed = ~0;
+		} else {
+			snapshot.ownerIndex = previous.ownerIndex;
+			snapshot.bulletId = previous.bulletId;
+			snapshot.isExplosion = previous.isExplosion;
+			snapshot.state = previous.state;
+			snapshot.power = previous.power;
+			snapshot.x = previous.x;
+			snapshot.y = previous.y;
+			snapshot.paintX = previous.paintX;
+			snapshot.paintY = previous.paintY;
+			snapshot.color = previous.color;
+			snapshot.frame = previous.frame;
+			snapshot.explosionImageIndex = previous.explosionImageIndex;
+			snapshot.victimIndex = previous.victimIndex;
+			snapshot.heading = previous.heading;
+			changed = codec.getInt();
+		}
+		if ((changed & STATE) != 0) {
+			snapshot.state = STATES[codec.getInt()];
+		}
+		if ((changed & POWER) != 0) {
+			snapshot.power = codec.getDouble();
+		}
+		if ((changed & X) != 0) {
+			snapshot.x = codec.getDouble();
+		}
+		if ((changed & Y) != 0) {
+			snapshot.y = codec.getDouble();
+		}
+		if ((changed & PAINT_X) != 0) {
+			snapshot.paintX = codec.getDouble();
+		}
+		if ((changed & PAINT_Y) != 0) {
+			snapshot.paintY = codec.getDouble();
+		}
+		if ((changed & COLOR) != 0) {
+			snapshot.color = codec.getInt();
+		}
+		if ((changed & FRAME) != 0) {
+			snapshot.frame = codec.getInt();
+		}
+		if ((changed & EXPLOSION_IMAGE) != 0) {
+			snapshot.explosionImageIndex = codec.getInt();
+		}
+		if ((changed & VICTIM) != 0) {
+			snapshot.victimIndex = codec.getInt();
+		}
+		if ((changed & HEADING) != 0) {
+			snapshot.heading = codec.getDouble();
+		}
+		return snapshot;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
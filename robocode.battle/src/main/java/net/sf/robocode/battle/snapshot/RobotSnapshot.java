@@ -9,6 +9,7 @@ package net.sf.robocode.battle.snapshot;
 
 
 import net.sf.robocode.battle.peer.RobotPeer;
+import static net.sf.robocode.battle.snapshot.TurnSnapshotCodec.differs;
 import net.sf.robocode.peer.DebugProperty;
 import net.sf.robocode.peer.ExecCommands;
 import net.sf.robocode.serialization.*;
@@ -20,6 +21,7 @@ import robocode.util.Utils;
 import java.awt.geom.Arc2D;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -37,6 +39,28 @@ public final class RobotSnapshot implements Serializable, IXmlSerializable, IRob
 
 	private static final long serialVersionUID = 2L;
 
+	// Bits for the fields that differ from the previous snapshot of the robot in the binary format
+	private static final int NAMES = 1;
+	private static final int TEAM_INDEX = 1 << 1;
+	private static final int STATE = 1 << 2;
+	private static final int ENERGY = 1 << 3;
+	private static final int VELOCITY = 1 << 4;
+	private static final int GUN_HEAT = 1 << 5;
+	private static final int BODY_HEADING = 1 << 6;
+	private static final int GUN_HEADING = 1 << 7;
+	private static final int RADAR_HEADING = 1 << 8;
+	private static final int X = 1 << 9;
+	private static final int Y = 1 << 10;
+	private static final int COLORS = 1 << 11;
+	private static final int FLAGS = 1 << 12;
+	private static final int SCAN_ARC = 1 << 13;
+	private static final int GRAPHICS_CALLS = 1 << 14;
+	private static final int DEBUG_PROPERTIES = 1 << 15;
+	private static final int OUTPUT = 1 << 16;
+	private static final int SCORE = 1 << 17;
+
+	private static final RobotState[] STATES = RobotState.values();
+
 	/** The name of the robot */
 	private String name;
 
@@ -507,6 +531,300 @@ public final class RobotSnapshot implements Serializable, IXmlSerializable, IRob
 
 	}
 
+	void writeBinary(TurnSnapshotCodec codec, RobotSnapshot previous) {
+		codec.putInt(robotIndex);
+
+		final byte[] graphics = graphicsCalls instanceof byte[] ? (byte[]) graphicsCalls : null;
+		int changed;
+
+		if (previous == null) {
+			changed = ~0;
+		} else {
+			changed = 0;
+			if (differs(name, previous.name) || differs(shortName, previous.shortName)
+					|| differs(veryShortName, previous.veryShortName) || differs(teamName, previous.teamName)) {
+				changed |= NAMES;
+			}
+			if (teamIndex != previous.teamIndex) {
+				changed |= TEAM_INDEX;
+			}
+			if (state != previous.state) {
+				changed |= STATE;
+			}
+			if (differs(energy, previous.energy)) {
+				changed |= ENERGY;
+			}
+			if (differs(velocity, previous.velocity)) {
+				changed |= VELOCITY;
+			}
+			if (differs(gunHeat, previous.gunHeat)) {
+				changed |= GUN_HEAT;
+			}
+			if (differs(bodyHeading, previous.bodyHeading)) {
+				changed |= BODY_HEADING;
+			}
+			if (differs(gunHeading, previous.gunHeading)) {
+				changed |= GUN_HEADING;
+			}
+			if (differs(radarHeading, previous.radarHeading)) {
+				changed |= RADAR_HEADING;
+			}
+			if (differs(x, previous.x)) {
+				changed |= X;
+			}
+			if (differs(y, previous.y)) {
+				changed |= Y;
+			}
+			if (bodyColor != previous.bodyColor || gunColor != previous.gunColor
+					|| radarColor != previous.radarColor || scanColor != previous.scanColor) {
+				changed |= COLORS;
+			}
+			if (getFlags() != previous.getFlags()) {
+				changed |= FLAGS;
+			}
+			if (!SerializableArc.equals(scanArc, previous.scanArc)) {
+				changed |= SCAN_ARC;
+			}
+			if (!(previous.graphicsCalls instanceof byte[] ? Arrays.equals(graphics, (byte[]) previous.graphicsCalls)
+					: graphics == null)) {
+				changed |= GRAPHICS_CALLS;
+			}
+			if (!equals(debugProperties, previous.debugProperties)) {
+				changed |= DEBUG_PROPERTIES;
+			}
+			if (differs(outputStreamSnapshot, previous.outputStreamSnapshot)) {
+				changed |= OUTPUT;
+			}
+			if (robotScoreSnapshot != null || previous.robotScoreSnapshot != null) {
+				changed |= SCORE;
+			}
+		}
+		codec.putInt(changed);
+
+		if ((changed & NAMES) != 0) {
+			codec.putName(name);
+			codec.putName(shortName);
+			codec.putName(veryShortName);
+			codec.putName(teamName);
+		}
+		if ((changed & TEAM_INDEX) != 0) {
+			codec.putInt(teamIndex);
+		}
+		if ((changed & STATE) != 0) {
+			codec.putInt(state.ordinal());
+		}
+		if ((changed & ENERGY) != 0) {
+			codec.putDouble(energy);
+		}
+		if ((changed & VELOCITY) != 0) {
+			codec.putDouble(velocity);
+		}
+		if ((changed & GUN_HEAT) != 0) {
+			codec.putDouble(gunHeat);
+		}
+		if ((changed & BODY_HEADING) != 0) {
+			codec.putDouble(bodyHeading);
+		}
+		if ((changed & GUN_HEADING) != 0) {
+			codec.putDouble(gunHeading);
+		}
+		if ((changed & RADAR_HEADING) != 0) {
+			codec.putDouble(radarHeading);
+		}
+		if ((changed & X) != 0) {
+			codec.putDouble(x);
+		}
+		if ((changed & Y) != 0) {
+			codec.putDouble(y);
+		}
+		if ((changed & COLORS) != 0) {
+			codec.putInt(bodyColor);
+			codec.putInt(gunColor);
+			codec.putInt(radarColor);
+			codec.putInt(scanColor);
+		}
+		if ((changed & FLAGS) != 0) {
+			codec.putInt(getFlags());
+		}
+		if ((changed & SCAN_ARC) != 0) {
+			codec.putBoolean(scanArc != null);
+			if (scanArc != null) {
+				codec.putDouble(scanArc.x);
+				codec.putDouble(scanArc.y);
+				codec.putDouble(scanArc.w);
+				codec.putDouble(scanArc.h);
+				codec.putDouble(scanArc.start);
+				codec.putDouble(scanArc.extent);
+				codec.putInt(scanArc.type);
+			}
+		}
+		if ((changed & GRAPHICS_CALLS) != 0) {
+			codec.putBytes(graphics);
+		}
+		if ((changed & DEBUG_PROPERTIES) != 0) {
+			if (debugProperties == null) {
+				codec.putInt(-1);
+			} else {
+				codec.putInt(debugProperties.length);
+				for (DebugProperty property : debugProperties) {
+					codec.putName(property.getKey());
+					codec.putString(property.getValue());
+				}
+			}
+		}
+		if ((changed & OUTPUT) != 0) {
+			codec.putString(outputStreamSnapshot);
+		}
+		if ((changed & SCORE) != 0) {
+			codec.putBoolean(robotScoreSnapshot != null);
+			if (robotScoreSnapshot != null) {
+				((ScoreSnapshot) robotScoreSnapshot).writeBinary(codec,
+						previous == null ? null : (ScoreSnapshot) previous.robotScoreSnapshot);
+			}
+		}
+	}
+
+	static RobotSnapshot readBinary(TurnSnapshotCodec codec, int robotIndex, RobotSnapshot previous) {
+		final RobotSnapshot snapshot = new RobotSnapshot();
+
+		snapshot.robotIndex = robotIndex;
+		if (previous != null) {
+			snapshot.name = previous.name;
+			snapshot.shortName = previous.shortName;
+			snapshot.veryShortName = previous.veryShortName;
+			snapshot.teamName = previous.teamName;
+			snapshot.teamIndex = previous.teamIndex;
+			snapshot.state = previous.state;
+			snapshot.energy = previous.energy;
+			snapshot.velocity = previous.velocity;
+			snapshot.gunHeat = previous.gunHeat;
+			snapshot.bodyHeading = previous.bodyHeading;
+			snapshot.gunHeading = previous.gunHeading;
+			snapshot.radarHeading = previous.radarHeading;
+			snapshot.x = previous.x;
+			snapshot.y = previous.y;
+			snapshot.bodyColor = previous.bodyColor;
+			snapshot.gunColor = previous.gunColor;
+			snapshot.radarColor = previous.radarColor;
+			snapshot.scanColor = previous.scanColor;
+			snapshot.setFlags(previous.getFlags());
+			snapshot.scanArc = previous.scanArc;
+			snapshot.graphicsCalls = previous.graphicsCalls;
+			snapshot.debugProperties = previous.debugProperties;
+			snapshot.outputStreamSnapshot = previous.outputStreamSnapshot;
+			snapshot.robotScoreSnapshot = previous.robotScoreSnapshot;
+		}
+
+		final int changed = codec.getInt();
+
+		if ((changed & NAMES) != 0) {
+			snapshot.name = codec.getName();
+			snapshot.shortName = codec.getName();
+			snapshot.veryShortName = codec.getName();
+			snapshot.teamName = codec.getName();
+		}
+		if ((changed & TEAM_INDEX) != 0) {
+			snapshot.teamIndex = codec.getInt();
+		}
+		if ((changed & STATE) != 0) {
+			snapshot.state = STATES[codec.getInt()];
+		}
+		if ((changed & ENERGY) != 0) {
+			snapshot.energy = codec.getDouble();
+		}
+		if ((changed & VELOCITY) != 0) {
+			snapshot.velocity = codec.getDouble();
+		}
+		if ((changed & GUN_HEAT) != 0) {
+			snapshot.gunHeat = codec.getDouble();
+		}
+		if ((changed & BODY_HEADING) != 0) {
+			snapshot.bodyHeading = codec.getDouble();
+		}
+		if ((changed & GUN_HEADING) != 0) {
+			snapshot.gunHeading = codec.getDouble();
+		}
+		if ((changed & RADAR_HEADING) != 0) {
+			snapshot.radarHeading = codec.getDouble();
+		}
+		if ((changed & X) != 0) {
+			snapshot.x = codec.getDouble();
+		}
+		if ((changed & Y) != 0) {
+			snapshot.y = codec.getDouble();
+		}
+		if ((changed & COLORS) != 0) {
+			snapshot.bodyColor = codec.getInt();
+			snapshot.gunColor = codec.getInt();
+			snapshot.radarColor = codec.getInt();
+			snapshot.scanColor = codec.getInt();
+		}
+		if ((changed & FLAGS) != 0) {
+			snapshot.setFlags(codec.getInt());
+		}
+		if ((changed & SCAN_ARC) != 0) {
+			snapshot.scanArc = codec.getBoolean()
+					? new SerializableArc(codec.getDouble(), codec.getDouble(), codec.getDouble(), codec.getDouble(),
+							codec.getDouble(), codec.getDouble(), codec.getInt())
+					: null;
+		}
+		if ((changed & GRAPHICS_CALLS) != 0) {
+			snapshot.graphicsCalls = codec.getBytes();
+		}
+		if ((changed & DEBUG_PROPERTIES) != 0) {
+			final int count = codec.getInt();
+
+			if (count < 0) {
+				snapshot.debugProperties = null;
+			} else {
+				snapshot.debugProperties = new DebugProperty[count];
+				for (int i = 0; i < count; i++) {
+					final String key = codec.getName();
+
+					snapshot.debugProperties[i] = new DebugProperty(key, codec.getString());
+				}
+			}
+		}
+		if ((changed & OUTPUT) != 0) {
+			snapshot.outputStreamSnapshot = codec.getString();
+		}
+		if ((changed & SCORE) != 0) {
+			snapshot.robotScoreSnapshot = codec.getBoolean()
+					? ScoreSnapshot.readBinary(codec, (ScoreSnapshot) snapshot.robotScoreSnapshot)
+					: null;
+		}
+		return snapshot;
+	}
+
+	private static boolean equals(DebugProperty[] properties1, DebugProperty[] properties2) {
+		if (properties1 == null || properties2 == null) {
+			return properties1 == properties2;
+		}
+		if (properties1.length != properties2.length) {
+			return false;
+		}
+		for (int i = 0; i < properties1.length; i++) {
+			if (differs(properties1[i].getKey(), properties2[i].getKey())
+					|| differs(properties1[i].getValue(), properties2[i].getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int getFlags() {
+		return (isDroid ? 1 : 0) | (isSentryRobot ? 2 : 0) | (isPaintRobot ? 4 : 0) | (isPaintEnabled ? 8 : 0)
+				| (isSGPaintEnabled ? 16 : 0);
+	}
+
+	private void setFlags(int flags) {
+		isDroid = (flags & 1) != 0;
+		isSentryRobot = (flags & 2) != 0;
+		isPaintRobot = (flags & 4) != 0;
+		isPaintEnabled = (flags & 8) != 0;
+		isSGPaintEnabled = (flags & 16) != 0;
+	}
+
 	// allows loading of minimalistic XML
 	RobotSnapshot(String robotName, int robotIndex, RobotState state) {
 		this.robotIndex = robotIndex;
@@ -722,8 +1040,27 @@ public final class RobotSnapshot implements Serializable, IXmlSerializable, IRob
 			type = arc.getArcType();
 		}
 
+		SerializableArc(double x, double y, double w, double h, double start, double extent, int type) {
+			this.x = x;
+			this.y = y;
+			this.w = w;
+			this.h = h;
+			this.start = start;
+			this.extent = extent;
+			this.type = type;
+		}
+
 		public Arc2D create() {
 			return new Arc2D.Double(x, y, w, h, start, extent, type);
 		}
+
+		static boolean equals(SerializableArc arc1, SerializableArc arc2) {
+			if (arc1 == null || arc2 == null) {
+				return arc1 == arc2;
+			}
+			return !differs(arc1.x, arc2.x) && !differs(arc1.y, arc2.y) && !differs(arc1.w, arc2.w)
+					&& !differs(arc1.h, arc2.h) && !differs(arc1.start, arc2.start)
+					&& !differs(arc1.extent, arc2.extent) && arc1.type == arc2.type;
+		}
 	}
 }
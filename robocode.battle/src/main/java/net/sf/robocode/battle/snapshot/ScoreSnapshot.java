@@ -9,6 +9,7 @@ package net.sf.robocode.battle.snapshot;
 
 
 import net.sf.robocode.battle.peer.RobotStatistics;
+import static net.sf.robocode.battle.snapshot.TurnSnapshotCodec.differs;
 import net.sf.robocode.serialization.*;
 import robocode.control.snapshot.IScoreSnapshot;
 
@@ -142,6 +143,28 @@ public final class ScoreSnapshot implements Serializable, IXmlSerializable, ISco
 		currentRammingKillBonus = score1.getCurrentBulletKillBonus() + score2.getCurrentBulletKillBonus();
 	}
 
+	// copy of a score, which the binary format only changes where it differs
+	private ScoreSnapshot(ScoreSnapshot score) {
+		name = score.name;
+		totalScore = score.totalScore;
+		totalSurvivalScore = score.totalSurvivalScore;
+		totalLastSurvivorBonus = score.totalLastSurvivorBonus;
+		totalBulletDamageScore = score.totalBulletDamageScore;
+		totalBulletKillBonus = score.totalBulletKillBonus;
+		totalRammingDamageScore = score.totalRammingDamageScore;
+		totalRammingKillBonus = score.totalRammingKillBonus;
+		totalFirsts = score.totalFirsts;
+		totalSeconds = score.totalSeconds;
+		totalThirds = score.totalThirds;
+		currentScore = score.currentScore;
+		currentSurvivalScore = score.currentSurvivalScore;
+		currentSurvivalBonus = score.currentSurvivalBonus;
+		currentBulletDamageScore = score.currentBulletDamageScore;
+		currentBulletKillBonus = score.currentBulletKillBonus;
+		currentRammingDamageScore = score.currentRammingDamageScore;
+		currentRammingKillBonus = score.currentRammingKillBonus;
+	}
+
 	@Override
 	public String toString() {
 		return this.totalScore + "/" + this.currentScore;
@@ -338,6 +361,160 @@ public final class ScoreSnapshot implements Serializable, IXmlSerializable, ISco
 		writer.endElement();
 	}
 
+	void writeBinary(TurnSnapshotCodec codec, ScoreSnapshot previous) {
+		int changed = 0;
+
+		if (previous == null || differs(name, previous.name)) {
+			changed |= 1;
+		}
+		if (previous == null || differs(totalScore, previous.totalScore)) {
+			changed |= 1 << 1;
+		}
+		if (previous == null || differs(totalSurvivalScore, previous.totalSurvivalScore)) {
+			changed |= 1 << 2;
+		}
+		if (previous == null || differs(totalLastSurvivorBonus, previous.totalLastSurvivorBonus)) {
+			changed |= 1 << 3;
+		}
+		if (previous == null || differs(totalBulletDamageScore, previous.totalBulletDamageScore)) {
+			changed |= 1 << 4;
+		}
+		if (previous == null || differs(totalBulletKillBonus, previous.totalBulletKillBonus)) {
+			changed |= 1 << 5;
+		}
+		if (previous == null || differs(totalRammingDamageScore, previous.totalRammingDamageScore)) {
+			changed |= 1 << 6;
+		}
+		if (previous == null || differs(totalRammingKillBonus, previous.totalRammingKillBonus)) {
+			changed |= 1 << 7;
+		}
+		if (previous == null || differs(currentScore, previous.currentScore)) {
+			changed |= 1 << 8;
+		}
+		if (previous == null || differs(currentSurvivalScore, previous.currentSurvivalScore)) {
+			changed |= 1 << 9;
+		}
+		if (previous == null || differs(currentSurvivalBonus, previous.currentSurvivalBonus)) {
+			changed |= 1 << 10;
+		}
+		if (previous == null || differs(currentBulletDamageScore, previous.currentBulletDamageScore)) {
+			changed |= 1 << 11;
+		}
+		if (previous == null || differs(currentBulletKillBonus, previous.currentBulletKillBonus)) {
+			changed |= 1 << 12;
+		}
+		if (previous == null || differs(currentRammingDamageScore, previous.currentRammingDamageScore)) {
+			changed |= 1 << 13;
+		}
+		if (previous == null || differs(currentRammingKillBonus, previous.currentRammingKillBonus)) {
+			changed |= 1 << 14;
+		}
+		codec.putInt(changed);
+		if ((changed & 1) != 0) {
+			codec.putName(name);
+		}
+		if ((changed & (1 << 1)) != 0) {
+			codec.putDouble(totalScore);
+		}
+		if ((changed & (1 << 2)) != 0) {
+			codec.putDouble(totalSurvivalScore);
+		}
+		if ((changed & (1 << 3)) != 0) {
+			codec.putDouble(totalLastSurvivorBonus);
+		}
+		if ((changed & (1 << 4)) != 0) {
+			codec.putDouble(totalBulletDamageScore);
+		}
+		if ((changed & (1 << 5)) != 0) {
+			codec.putDouble(totalBulletKillBonus);
+		}
+		if ((changed & (1 << 6)) != 0) {
+			codec.putDouble(totalRammingDamageScore);
+		}
+		if ((changed & (1 << 7)) != 0) {
+			codec.putDouble(totalRammingKillBonus);
+		}
+		if ((changed & (1 << 8)) != 0) {
+			codec.putDouble(currentScore);
+		}
+		if ((changed & (1 << 9)) != 0) {
+			codec.putDouble(currentSurvivalScore);
+		}
+		if ((changed & (1 << 10)) != 0) {
+			codec.putDouble(currentSurvivalBonus);
+		}
+		if ((changed & (1 << 11)) != 0) {
+			codec.putDouble(currentBulletDamageScore);
+		}
+		if ((changed & (1 << 12)) != 0) {
+			codec.putDouble(currentBulletKillBonus);
+		}
+		if ((changed & (1 << 13)) != 0) {
+			codec.putDouble(currentRammingDamageScore);
+		}
+		if ((changed & (1 << 14)) != 0) {
+			codec.putDouble(currentRammingKillBonus);
+		}
+		codec.putInt(totalFirsts);
+		codec.putInt(totalSeconds);
+		codec.putInt(totalThirds);
+	}
+
+	static ScoreSnapshot readBinary(TurnSnapshotCodec codec, ScoreSnapshot previous) {
+		final ScoreSnapshot snapshot = previous == null ? new ScoreSnapshot() : new ScoreSnapshot(previous);
+		final int changed = codec.getInt();
+
+		if ((changed & 1) != 0) {
+			snapshot.name = codec.getName();
+		}
+		if ((changed & (1 << 1)) != 0) {
+			snapshot.totalScore = codec.getDouble();
+		}
+		if ((changed & (1 << 2)) != 0) {
+			snapshot.totalSurvivalScore = codec.getDouble();
+		}
+		if ((changed & (1 << 3)) != 0) {
+			snapshot.totalLastSurvivorBonus = codec.getDouble();
+		}
+		if ((changed & (1 << 4)) != 0) {
+			snapshot.totalBulletDamageScore = codec.getDouble();
+		}
+		if ((changed & (1 << 5)) != 0) {
+			snapshot.totalBulletKillBonus = codec.getDouble();
+		}
+		if ((changed & (1 << 6)) != 0) {
+			snapshot.totalRammingDamageScore = codec.getDouble();
+		}
+		if ((changed & (1 << 7)) != 0) {
+			snapshot.totalRammingKillBonus = codec.getDouble();
+		}
+		if ((changed & (1 << 8)) != 0) {
+			snapshot.currentScore = codec.getDouble();
+		}
+		if ((changed & (1 << 9)) != 0) {
+			snapshot.currentSurvivalScore = codec.getDouble();
+		}
+		if ((changed & (1 << 10)) != 0) {
+			snapshot.currentSurvivalBonus = codec.getDouble();
+		}
+		if ((changed & (1 << 11)) != 0) {
+			snapshot.currentBulletDamageScore = codec.getDouble();
+		}
+		if ((changed & (1 << 12)) != 0) {
+			snapshot.currentBulletKillBonus = codec.getDouble();
+		}
+		if ((changed & (1 << 13)) != 0) {
+			snapshot.currentRammingDamageScore = codec.getDouble();
+		}
+		if ((changed & (1 << 14)) != 0) {
+			snapshot.currentRammingKillBonus = codec.getDouble();
+		}
+		snapshot.totalFirsts = codec.getInt();
+		snapshot.totalSeconds = codec.getInt();
+		snapshot.totalThirds = codec.getInt();
+		return snapshot;
+	}
+
 	// allows loading of minimalistic XML
 	ScoreSnapshot(String contestantName) {
 		this.name = contestantName;
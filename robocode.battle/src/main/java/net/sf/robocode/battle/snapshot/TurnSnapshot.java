@@ -80,6 +80,23 @@ public final class TurnSnapshot implements java.io.Serializable, IXmlSerializabl
 		round = battle.getRoundNum();
 	}
 
+	/**
+	 * Creates a snapshot of a battle turn from recorded data.
+	 *
+	 * @param round the round of the turn.
+	 * @param turn the turn within the round.
+	 * @param tps the turns per second.
+	 * @param robots the snapshots of the robots.
+	 * @param bullets the snapshots of the bullets.
+	 */
+	public TurnSnapshot(int round, int turn, int tps, List<IRobotSnapshot> robots, List<IBulletSnapshot> bullets) {
+		this.round = round;
+		this.turn = turn;
+		this.tps = tps;
+		this.robots = robots;
+		this.bullets = bullets;
+	}
+
 	@Override
 	public String toString() {
 		return this.round + "/" + turn + " (" + this.robots.size() + ")";
@@ -227,6 +244,86 @@ public final class TurnSnapshot implements java.io.Serializable, IXmlSerializabl
 		writer.endElement();
 	}
 
+	void writeBinary(TurnSnapshotCodec codec, TurnSnapshot previous) {
+		codec.putInt(round);
+		codec.putInt(turn);
+		codec.putInt(tps);
+
+		codec.putInt(robots.size());
+		for (int i = 0; i < robots.size(); i++) {
+			final RobotSnapshot robot = (RobotSnapshot) robots.get(i);
+
+			robot.writeBinary(codec, previousRobot(previous, i, robot.getRobotIndex()));
+		}
+
+		codec.putInt(bullets.size());
+
+		int next = 0;
+
+		for (IBulletSnapshot b : bullets) {
+			final BulletSnapshot bullet = (BulletSnapshot) b;
+			final int index = previous == null ? -1 : previous.indexOfBullet(bullet, next);
+
+			// Index of the same bullet in the previous turn, or 0 if it is new
+			codec.putInt(index + 1);
+			bullet.writeBinary(codec, index < 0 ? null : (BulletSnapshot) previous.bullets.get(index));
+			if (index >= 0) {
+				next = index + 1;
+			}
+		}
+	}
+
+	static TurnSnapshot readBinary(TurnSnapshotCodec codec, TurnSnapshot previous) {
+		final TurnSnapshot snapshot = new TurnSnapshot();
+
+		snapshot.round = codec.getInt();
+		snapshot.turn = codec.getInt();
+		snapshot.tps = codec.getInt();
+
+		final int robotCount = codec.getInt();
+
+		snapshot.robots = new ArrayList<IRobotSnapshot>(robotCount);
+		for (int i = 0; i < robotCount; i++) {
+			final int robotIndex = codec.getInt();
+
+			snapshot.robots.add(RobotSnapshot.readBinary(codec, robotIndex, previousRobot(previous, i, robotIndex)));
+		}
+
+		final int bulletCount = codec.getInt();
+
+		snapshot.bullets = new ArrayList<IBulletSnapshot>(bulletCount);
+		for (int i = 0; i < bulletCount; i++) {
+			final int index = codec.getInt() - 1;
+
+			snapshot.bullets.add(
+					BulletSnapshot.readBinary(codec, index < 0 ? null : (BulletSnapshot) previous.bullets.get(index)));
+		}
+		return snapshot;
+	}
+
+	private static RobotSnapshot previousRobot(TurnSnapshot previous, int i, int robotIndex) {
+		if (previous == null || i >= previous.robots.size()) {
+			return null;
+		}
+		final RobotSnapshot robot = (RobotSnapshot) previous.robots.get(i);
+
+		return robot.getRobotIndex() == robotIndex ? robot : null;
+	}
+
+	// Bullets keep their order from turn to turn, so the search starts after the bullet found last time
+	private int indexOfBullet(BulletSnapshot bullet, int start) {
+		final int count = bullets.size();
+
+		for (int n = 0; n < count; n++) {
+			final int i = (start + n) % count;
+
+			if (bullet.isSameBullet((BulletSnapshot) bullets.get(i))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle.snapshot;
+
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Compact binary codec for turn snapshots, used for recording battles instead of Java serialization.
+ * <p>
+ * The fields of the snapshots are written as primitive values into a reused buffer. A turn is encoded as a delta
+ * against the previous turn, so a field of a robot, bullet or score is only written when it differs from the same
+ * robot, bullet or score in the previous turn. Robot names are interned, so each name is written once.
+ * <p>
+ * A codec instance is either used for encoding or for decoding a sequence of turns. The sequence starts over with
+ * {@link #reset()}, after which the next turn is encoded in full. Decoding must start at the same turn.
+ */
+public final class TurnSnapshotCodec {
+
+	private static final Charset UTF8 = StandardCharsets.UTF_8;
+
+	private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+	private final Map<String, Integer> nameIds = new HashMap<String, Integer>();
+	private final List<String> names = new ArrayList<String>();
+
+	private TurnSnapshot previous;
+
+	/**
+	 * Starts a new sequence of turns, which does not depend on the turns before.
+	 */
+	public void reset() {
+		nameIds.clear();
+		names.clear();
+		previous = null;
+	}
+
+	/**
+	 * Encodes a turn.
+	 *
+	 * @param turn the turn snapshot to encode
+	 * @return the buffer holding the encoded turn between its position and limit. The buffer is reused by the next
+	 *         call.
+	 */
+	public ByteBuffer encode(TurnSnapshot turn) {
+		buffer.clear();
+		turn.writeBinary(this, previous);
+		buffer.flip();
+		previous = turn;
+		return buffer;
+	}
+
+	/**
+	 * Decodes a turn.
+	 *
+	 * @param source the buffer to read the encoded turn from, starting at its position
+	 * @return the decoded turn snapshot
+	 */
+	public TurnSnapshot decode(ByteBuffer source) {
+		final ByteBuffer encoded = buffer;
+
+		buffer = source;
+		try {
+			previous = TurnSnapshot.readBinary(this, previous);
+			return previous;
+		} finally {
+			buffer = encoded;
+		}
+	}
+
+	// -----------
+	// Used by the snapshots for writing and reading their fields
+	// -----------
+
+	void putInt(int value) {
+		// Zigzag encoded variable length integer, so small negative values are short too
+		int v = (value << 1) ^ (value >> 31);
+
+		ensureCapacity(5);
+		while ((v & ~0x7F) != 0) {
+			buffer.put((byte) ((v & 0x7F) | 0x80));
+			v >>>= 7;
+		}
+		buffer.put((byte) v);
+	}
+
+	int getInt() {
+		int v = 0;
+
+		for (int shift = 0;; shift += 7) {
+			final byte b = buffer.get();
+
+			v |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				break;
+			}
+		}
+		return (v >>> 1) ^ -(v & 1);
+	}
+
+	void putDouble(double value) {
+		ensureCapacity(8);
+		buffer.putDouble(value);
+	}
+
+	double getDouble() {
+		return buffer.getDouble();
+	}
+
+	void putBoolean(boolean value) {
+		ensureCapacity(1);
+		buffer.put((byte) (value ? 1 : 0));
+	}
+
+	boolean getBoolean() {
+		return buffer.get() != 0;
+	}
+
+	void putBytes(byte[] value) {
+		if (value == null) {
+			putInt(-1);
+		} else {
+			putInt(value.length);
+			ensureCapacity(value.length);
+			buffer.put(value);
+		}
+	}
+
+	byte[] getBytes() {
+		final int length = getInt();
+
+		if (length < 0) {
+			return null;
+		}
+		byte[] value = new byte[length];
+
+		buffer.get(value);
+		return value;
+	}
+
+	void putString(String value) {
+		putBytes(value == null ? null : value.getBytes(UTF8));
+	}
+
+	String getString() {
+		final byte[] bytes = getBytes();
+
+		return bytes == null ? null : new String(bytes, UTF8);
+	}
+
+	/**
+	 * Writes a string that is expected to be repeated, like a robot name, as an index into the names written before.
+	 */
+	void putName(String name) {
+		if (name == null) {
+			putInt(0);
+			return;
+		}
+		Integer id = nameIds.get(name);
+
+		if (id != null) {
+			putInt(id);
+		} else {
+			id = nameIds.size() + 1;
+			nameIds.put(name, id);
+			putInt(id);
+			putString(name);
+		}
+	}
+
+	String getName() {
+		final int id = getInt();
+
+		if (id == 0) {
+			return null;
+		}
+		if (id <= names.size()) {
+			return names.get(id - 1);
+		}
+		final String name = getString();
+
+		names.add(name);
+		return name;
+	}
+
+	static boolean differs(double value, double previous) {
+		return Double.doubleToLongBits(value) != Double.doubleToLongBits(previous);
+	}
+
+	static boolean differs(Object value, Object previous) {
+		return value == null ? previous != null : !value.equals(previous);
+	}
+
+	private void ensureCapacity(int length) {
+		if (buffer.remaining() < length) {
+			ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+
+			buffer.flip();
+			grown.put(buffer);
+			buffer = grown;
+		}
+	}
+}
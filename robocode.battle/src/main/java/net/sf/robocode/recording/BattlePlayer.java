@@ -9,6 +9,7 @@ package net.sf.robocode.recording;
 
 
 import net.sf.robocode.battle.BaseBattle;
+import net.sf.robocode.battle.Command;
 import net.sf.robocode.battle.IBattleManager;
 import net.sf.robocode.battle.events.BattleEventDispatcher;
 import net.sf.robocode.battle.snapshot.RobotSnapshot;
@@ -30,6 +31,10 @@ public final class BattlePlayer extends BaseBattle {
 	private final RecordManager recordManager;
 	private boolean[] paint;
 
+	// Round and turn to continue with after the current round, or -1
+	private int seekRound = -1;
+	private int seekTurn;
+
 	public BattlePlayer(ISettingsManager properties, IBattleManager battleManager, RecordManager recordManager, BattleEventDispatcher eventDispatcher) { // NO_UCD (unused code)
 		super(
 				properties, battleManager, eventDispatcher);
@@ -72,11 +77,17 @@ public final class BattlePlayer extends BaseBattle {
 	protected void initializeRound() {
 		super.initializeRound();
 
-		final ITurnSnapshot snapshot = recordManager.readSnapshot();
+		final ITurnSnapshot snapshot = recordManager.readSnapshot(getRoundNum(), 0);
 
 		if (snapshot != null) {
 			eventDispatcher.onRoundStarted(new RoundStartedEvent(snapshot, getRoundNum(), null));
 		}
+		if (seekRound >= 0) {
+			if (seekTurn > 0) {
+				seekTurnImpl(seekTurn);
+			}
+			seekRound = -1;
+		}
 	}
 
 	@Override
@@ -84,6 +95,11 @@ public final class BattlePlayer extends BaseBattle {
 		super.finalizeRound();
 
 		eventDispatcher.onRoundEnded(new RoundEndedEvent(getRoundNum(), getTime(), totalTurns));
+
+		if (seekRound >= 0) {
+			// The battle continues with the round after the current one
+			setRoundNum(seekRound - 1);
+		}
 	}
 
 	@Override
@@ -95,8 +111,16 @@ public final class BattlePlayer extends BaseBattle {
 
 	@Override
 	protected void finalizeTurn() {
-		final ITurnSnapshot snapshot = recordManager.readSnapshot();
+		// Only read the turn when a listener needs it, as in the battle that was recorded
+		if (seekRound < 0 && eventDispatcher.isTurnSnapshotNeeded(totalTurns)) {
+			// Reads the turn of the current time, which also works when stepping back
+			publishTurn(recordManager.readSnapshot(getRoundNum(), getTime()));
+		}
 
+		super.finalizeTurn();
+	}
+
+	private void publishTurn(ITurnSnapshot snapshot) {
 		if (snapshot != null) {
 			final IRobotSnapshot[] robots = snapshot.getRobots();
 
@@ -105,14 +129,15 @@ public final class BattlePlayer extends BaseBattle {
 
 				robot.setPaintEnabled(paint[i]);
 			}
-			eventDispatcher.onTurnEnded(new TurnEndedEvent(snapshot));
+			eventDispatcher.onTurnEnded(new TurnEndedEvent(snapshot), totalTurns);
 		}
-
-		super.finalizeTurn();
 	}
 
 	@Override
 	protected boolean isRoundOver() {
+		if (seekRound >= 0) {
+			return true;
+		}
 		final boolean end = getTime() >= recordManager.recordInfo.turnsInRounds[getRoundNum()] - 1;
 
 		if (end) {
@@ -130,6 +155,22 @@ public final class BattlePlayer extends BaseBattle {
 		recordManager.cleanupStreams();
 	}
 
+	/**
+	 * Jumps to a turn of the record. The turn is shown at once, also when the replay is paused.
+	 *
+	 * @param round the round to jump to
+	 * @param turn the turn within the round to jump to
+	 */
+	public void seek(int round, int turn) {
+		sendCommand(new SeekCommand(round, turn));
+	}
+
+	private void seekTurnImpl(int turn) {
+		totalTurns += turn - currentTime;
+		currentTime = turn;
+		publishTurn(recordManager.readSnapshot(getRoundNum(), turn));
+	}
+
 	public void setPaintEnabled(int robotIndex, boolean enable) {
 		sendCommand(new EnableRobotPaintCommand(robotIndex, enable));
 	}
@@ -146,4 +187,32 @@ public final class BattlePlayer extends BaseBattle {
 			paint[robotIndex] = enablePaint;
 		}
 	}
+
+	private class SeekCommand extends Command {
+		final int round;
+		final int turn;
+
+		SeekCommand(int round, int turn) {
+			this.round = round;
+			this.turn = turn;
+		}
+
+		public void execute() {
+			final Integer[] turnsInRounds = recordManager.recordInfo.turnsInRounds;
+
+			if (round < 0 || round >= turnsInRounds.length || turnsInRounds[round] == 0) {
+				return;
+			}
+			final int lastTurn = turnsInRounds[round] - 1;
+			final int seekTurn = Math.max(0, Math.min(turn, lastTurn));
+
+			if (round == getRoundNum()) {
+				seekTurnImpl(seekTurn);
+			} else {
+				BattlePlayer.this.seekRound = round;
+				BattlePlayer.this.seekTurn = seekTurn;
+				endRound();
+			}
+		}
+	}
 }
@@ -132,6 +132,10 @@ class BattleRecorder {
 				} else if (properties.getOptionsCommonRecordingFormat().equalsIgnoreCase("csv")) {
 					recordmanager.saveRecord(name.toString(), BattleRecordFormat.CSV,
 							new SerializableOptions(true));
+				} else if (properties.getOptionsCommonRecordingFormat().equalsIgnoreCase("indexed")) {
+					name.append(".idx.br");
+					recordmanager.saveRecord(name.toString(), BattleRecordFormat.BINARY_INDEXED,
+							new SerializableOptions(true));
 				} else {
 					name.append(".zip.br");
 					recordmanager.saveRecord(name.toString(), BattleRecordFormat.BINARY_ZIP,
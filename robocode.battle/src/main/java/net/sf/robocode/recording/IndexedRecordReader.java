@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.recording;
+
+
+import net.sf.robocode.battle.snapshot.TurnSnapshotCodec;
+import robocode.control.snapshot.ITurnSnapshot;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+
+/**
+ * Reads turns from the blocks of an indexed battle record written by {@link IndexedRecordWriter}.
+ * Any turn can be read directly, as only the block holding the turn has to be decoded. Reading the turns in order
+ * decodes each block once.
+ */
+final class IndexedRecordReader implements Closeable {
+
+	private final RandomAccessFile file;
+	private final FileChannel channel;
+	private final ByteBuffer mapped;
+	private final List<RecordBlock> blocks;
+	private final BattleRecordInfo recordInfo;
+
+	private final TurnSnapshotCodec codec = new TurnSnapshotCodec();
+
+	private RecordBlock currentBlock;
+	private ITurnSnapshot[] currentTurns;
+	private Inflater inflater;
+
+	private IndexedRecordReader(File file, List<RecordBlock> blocks, BattleRecordInfo recordInfo, boolean map) throws IOException {
+		this.file = new RandomAccessFile(file, "r");
+		this.channel = this.file.getChannel();
+
+		final long size = channel.size();
+
+		// Files larger than 2 GB cannot be mapped into a single buffer, so those are read from the channel instead
+		this.mapped = map && size <= Integer.MAX_VALUE ? channel.map(FileChannel.MapMode.READ_ONLY, 0, size) : null;
+
+		if (blocks == null) {
+			try {
+				this.recordInfo = readFooter(blocks = new ArrayList<RecordBlock>(), size);
+			} catch (IOException e) {
+				close();
+				throw e;
+			}
+		} else {
+			this.recordInfo = recordInfo;
+		}
+		this.blocks = blocks;
+	}
+
+	/**
+	 * Opens a complete record file, which is memory-mapped if possible.
+	 *
+	 * @param file the record file
+	 * @return a reader for the record
+	 * @throws IOException if the file is not an indexed battle record or could not be read
+	 */
+	static IndexedRecordReader open(File file) throws IOException {
+		return new IndexedRecordReader(file, null, null, true);
+	}
+
+	/**
+	 * Opens a record file without a footer, where the block index is known by the caller.
+	 *
+	 * @param file the record file
+	 * @param blocks the index of the blocks in the file
+	 * @return a reader for the record
+	 * @throws IOException if the file could not be opened
+	 */
+	static IndexedRecordReader open(File file, List<RecordBlock> blocks) throws IOException {
+		return new IndexedRecordReader(file, blocks, null, false);
+	}
+
+	/**
+	 * Checks if a file starts like an indexed battle record.
+	 *
+	 * @param file the file to check
+	 * @return true if the file is an indexed battle record; false otherwise
+	 */
+	static boolean isIndexedRecord(File file) {
+		DataInputStream in = null;
+
+		try {
+			in = new DataInputStream(new FileInputStream(file));
+			return in.readInt() == IndexedRecordWriter.MAGIC;
+		} catch (IOException e) {
+			return false;
+		} finally {
+			if (in != null) {
+				try {
+					in.close();
+				} catch (IOException ignore) {}
+			}
+		}
+	}
+
+	/**
+	 * Returns the record info stored in the footer of the record file.
+	 *
+	 * @return the record info, or null if the file was opened with a block index
+	 */
+	BattleRecordInfo getRecordInfo() {
+		return recordInfo;
+	}
+
+	List<RecordBlock> getBlocks() {
+		return blocks;
+	}
+
+	/**
+	 * Reads a turn.
+	 *
+	 * @param round the round of the turn
+	 * @param turn the turn number within the round
+	 * @return the turn snapshot, or null if the record does not contain the turn
+	 * @throws IOException if the turn could not be read
+	 */
+	ITurnSnapshot readTurn(int round, int turn) throws IOException {
+		if (currentBlock == null || !currentBlock.contains(round, turn)) {
+			RecordBlock block = findBlock(round, turn);
+
+			if (block == null) {
+				return null;
+			}
+			currentTurns = readBlock(block);
+			currentBlock = block;
+		}
+		return currentTurns[turn - currentBlock.firstTurn];
+	}
+
+	public void close() throws IOException {
+		currentBlock = null;
+		currentTurns = null;
+		if (inflater != null) {
+			inflater.end();
+			inflater = null;
+		}
+		file.close();
+	}
+
+	private RecordBlock findBlock(int round, int turn) {
+		// Blocks are ordered by round and turn
+		int low = 0;
+		int high = blocks.size() - 1;
+
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			final RecordBlock block = blocks.get(mid);
+
+			if (block.round < round || (block.round == round && block.firstTurn + block.turnCount <= turn)) {
+				low = mid + 1;
+			} else if (block.round > round || block.firstTurn > turn) {
+				high = mid - 1;
+			} else {
+				return block;
+			}
+		}
+		return null;
+	}
+
+	private ITurnSnapshot[] readBlock(RecordBlock block) throws IOException {
+		byte[] raw = read(block.offset, block.storedLength);
+
+		if (block.compressed) {
+			raw = inflate(raw, block.rawLength);
+		}
+		final ByteBuffer encoded = ByteBuffer.wrap(raw);
+		ITurnSnapshot[] turns = new ITurnSnapshot[block.turnCount];
+
+		codec.reset();
+		try {
+			for (int i = 0; i < turns.length; i++) {
+				turns[i] = codec.decode(encoded);
+			}
+		} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw new IOException("Corrupt block in indexed battle record", e);
+		}
+		return turns;
+	}
+
+	private BattleRecordInfo readFooter(List<RecordBlock> blocks, long size) throws IOException {
+		if (size < IndexedRecordWriter.HEADER_LENGTH + IndexedRecordWriter.TRAILER_LENGTH) {
+			throw new IOException("Not an indexed battle record");
+		}
+		DataInputStream header = new DataInputStream(new ByteArrayInputStream(read(0, IndexedRecordWriter.HEADER_LENGTH)));
+
+		if (header.readInt() != IndexedRecordWriter.MAGIC) {
+			throw new IOException("Not an indexed battle record");
+		}
+		if (header.readInt() != IndexedRecordWriter.VERSION) {
+			throw new IOException("Unsupported version of indexed battle record");
+		}
+
+		final long trailerOffset = size - IndexedRecordWriter.TRAILER_LENGTH;
+		DataInputStream trailer = new DataInputStream(
+				new ByteArrayInputStream(read(trailerOffset, IndexedRecordWriter.TRAILER_LENGTH)));
+		final long footerOffset = trailer.readLong();
+
+		if (trailer.readInt() != IndexedRecordWriter.MAGIC || footerOffset < IndexedRecordWriter.HEADER_LENGTH
+				|| footerOffset > trailerOffset) {
+			throw new IOException("Indexed battle record is incomplete");
+		}
+		DataInputStream footer = new DataInputStream(
+				new ByteArrayInputStream(read(footerOffset, (int) (trailerOffset - footerOffset))));
+
+		final int blockCount = footer.readInt();
+
+		for (int i = 0; i < blockCount; i++) {
+			blocks.add(new RecordBlock(footer.readInt(), footer.readInt(), footer.readInt(), footer.readLong(),
+					footer.readInt(), footer.readInt(), footer.readBoolean()));
+		}
+
+		byte[] info = new byte[footer.readInt()];
+
+		footer.readFully(info);
+
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(info));
+
+		try {
+			return (BattleRecordInfo) in.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException("Could not read record info", e);
+		} finally {
+			in.close();
+		}
+	}
+
+	private byte[] read(long offset, int length) throws IOException {
+		byte[] bytes = new byte[length];
+
+		if (mapped != null) {
+			ByteBuffer slice = mapped.duplicate();
+
+			slice.position((int) offset);
+			slice.get(bytes);
+		} else {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer, offset + buffer.position()) < 0) {
+					throw new EOFException();
+				}
+			}
+		}
+		return bytes;
+	}
+
+	private byte[] inflate(byte[] stored, int rawLength) throws IOException {
+		if (inflater == null) {
+			inflater = new Inflater();
+		}
+		inflater.reset();
+		inflater.setInput(stored);
+
+		byte[] raw = new byte[rawLength];
+
+		try {
+			int length = 0;
+
+			while (length < rawLength && !inflater.finished()) {
+				int count = inflater.inflate(raw, length, rawLength - length);
+
+				if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				length += count;
+			}
+			if (length != rawLength) {
+				throw new IOException("Corrupt block in indexed battle record");
+			}
+		} catch (DataFormatException e) {
+			throw new IOException("Corrupt block in indexed battle record", e);
+		}
+		return raw;
+	}
+}
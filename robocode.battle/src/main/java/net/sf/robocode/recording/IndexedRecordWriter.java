@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.recording;
+
+
+import net.sf.robocode.battle.snapshot.TurnSnapshot;
+import net.sf.robocode.battle.snapshot.TurnSnapshotCodec;
+import robocode.control.snapshot.ITurnSnapshot;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.Deflater;
+
+
+/**
+ * Writes turns into blocks of an indexed battle record, see {@link BattleRecordFormat#BINARY_INDEXED}.
+ * <p>
+ * The file starts with a header, followed by the blocks of turns. Each block holds up to {@link #TURNS_PER_BLOCK}
+ * consecutive turns of one round encoded with a {@link TurnSnapshotCodec}, and is optionally compressed on its own.
+ * The codec starts over for each block, so a block can be decoded without the blocks before it, at the cost of
+ * writing the first turn and the robot names of each block in full. A record file ends with a footer holding
+ * the block index and the {@link BattleRecordInfo}, and a trailer with the position of the footer:
+ * <pre>
+ * header:  int MAGIC, int VERSION
+ * blocks:  byte[] turns ...
+ * footer:  int blockCount, (int round, int firstTurn, int turnCount, long offset, int storedLength,
+ *          int rawLength, boolean compressed) ..., int infoLength, byte[] info
+ * trailer: long footerOffset, int MAGIC
+ * </pre>
+ * The temporary file of the {@link RecordManager} is written without a footer, as the index is kept in memory.
+ */
+final class IndexedRecordWriter implements Closeable {
+	static final int MAGIC = 0x52434249; // "RCBI"
+	static final int VERSION = 2;
+	static final int HEADER_LENGTH = 8;
+	static final int TRAILER_LENGTH = 12;
+
+	static final int TURNS_PER_BLOCK = 128;
+
+	private final DataOutputStream out;
+	private final boolean compress;
+	private final List<RecordBlock> blocks = new ArrayList<RecordBlock>();
+
+	private final TurnSnapshotCodec codec = new TurnSnapshotCodec();
+	private final ByteArrayOutputStream blockBuffer = new ByteArrayOutputStream(64 * 1024);
+	private Deflater deflater;
+	private byte[] deflateBuffer;
+
+	private long position;
+	private int blockRound;
+	private int blockFirstTurn;
+	private int blockTurns;
+
+	/**
+	 * Creates a new record file.
+	 *
+	 * @param file the file to write
+	 * @param compress true if the blocks must be compressed; false to store them as they are, which is faster
+	 * @throws IOException if the file could not be created
+	 */
+	IndexedRecordWriter(File file, boolean compress) throws IOException {
+		this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1024 * 1024));
+		this.compress = compress;
+
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		position = HEADER_LENGTH;
+	}
+
+	/**
+	 * Writes a turn. The turns of a round must be written in order.
+	 *
+	 * @param turn the turn snapshot, which must be a {@link TurnSnapshot}
+	 * @param round the round of the turn
+	 * @param time the turn number within the round
+	 * @throws IOException if the turn could not be written
+	 */
+	void writeTurn(ITurnSnapshot turn, int round, int time) throws IOException {
+		if (blockTurns > 0 && (round != blockRound || time != blockFirstTurn + blockTurns || blockTurns >= TURNS_PER_BLOCK)) {
+			writeBlock();
+		}
+		if (blockTurns == 0) {
+			blockRound = round;
+			blockFirstTurn = time;
+			blockBuffer.reset();
+			codec.reset();
+		}
+		final ByteBuffer encoded = codec.encode((TurnSnapshot) turn);
+
+		blockBuffer.write(encoded.array(), encoded.arrayOffset() + encoded.position(), encoded.remaining());
+		blockTurns++;
+	}
+
+	/**
+	 * Writes the turns of the unfinished block, so they can be read.
+	 *
+	 * @throws IOException if the turns could not be written
+	 */
+	void flush() throws IOException {
+		if (blockTurns > 0) {
+			writeBlock();
+		}
+		out.flush();
+	}
+
+	/**
+	 * Writes the footer that makes the file a complete record.
+	 *
+	 * @param recordInfo the record info to store with the record
+	 * @throws IOException if the footer could not be written
+	 */
+	void writeFooter(BattleRecordInfo recordInfo) throws IOException {
+		flush();
+
+		final long footerOffset = position;
+
+		out.writeInt(blocks.size());
+		for (RecordBlock block : blocks) {
+			out.writeInt(block.round);
+			out.writeInt(block.firstTurn);
+			out.writeInt(block.turnCount);
+			out.writeLong(block.offset);
+			out.writeInt(block.storedLength);
+			out.writeInt(block.rawLength);
+			out.writeBoolean(block.compressed);
+		}
+
+		ByteArrayOutputStream info = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(info);
+
+		oos.writeObject(recordInfo);
+		oos.close();
+
+		out.writeInt(info.size());
+		info.writeTo(out);
+
+		out.writeLong(footerOffset);
+		out.writeInt(MAGIC);
+		out.flush();
+	}
+
+	/**
+	 * Returns the index of the blocks written so far.
+	 *
+	 * @return the block index
+	 */
+	List<RecordBlock> getBlocks() {
+		return Collections.unmodifiableList(new ArrayList<RecordBlock>(blocks));
+	}
+
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			out.close();
+			if (deflater != null) {
+				deflater.end();
+			}
+		}
+	}
+
+	private void writeBlock() throws IOException {
+		final byte[] raw = blockBuffer.toByteArray();
+		final int rawLength = raw.length;
+
+		byte[] stored = raw;
+		int storedLength = rawLength;
+		boolean compressed = false;
+
+		if (compress) {
+			int length = deflate(raw);
+
+			if (length < rawLength) {
+				stored = deflateBuffer;
+				storedLength = length;
+				compressed = true;
+			}
+		}
+		out.write(stored, 0, storedLength);
+
+		blocks.add(new RecordBlock(blockRound, blockFirstTurn, blockTurns, position, storedLength, rawLength, compressed));
+		position += storedLength;
+
+		blockTurns = 0;
+	}
+
+	// Returns the compressed length, or the raw length if the data does not compress
+	private int deflate(byte[] raw) {
+		if (deflater == null) {
+			deflater = new Deflater(Deflater.BEST_SPEED);
+		}
+		if (deflateBuffer == null || deflateBuffer.length < raw.length) {
+			deflateBuffer = new byte[raw.length];
+		}
+		deflater.reset();
+		deflater.setInput(raw);
+		deflater.finish();
+
+		int length = 0;
+
+		while (!deflater.finished() && length < raw.length) {
+			length += deflater.deflate(deflateBuffer, length, raw.length - length);
+		}
+		return deflater.finished() ? length : raw.length;
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.recording;
+
+
+/**
+ * Index entry of a block of turns in an indexed battle record.
+ * A block holds consecutive turns of a single round, and can be read without reading any other block.
+ */
+final class RecordBlock {
+	final int round;
+	final int firstTurn;
+	final int turnCount;
+	final long offset;
+	final int storedLength;
+	final int rawLength;
+	final boolean compressed;
+
+	RecordBlock(int round, int firstTurn, int turnCount, long offset, int storedLength, int rawLength, boolean compressed) {
+		this.round = round;
+		this.firstTurn = firstTurn;
+		this.turnCount = turnCount;
+		this.offset = offset;
+		this.storedLength = storedLength;
+		this.rawLength = rawLength;
+		this.compressed = compressed;
+	}
+
+	boolean contains(int round, int turn) {
+		return this.round == round && turn >= firstTurn && turn < firstTurn + turnCount;
+	}
+}
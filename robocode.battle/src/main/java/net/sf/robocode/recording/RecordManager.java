@@ -27,8 +27,12 @@ import robocode.control.snapshot.ITurnSnapshot;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.List;
@@ -55,13 +59,13 @@ public class RecordManager implements IRecordManager {
     protected final IVersionManager versionManager;
 
     protected BattleRecordInfo recordInfo;
-    private FileOutputStream fileWriteStream;
-    private BufferedOutputStream bufferedWriteStream;
-    private ObjectOutputStream objectWriteStream;
 
-    private FileInputStream fileReadStream;
-    private BufferedInputStream bufferedReadStream;
-    private ObjectInputStream objectReadStream;
+    // The turns are stored in the temp file, or in the copy of a loaded indexed record file
+    private File turnsFile;
+    private File loadedFile;
+    private List<RecordBlock> turnsBlocks;
+    private IndexedRecordWriter turnsWriter;
+    private IndexedRecordReader turnsReader;
 
     public RecordManager(ISettingsManager properties, IVersionManager versionManager) { // NO_UCD (unused code)
         this.properties = properties;
@@ -79,6 +83,9 @@ public class RecordManager implements IRecordManager {
 
     private void cleanup() {
         cleanupStreams();
+        deleteLoadedFile();
+        turnsFile = null;
+        turnsBlocks = null;
         if (tempFile != null && tempFile.exists()) {
             if (!tempFile.delete()) {
                 Logger.logError("Could not delete temp file");
@@ -89,19 +96,40 @@ public class RecordManager implements IRecordManager {
     }
 
     void cleanupStreams() {
-        FileUtil.cleanupStream(objectWriteStream);
-        objectWriteStream = null;
-        FileUtil.cleanupStream(bufferedWriteStream);
-        bufferedWriteStream = null;
-        FileUtil.cleanupStream(fileWriteStream);
-        fileWriteStream = null;
-
-        FileUtil.cleanupStream(objectReadStream);
-        objectReadStream = null;
-        FileUtil.cleanupStream(bufferedReadStream);
-        bufferedReadStream = null;
-        FileUtil.cleanupStream(fileReadStream);
-        fileReadStream = null;
+        if (turnsWriter != null) {
+            closeTurnsWriter();
+        }
+        FileUtil.cleanupStream(turnsReader);
+        turnsReader = null;
+    }
+
+    private void openTurnsWriter() throws IOException {
+        turnsFile = tempFile;
+        turnsBlocks = null;
+        // The temp file is not compressed, as recording must be fast
+        turnsWriter = new IndexedRecordWriter(tempFile, false);
+    }
+
+    private void closeTurnsWriter() {
+        try {
+            turnsWriter.close();
+        } catch (IOException e) {
+            logError(e);
+        }
+        turnsBlocks = turnsWriter.getBlocks();
+        turnsWriter = null;
+    }
+
+    private IndexedRecordReader openTurnsReader() throws IOException {
+        if (turnsWriter != null) {
+            // Make the turns recorded so far readable
+            turnsWriter.flush();
+            return IndexedRecordReader.open(turnsFile, turnsWriter.getBlocks());
+        }
+        if (turnsBlocks == null) {
+            return IndexedRecordReader.open(turnsFile);
+        }
+        return IndexedRecordReader.open(turnsFile, turnsBlocks);
     }
 
     public void attachRecorder(BattleEventDispatcher battleEventDispatcher) {
@@ -135,25 +163,28 @@ public class RecordManager implements IRecordManager {
     }
 
     void prepareInputStream() {
+        FileUtil.cleanupStream(turnsReader);
         try {
-            fileReadStream = new FileInputStream(tempFile);
-            bufferedReadStream = new BufferedInputStream(fileReadStream);
-            objectReadStream = new ObjectInputStream(bufferedReadStream);
+            turnsReader = openTurnsReader();
         } catch (IOException e) {
             logError(e);
-            fileReadStream = null;
-            bufferedReadStream = null;
-            objectReadStream = null;
+            turnsReader = null;
         }
     }
 
-    ITurnSnapshot readSnapshot() {
-        if (objectReadStream == null) {
+    /**
+     * Reads a turn of the record. Turns can be read in any order, but reading them in order is the fastest.
+     *
+     * @param round the round of the turn
+     * @param turn the turn number within the round
+     * @return the turn snapshot, or null if the turn could not be read
+     */
+    ITurnSnapshot readSnapshot(int round, int turn) {
+        if (turnsReader == null) {
             return null;
         }
         try {
-            // TODO implement seek to currentTime, warn you. turns don't have same size in bytes
-            return (ITurnSnapshot) objectReadStream.readObject();
+            return turnsReader.readTurn(round, turn);
         } catch (Exception e) {
             logError(e);
             return null;
@@ -167,12 +198,19 @@ public class RecordManager implements IRecordManager {
         ObjectInputStream ois = null;
         InputStream xis = null;
 
-        FileOutputStream fos = null;
-        BufferedOutputStream bos = null;
-        ObjectOutputStream oos = null;
+        cleanupStreams();
+        deleteLoadedFile();
+
+        if (format == BattleRecordFormat.BINARY_INDEXED
+                || ((format == BattleRecordFormat.BINARY || format == BattleRecordFormat.BINARY_ZIP)
+                && IndexedRecordReader.isIndexedRecord(new File(recordFilename)))) {
+            loadIndexedRecord(recordFilename);
+            return;
+        }
 
         try {
             createTempFile();
+            openTurnsWriter();
             fis = new FileInputStream(recordFilename);
             bis = new BufferedInputStream(fis, 1024 * 1024);
 
@@ -192,16 +230,12 @@ public class RecordManager implements IRecordManager {
             if (format == BattleRecordFormat.BINARY || format == BattleRecordFormat.BINARY_ZIP) {
                 recordInfo = (BattleRecordInfo) ois.readObject();
                 if (recordInfo.turnsInRounds != null) {
-                    fos = new FileOutputStream(tempFile);
-                    bos = new BufferedOutputStream(fos, 1024 * 1024);
-                    oos = new ObjectOutputStream(bos);
-
                     for (int i = 0; i < recordInfo.turnsInRounds.length; i++) {
-                        for (int j = recordInfo.turnsInRounds[i] - 1; j >= 0; j--) {
+                        for (int j = 0; j < recordInfo.turnsInRounds[i]; j++) {
                             try {
                                 ITurnSnapshot turn = (ITurnSnapshot) ois.readObject();
 
-                                oos.writeObject(turn);
+                                turnsWriter.writeTurn(turn, i, j);
                             } catch (ClassNotFoundException e) {
                                 logError(e);
                             }
@@ -211,9 +245,7 @@ public class RecordManager implements IRecordManager {
             } else {
                 final RecordRoot root = new RecordRoot();
 
-                fos = new FileOutputStream(tempFile);
-                bos = new BufferedOutputStream(fos, 1024 * 1024);
-                root.oos = new ObjectOutputStream(bos);
+                root.writer = turnsWriter;
                 XmlReader.deserialize(xis, root);
                 if (root.lastException != null) {
                     logError(root.lastException);
@@ -222,6 +254,7 @@ public class RecordManager implements IRecordManager {
             }
         } catch (IOException e) {
             logError(e);
+            cleanupStreams();
             createTempFile();
             recordInfo = null;
         } catch (ClassNotFoundException e) {
@@ -230,12 +263,13 @@ public class RecordManager implements IRecordManager {
             } else {
                 logError(e);
             }
+            cleanupStreams();
             createTempFile();
             recordInfo = null;
         } finally {
-            FileUtil.cleanupStream(oos);
-            FileUtil.cleanupStream(bos);
-            FileUtil.cleanupStream(fos);
+            if (turnsWriter != null) {
+                closeTurnsWriter();
+            }
             FileUtil.cleanupStream(ois);
             FileUtil.cleanupStream(zis);
             FileUtil.cleanupStream(bis);
@@ -249,7 +283,7 @@ public class RecordManager implements IRecordManager {
             me = this;
         }
 
-        public ObjectOutputStream oos;
+        public IndexedRecordWriter writer;
         public IOException lastException;
         public final RecordRoot me;
         public BattleRecordInfo recordInfo;
@@ -281,7 +315,9 @@ public class RecordManager implements IRecordManager {
 
                     public void add(IXmlSerializable child) {
                         try {
-                            me.oos.writeObject(child);
+                            final TurnSnapshot snapshot = (TurnSnapshot) child;
+
+                            me.writer.writeTurn(snapshot, snapshot.getRound(), snapshot.getTurn());
                         } catch (IOException e) {
                             me.lastException = e;
                         }
@@ -302,6 +338,8 @@ public class RecordManager implements IRecordManager {
         }
         if (format == BattleRecordFormat.BINARY_ZIP || format == BattleRecordFormat.BINARY) {
             saveBinRecord(recordFilename, format, options);
+        } else if (format == BattleRecordFormat.BINARY_INDEXED) {
+            saveIndexedRecord(recordFilename, options);
         } else if (format == BattleRecordFormat.XML_ZIP || format == BattleRecordFormat.XML) {
             saveXmlRecord(recordFilename, format, options);
         } else if (format == BattleRecordFormat.CSV) {
@@ -342,6 +380,80 @@ public class RecordManager implements IRecordManager {
         }
     }
 
+    private void loadIndexedRecord(String recordFilename) {
+        try {
+            // The record is copied, as a mapped file cannot be replaced on all platforms until the mapping is garbage
+            // collected, and the record file could be replaced when the record is saved. There is nothing to convert.
+            loadedFile = createLoadedFile();
+            Files.copy(new File(recordFilename).toPath(), loadedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            turnsReader = IndexedRecordReader.open(loadedFile);
+            turnsFile = loadedFile;
+            turnsBlocks = turnsReader.getBlocks();
+            recordInfo = turnsReader.getRecordInfo();
+        } catch (IOException e) {
+            logError(e);
+            cleanupStreams();
+            deleteLoadedFile();
+            turnsFile = null;
+            turnsBlocks = null;
+            recordInfo = null;
+        }
+    }
+
+    private void saveIndexedRecord(String recordFilename, SerializableOptions options) {
+        final File recordFile = new File(recordFilename);
+        // Written next to the record file first, so that an existing record file is replaced at once
+        final File writeFile = new File(recordFilename + ".tmp");
+
+        try {
+            IndexedRecordWriter writer = new IndexedRecordWriter(writeFile, true);
+
+            try {
+                provideTurns((turn) -> {
+                    TurnSnapshot t = (TurnSnapshot) turn;
+                    t.stripDetails(options);
+                    writer.writeTurn(t, t.getRound(), t.getTurn());
+                });
+                writer.writeFooter(recordInfo);
+            } finally {
+                writer.close();
+            }
+            Files.move(writeFile.toPath(), recordFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | ClassNotFoundException e) {
+            logError(e);
+            if (writeFile.exists() && !writeFile.delete()) {
+                logError("Could not delete " + writeFile);
+            }
+        }
+    }
+
+    private static File createLoadedFile() throws IOException {
+        try {
+            return AccessController.doPrivileged((PrivilegedExceptionAction<File>) () -> {
+                File file = File.createTempFile("robocode-battle-record", ".br");
+
+                file.deleteOnExit();
+                return file;
+            });
+        } catch (PrivilegedActionException e) {
+            throw (IOException) e.getException();
+        }
+    }
+
+    private void deleteLoadedFile() {
+        if (loadedFile != null) {
+            if (turnsFile == loadedFile) {
+                cleanupStreams();
+                turnsFile = null;
+                turnsBlocks = null;
+            }
+            // A file that is still mapped cannot be deleted on all platforms, so it is then deleted on exit
+            loadedFile.delete();
+            loadedFile = null;
+        }
+    }
+
     private void saveXmlRecord(String recordFilename, BattleRecordFormat format, SerializableOptions options) {
         if (recordInfo.turnsInRounds == null) {
             return;
@@ -570,21 +682,17 @@ public class RecordManager implements IRecordManager {
 
     @Override
     public void provideTurns(CheckedConsumer<ITurnSnapshot> writeTurn) throws IOException, ClassNotFoundException {
-        FileInputStream fis = null;
-        BufferedInputStream bis = null;
-        ObjectInputStream ois = null;
+        IndexedRecordReader reader = null;
 
         try {
-            fis = new FileInputStream(tempFile);
-            bis = new BufferedInputStream(fis, 1024 * 1024);
-            ois = new ObjectInputStream(bis);
+            reader = openTurnsReader();
 
             for (int i = 0; i < recordInfo.turnsInRounds.length; i++) {
                 if (recordInfo.turnsInRounds[i] > 0) {
                     for (int j = 0; j <= recordInfo.turnsInRounds[i] - 1; j++) {
-                        TurnSnapshot turn = (TurnSnapshot) ois.readObject();
+                        TurnSnapshot turn = (TurnSnapshot) reader.readTurn(i, j);
 
-                        if (j != turn.getTurn()) {
+                        if (turn == null || j != turn.getTurn()) {
                             throw new Error("Something rotten");
                         }
 
@@ -594,9 +702,7 @@ public class RecordManager implements IRecordManager {
             }
 
         } finally {
-            FileUtil.cleanupStream(ois);
-            FileUtil.cleanupStream(bis);
-            FileUtil.cleanupStream(fis);
+            FileUtil.cleanupStream(reader);
         }
     }
 
@@ -604,13 +710,19 @@ public class RecordManager implements IRecordManager {
         return recordInfo != null;
     }
 
+    public int getTurnsInRound(int round) {
+        if (recordInfo == null || recordInfo.turnsInRounds == null
+                || round < 0 || round >= recordInfo.turnsInRounds.length) {
+            return 0;
+        }
+        return recordInfo.turnsInRounds[round];
+    }
+
     void createRecordInfo(BattleRules rules, int numRobots, UUID battleId) {
+        deleteLoadedFile();
         try {
             createTempFile();
-
-            fileWriteStream = new FileOutputStream(tempFile);
-            bufferedWriteStream = new BufferedOutputStream(fileWriteStream, 1024 * 1024);
-            objectWriteStream = new ObjectOutputStream(bufferedWriteStream);
+            openTurnsWriter();
         } catch (IOException e) {
             logError(e);
         }
@@ -634,12 +746,9 @@ public class RecordManager implements IRecordManager {
             if (time != recordInfo.turnsInRounds[round]) {
                 throw new Error("Something rotten");
             }
-            if (time == 0) {
-                objectWriteStream.reset();
-            }
             recordInfo.turnsInRounds[round]++;
             recordInfo.roundsCount = round + 1;
-            objectWriteStream.writeObject(turn);
+            turnsWriter.writeTurn(turn, round, time);
         } catch (IOException e) {
             logError(e);
         }
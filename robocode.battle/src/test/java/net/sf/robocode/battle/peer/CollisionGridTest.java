@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle.peer;
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.Set;
+
+
+/**
+ * Checks that the collision grid finds every item with bounds overlapping the searched bounds, as found when all
+ * items are checked, also when the items are moved around and outside the battlefield.
+ */
+public class CollisionGridTest {
+
+	private static final int ITEMS = 200;
+	private static final int MOVES = 200000;
+
+	private final Object[] items = new Object[ITEMS];
+	private final double[][] bounds = new double[ITEMS][];
+
+	@Test
+	public void findsAllOverlappingItems() {
+		Random random = new Random(1234);
+		CollisionGrid<Object> grid = new CollisionGrid<Object>(800, 600, 64);
+
+		for (int i = 0; i < ITEMS; i++) {
+			items[i] = new Object();
+			bounds[i] = randomBounds(random);
+			grid.put(items[i], bounds[i][0], bounds[i][1], bounds[i][2], bounds[i][3]);
+		}
+		for (int move = 0; move < MOVES; move++) {
+			int i = random.nextInt(ITEMS);
+
+			bounds[i] = randomBounds(random);
+			grid.put(items[i], bounds[i][0], bounds[i][1], bounds[i][2], bounds[i][3]);
+
+			double[] searched = randomBounds(random);
+			Set<Object> found = grid.find(searched[0], searched[1], searched[2], searched[3]);
+
+			for (int j = 0; j < ITEMS; j++) {
+				if (overlap(bounds[j], searched)) {
+					Assert.assertTrue("Overlapping item not found at move " + move, found.contains(items[j]));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void clearsAllItems() {
+		CollisionGrid<Object> grid = new CollisionGrid<Object>(800, 600, 64);
+		Object item = new Object();
+
+		grid.put(item, 10, 10, 200, 200);
+		grid.put(item, 500, 500, 520, 520);
+		Assert.assertFalse(grid.find(0, 0, 300, 300).contains(item));
+		Assert.assertTrue(grid.find(510, 510, 510, 510).contains(item));
+
+		grid.clear();
+		Assert.assertTrue(grid.find(-1000, -1000, 2000, 2000).isEmpty());
+	}
+
+	// Bounds which may be outside the battlefield, and which may be points
+	private static double[] randomBounds(Random random) {
+		double x = random.nextDouble() * 1000 - 100;
+		double y = random.nextDouble() * 800 - 100;
+		double width = random.nextInt(4) == 0 ? 0 : random.nextDouble() * 40;
+		double height = random.nextInt(4) == 0 ? 0 : random.nextDouble() * 40;
+
+		return new double[] { x, y, x + width, y + height };
+	}
+
+	// Bounds touching at an edge overlap, as the exact collision tests accept these
+	private static boolean overlap(double[] a, double[] b) {
+		return a[0] <= b[2] && a[2] >= b[0] && a[1] <= b[3] && a[3] >= b[1];
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle.peer;
+
+
+import net.sf.robocode.battle.BoundingRectangle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import robocode.Rules;
+import robocode.util.Utils;
+
+import java.awt.geom.Arc2D;
+import java.util.Random;
+
+
+/**
+ * Checks that the radar sweep test gives the same result as the Arc2D based scan test.
+ */
+public class ScanSectorTest {
+
+	private static final int CONFIGURATIONS = 2000000;
+
+	private final Arc2D arc = new Arc2D.Double();
+	private final ScanSector sector = new ScanSector();
+	private final BoundingRectangle box = new BoundingRectangle();
+
+	@Test
+	public void sameAsArc2DForRandomScans() {
+		Random random = new Random(1234);
+		int scanned = 0;
+
+		for (int i = 0; i < CONFIGURATIONS; i++) {
+			double x = random.nextDouble() * 5000;
+			double y = random.nextDouble() * 5000;
+
+			double scanRadians;
+
+			switch (random.nextInt(4)) {
+			case 0: // radar not turned, but robot moved
+				scanRadians = 0;
+				break;
+
+			case 1:
+				scanRadians = (2 * random.nextDouble() - 1) * Math.PI;
+				break;
+
+			case 2: // Rules.RADAR_TURN_RATE_RADIANS + gun + body turn rates
+				scanRadians = (2 * random.nextDouble() - 1) * Math.PI / 4;
+				break;
+
+			default:
+				scanRadians = (2 * random.nextDouble() - 1) * 0.01;
+			}
+
+			double distance = random.nextInt(4) == 0
+					? Rules.RADAR_SCAN_RADIUS + (2 * random.nextDouble() - 1) * 30
+					: random.nextDouble() * (Rules.RADAR_SCAN_RADIUS + 100);
+			double bearing = random.nextDouble() * 2 * Math.PI;
+
+			setScan(x, y, random.nextDouble() * 2 * Math.PI, scanRadians);
+			setRobot(x + Math.sin(bearing) * distance, y + Math.cos(bearing) * distance);
+
+			boolean expected = ScanSector.intersects(arc, box);
+
+			if (expected) {
+				scanned++;
+			}
+			Assert.assertEquals("Configuration " + i, expected, sector.intersects(box));
+		}
+		Assert.assertTrue(scanned > CONFIGURATIONS / 20);
+	}
+
+	@Test
+	public void robotOnStartLineOfUnturnedRadar() {
+		setScan(400, 300, 0, 0);
+
+		setRobot(400, 800);
+		Assert.assertTrue(sector.intersects(box));
+
+		setRobot(400, 300 - 100);
+		Assert.assertFalse(sector.intersects(box));
+	}
+
+	@Test
+	public void robotOutsideScanRadius() {
+		setScan(0, 0, Math.PI / 4, Math.PI / 4);
+
+		setRobot(1000, 1000);
+		Assert.assertFalse(sector.intersects(box));
+
+		setRobot(500, 500);
+		Assert.assertTrue(sector.intersects(box));
+	}
+
+	@Test
+	public void robotOnEitherSideOfScan() {
+		setScan(1000, 1000, 0, Math.PI / 2);
+
+		setRobot(1500, 1500); // north-east, inside the sweep
+		Assert.assertTrue(sector.intersects(box));
+
+		setRobot(500, 1500); // north-west, behind the sweep
+		Assert.assertFalse(sector.intersects(box));
+
+		setScan(1000, 1000, 0, -Math.PI / 2);
+		Assert.assertTrue(sector.intersects(box));
+	}
+
+	// Same arc as set up by RobotPeer.scan()
+	private void setScan(double x, double y, double lastRadarHeading, double scanRadians) {
+		double startAngle = Utils.normalAbsoluteAngle(lastRadarHeading - Math.PI / 2);
+
+		arc.setArc(x - Rules.RADAR_SCAN_RADIUS, y - Rules.RADAR_SCAN_RADIUS, 2 * Rules.RADAR_SCAN_RADIUS,
+				2 * Rules.RADAR_SCAN_RADIUS, 180.0 * startAngle / Math.PI, 180.0 * scanRadians / Math.PI, Arc2D.PIE);
+		sector.set(arc);
+	}
+
+	private void setRobot(double x, double y) {
+		box.setRect(x - RobotPeer.WIDTH / 2, y - RobotPeer.HEIGHT / 2, RobotPeer.WIDTH, RobotPeer.HEIGHT);
+	}
+}
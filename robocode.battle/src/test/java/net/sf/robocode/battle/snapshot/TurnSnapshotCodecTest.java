@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.battle.snapshot;
+
+
+import net.sf.robocode.serialization.IXmlSerializable;
+import net.sf.robocode.serialization.SerializableOptions;
+import net.sf.robocode.serialization.XmlReader;
+import net.sf.robocode.serialization.XmlWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import robocode.control.snapshot.IBulletSnapshot;
+import robocode.control.snapshot.IRobotSnapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Checks that turns encoded with the {@link TurnSnapshotCodec} are decoded into the same turns.
+ */
+public class TurnSnapshotCodecTest {
+
+	@Test
+	public void decodesEncodedTurns() throws IOException {
+		List<TurnSnapshot> turns = new ArrayList<TurnSnapshot>();
+
+		for (int time = 0; time < 20; time++) {
+			turns.add(createTurn(time));
+		}
+
+		TurnSnapshotCodec encoder = new TurnSnapshotCodec();
+		ByteBuffer encoded = ByteBuffer.allocate(64 * 1024);
+		int firstLength = 0;
+
+		for (TurnSnapshot turn : turns) {
+			ByteBuffer buffer = encoder.encode(turn);
+
+			if (firstLength == 0) {
+				firstLength = buffer.remaining();
+			} else {
+				// Only the fields that changed are written after the first turn
+				Assert.assertTrue(buffer.remaining() < firstLength);
+			}
+			encoded.put(buffer);
+		}
+		encoded.flip();
+
+		TurnSnapshotCodec decoder = new TurnSnapshotCodec();
+
+		for (TurnSnapshot turn : turns) {
+			Assert.assertEquals(toXml(turn), toXml(decoder.decode(encoded)));
+		}
+		Assert.assertFalse(encoded.hasRemaining());
+	}
+
+	@Test
+	public void encodesFullTurnAfterReset() throws IOException {
+		TurnSnapshotCodec encoder = new TurnSnapshotCodec();
+
+		encoder.encode(createTurn(0));
+
+		// A turn encoded after a reset must be decodable on its own
+		encoder.reset();
+
+		TurnSnapshot turn = createTurn(1);
+		ByteBuffer encoded = encoder.encode(turn);
+
+		Assert.assertEquals(toXml(turn), toXml(new TurnSnapshotCodec().decode(encoded)));
+	}
+
+	private static TurnSnapshot createTurn(int time) throws IOException {
+		List<IRobotSnapshot> robots = new ArrayList<IRobotSnapshot>();
+
+		robots.add(createRobot(0, "sample.Fire", 100 - time, 50 + time, 50, time * 0.5));
+		robots.add(createRobot(1, "sample.Walls", 100, 400, 300 - time * 8, 0));
+
+		List<IBulletSnapshot> bullets = new ArrayList<IBulletSnapshot>();
+
+		// Bullet 1 is fired at turn 5, and bullet 2 every fifth turn
+		for (int id = 1; id <= 2; id++) {
+			for (int fired = 5 * id; fired < time; fired += 5 * id) {
+				bullets.add(createBullet(id - 1, fired, time < fired + 8 ? "MOVING" : "HIT_WALL", 50 + (time - fired) * 11,
+						50));
+			}
+		}
+		return new TurnSnapshot(0, time, 30, robots, bullets);
+	}
+
+	private static RobotSnapshot createRobot(int index, String name, double energy, double x, double y, double score)
+			throws IOException {
+		return (RobotSnapshot) read(new RobotSnapshot(),
+				"<robot id=\"" + index + "\" name=\"" + name + "\" vsName=\"" + name.substring(7) + "\" energy=\""
+				+ energy + "\" x=\"" + x + "\" y=\"" + y + "\" bodyHeading=\"1.5\" gunHeading=\"" + (x / 100)
+				+ "\"><score name=\"" + name + "\" currentScore=\"" + score + "\" totalScore=\"" + (score * 2)
+				+ "\"/></robot>");
+	}
+
+	private static BulletSnapshot createBullet(int owner, int id, String state, double x, double y) throws IOException {
+		return (BulletSnapshot) read(new BulletSnapshot(),
+				"<bullet id=\"" + owner + "-" + id + "\" state=\"" + state + "\" power=\"3.0\" x=\"" + x + "\" y=\"" + y
+				+ "\"/>");
+	}
+
+	private static Object read(IXmlSerializable prototype, String xml) throws IOException {
+		return XmlReader.deserialize(new ByteArrayInputStream(xml.getBytes("UTF-8")), prototype);
+	}
+
+	private static String toXml(TurnSnapshot turn) throws IOException {
+		StringWriter out = new StringWriter();
+
+		turn.writeXml(new XmlWriter(out, false), new SerializableOptions(false));
+		return out.toString();
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.recording;
+
+
+import net.sf.robocode.battle.IBattleManager;
+import net.sf.robocode.battle.events.BattleEventDispatcher;
+import net.sf.robocode.battle.snapshot.TurnSnapshot;
+import net.sf.robocode.security.HiddenAccess;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import robocode.control.events.BattleAdaptor;
+import robocode.control.events.ITurnSnapshotListener;
+import robocode.control.events.TurnEndedEvent;
+import robocode.control.snapshot.IBulletSnapshot;
+import robocode.control.snapshot.IRobotSnapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.UUID;
+
+
+/**
+ * Checks that the replay of a battle record sends the turns to the listeners as often as they need turn snapshots,
+ * the same way as the battle that was recorded.
+ */
+public class BattlePlayerTest {
+
+	private static final int[] TURNS_IN_ROUNDS = { 50, 30 };
+
+	// The first turn of each round is sent with the round started event
+	private static final int REPLAYED_TURNS = TURNS_IN_ROUNDS[0] - 1 + TURNS_IN_ROUNDS[1] - 1;
+
+	private File file;
+
+	@BeforeClass
+	public static void init() {
+		HiddenAccess.init();
+	}
+
+	@Before
+	public void createFile() throws IOException {
+		file = File.createTempFile("robocode-battle-player-test", ".br");
+	}
+
+	@After
+	public void deleteFile() {
+		file.delete();
+	}
+
+	@Test
+	public void sendsTurnsToListenersNeedingSnapshots() throws Exception {
+		writeRecord();
+
+		TurnCounter everyTurn = new TurnCounter();
+		TurnCounter noSnapshots = new SnapshotTurnCounter(ITurnSnapshotListener.NO_TURN_SNAPSHOTS);
+		TurnCounter everyTenthTurn = new SnapshotTurnCounter(10);
+
+		BattleEventDispatcher eventDispatcher = new BattleEventDispatcher();
+
+		eventDispatcher.addListener(everyTurn);
+		eventDispatcher.addListener(noSnapshots);
+		eventDispatcher.addListener(everyTenthTurn);
+
+		RecordManager recordManager = new RecordManager(null, null);
+
+		try {
+			recordManager.loadRecord(file.getPath(), BattleRecordFormat.BINARY_INDEXED);
+			new BattlePlayer(null, createBattleManager(), recordManager, eventDispatcher).run();
+		} finally {
+			recordManager.cleanupStreams();
+		}
+
+		Assert.assertEquals(REPLAYED_TURNS, everyTurn.turns);
+		Assert.assertEquals(0, noSnapshots.turns);
+		Assert.assertEquals(REPLAYED_TURNS / 10, everyTenthTurn.turns);
+	}
+
+	private void writeRecord() throws IOException {
+		BattleRecordInfo info = new BattleRecordInfo();
+
+		info.battleId = UUID.randomUUID();
+		info.robotCount = 0;
+		info.roundsCount = TURNS_IN_ROUNDS.length;
+		info.battleRules = HiddenAccess.createRules(800, 600, TURNS_IN_ROUNDS.length, 0.1, 450, false, 100);
+		info.turnsInRounds = new Integer[TURNS_IN_ROUNDS.length];
+
+		IndexedRecordWriter writer = new IndexedRecordWriter(file, true);
+
+		try {
+			for (int round = 0; round < TURNS_IN_ROUNDS.length; round++) {
+				info.turnsInRounds[round] = TURNS_IN_ROUNDS[round];
+				for (int turn = 0; turn < TURNS_IN_ROUNDS[round]; turn++) {
+					writer.writeTurn(new TurnSnapshot(round, turn, 30, new ArrayList<IRobotSnapshot>(),
+							new ArrayList<IBulletSnapshot>()), round, turn);
+				}
+			}
+			writer.writeFooter(info);
+		} finally {
+			writer.close();
+		}
+	}
+
+	// Battle manager that does not limit the turns per second
+	private static IBattleManager createBattleManager() {
+		return (IBattleManager) Proxy.newProxyInstance(IBattleManager.class.getClassLoader(),
+				new Class<?>[] { IBattleManager.class }, new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+			}
+		});
+	}
+
+	private static class TurnCounter extends BattleAdaptor {
+		int turns;
+
+		@Override
+		public void onTurnEnded(TurnEndedEvent event) {
+			turns++;
+		}
+	}
+
+	private static class SnapshotTurnCounter extends TurnCounter implements ITurnSnapshotListener {
+		private final int interval;
+
+		SnapshotTurnCounter(int interval) {
+			this.interval = interval;
+		}
+
+		public int getTurnSnapshotInterval() {
+			return interval;
+		}
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.recording;
+
+
+import net.sf.robocode.battle.snapshot.TurnSnapshot;
+import net.sf.robocode.serialization.SerializableOptions;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import robocode.control.snapshot.IBulletSnapshot;
+import robocode.control.snapshot.IRobotSnapshot;
+import robocode.control.snapshot.ITurnSnapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * Checks that turns written to an indexed battle record can be read back in any order.
+ */
+public class IndexedRecordTest {
+
+	private static final int[] TURNS_IN_ROUNDS = { 300, 5, 0, 130 };
+
+	private File file;
+
+	@Before
+	public void createFile() throws IOException {
+		file = File.createTempFile("robocode-indexed-record-test", ".br");
+	}
+
+	@After
+	public void deleteFile() {
+		file.delete();
+	}
+
+	@Test
+	public void readsTurnsFromCompleteRecord() throws Exception {
+		BattleRecordInfo info = new BattleRecordInfo();
+
+		info.battleId = UUID.randomUUID();
+		info.robotCount = 2;
+		info.roundsCount = TURNS_IN_ROUNDS.length;
+
+		IndexedRecordWriter writer = new IndexedRecordWriter(file, true);
+
+		try {
+			writeTurns(writer);
+			writer.writeFooter(info);
+		} finally {
+			writer.close();
+		}
+
+		Assert.assertTrue(IndexedRecordReader.isIndexedRecord(file));
+
+		IndexedRecordReader reader = IndexedRecordReader.open(file);
+
+		try {
+			Assert.assertEquals(info.battleId, reader.getRecordInfo().battleId);
+			Assert.assertEquals(2, reader.getRecordInfo().robotCount);
+			checkTurns(reader);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void readsTurnsWithBlockIndex() throws Exception {
+		IndexedRecordWriter writer = new IndexedRecordWriter(file, false);
+		List<RecordBlock> blocks;
+
+		try {
+			writeTurns(writer);
+			writer.flush();
+			blocks = writer.getBlocks();
+		} finally {
+			writer.close();
+		}
+
+		Assert.assertFalse(IndexedRecordReader.isIndexedRecord(new File(file.getPath() + ".missing")));
+
+		IndexedRecordReader reader = IndexedRecordReader.open(file, blocks);
+
+		try {
+			checkTurns(reader);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void savesOverLoadedRecord() throws Exception {
+		BattleRecordInfo info = new BattleRecordInfo();
+
+		info.battleId = UUID.randomUUID();
+		info.robotCount = 2;
+		info.roundsCount = TURNS_IN_ROUNDS.length;
+		info.turnsInRounds = new Integer[TURNS_IN_ROUNDS.length];
+		for (int round = 0; round < TURNS_IN_ROUNDS.length; round++) {
+			info.turnsInRounds[round] = TURNS_IN_ROUNDS[round];
+		}
+
+		IndexedRecordWriter writer = new IndexedRecordWriter(file, true);
+
+		try {
+			writeTurns(writer);
+			writer.writeFooter(info);
+		} finally {
+			writer.close();
+		}
+
+		RecordManager recordManager = new RecordManager(null, null);
+
+		try {
+			recordManager.loadRecord(file.getPath(), BattleRecordFormat.BINARY_ZIP);
+			recordManager.prepareInputStream();
+			checkTurn(recordManager.readSnapshot(3, 100), 3, 100);
+
+			// The loaded record file is replaced, while it is being read
+			recordManager.saveRecord(file.getPath(), BattleRecordFormat.BINARY_INDEXED,
+					new SerializableOptions(false));
+
+			Assert.assertFalse(new File(file.getPath() + ".tmp").exists());
+			Assert.assertEquals(TURNS_IN_ROUNDS[0], recordManager.getTurnsInRound(0));
+			checkTurn(recordManager.readSnapshot(0, 42), 0, 42);
+		} finally {
+			recordManager.cleanupStreams();
+		}
+
+		IndexedRecordReader reader = IndexedRecordReader.open(file);
+
+		try {
+			Assert.assertEquals(info.battleId, reader.getRecordInfo().battleId);
+			checkTurns(reader);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void rejectsRecordWithoutFooter() throws Exception {
+		IndexedRecordWriter writer = new IndexedRecordWriter(file, true);
+
+		try {
+			writeTurns(writer);
+		} finally {
+			writer.close();
+		}
+		IndexedRecordReader.open(file).close();
+	}
+
+	private static void writeTurns(IndexedRecordWriter writer) throws IOException {
+		for (int round = 0; round < TURNS_IN_ROUNDS.length; round++) {
+			for (int turn = 0; turn < TURNS_IN_ROUNDS[round]; turn++) {
+				writer.writeTurn(new TurnSnapshot(round, turn, 30, new ArrayList<IRobotSnapshot>(),
+						new ArrayList<IBulletSnapshot>()), round, turn);
+			}
+		}
+	}
+
+	private static void checkTurns(IndexedRecordReader reader) throws Exception {
+		// Backwards, so every read is a seek
+		for (int round = TURNS_IN_ROUNDS.length - 1; round >= 0; round--) {
+			for (int turn = TURNS_IN_ROUNDS[round] - 1; turn >= 0; turn -= 7) {
+				checkTurn(reader.readTurn(round, turn), round, turn);
+			}
+		}
+		// In order
+		for (int round = 0; round < TURNS_IN_ROUNDS.length; round++) {
+			for (int turn = 0; turn < TURNS_IN_ROUNDS[round]; turn++) {
+				checkTurn(reader.readTurn(round, turn), round, turn);
+			}
+			Assert.assertNull(reader.readTurn(round, TURNS_IN_ROUNDS[round]));
+		}
+		Assert.assertNull(reader.readTurn(TURNS_IN_ROUNDS.length, 0));
+	}
+
+	private static void checkTurn(ITurnSnapshot snapshot, int round, int turn) {
+		Assert.assertNotNull(snapshot);
+		Assert.assertEquals(round, snapshot.getRound());
+		Assert.assertEquals(turn, snapshot.getTurn());
+	}
+}
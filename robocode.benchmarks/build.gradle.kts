@@ -0,0 +1,61 @@
+plugins {
+    id("net.sf.robocode.java-conventions")
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmhImplementation(project(":robocode.api"))
+    jmhImplementation(project(":robocode.core"))
+    jmhImplementation(project(":robocode.host"))
+    jmhImplementation(project(":robocode.battle"))
+    jmhRuntimeOnly(project(":robocode.repository"))
+}
+
+description = "Robocode Benchmarks"
+
+val jmhResultsFile = layout.buildDirectory.file("results/jmh/results.csv")
+val jmhBaselineFile = layout.projectDirectory.file("baseline/results.csv")
+
+// Run the benchmarks with:          gradlew :robocode.benchmarks:jmh
+// Save the results as baseline:     gradlew :robocode.benchmarks:jmhSaveBaseline
+// Compare results with baseline:    gradlew :robocode.benchmarks:jmhReport
+// Run only some benchmarks with e.g. gradlew :robocode.benchmarks:jmh -Pjmh.includes=RbSerializer
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    resultFormat.set("CSV")
+    resultsFile.set(jmhResultsFile)
+    (project.findProperty("jmh.includes") as String?)?.let { includes.add(it) }
+
+    // The sample robots are loaded from the sandbox, and the same random seed makes the battles repeatable
+    jvmArgsAppend.addAll(
+        "-DROBOTPATH=${rootProject.projectDir}/.sandbox/robots",
+        "-DRANDOMSEED=42",
+        "-Drobocode.security.adapter=true"
+    )
+}
+
+tasks {
+    named("jmh") {
+        dependsOn(":robocode.samples:jar")
+    }
+
+    register<Copy>("jmhSaveBaseline") {
+        group = "benchmark"
+        description = "Saves the results of the last benchmark run as the baseline"
+        from(jmhResultsFile)
+        into(jmhBaselineFile.asFile.parentFile)
+    }
+
+    register<JavaExec>("jmhReport") {
+        group = "benchmark"
+        description = "Compares the results of the last benchmark run with the baseline"
+        classpath = sourceSets["jmh"].runtimeClasspath
+        mainClass.set("net.sf.robocode.benchmarks.BaselineReport")
+        args(jmhBaselineFile.asFile, jmhResultsFile.get().asFile)
+    }
+
+    publishMavenJavaPublicationToSonatypeRepository {
+        enabled = false
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.benchmarks;
+
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * Compares the results of a benchmark run with the results of a baseline run, both written by JMH in the CSV format,
+ * and prints the change of the score of each benchmark. A change is only reported as faster or slower when it is
+ * larger than the errors of both scores.
+ */
+public final class BaselineReport {
+
+	private BaselineReport() {}
+
+	/**
+	 * The score of a benchmark with a specific set of parameters.
+	 */
+	private static final class Result {
+		String mode;
+		double score;
+		double error;
+		String unit;
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: BaselineReport <baseline results.csv> <results.csv>");
+			System.exit(1);
+		}
+		File baselineFile = new File(args[0]);
+		File resultsFile = new File(args[1]);
+
+		if (!resultsFile.exists()) {
+			System.err.println("No benchmark results found in " + resultsFile + ". Run the benchmarks first.");
+			System.exit(1);
+		}
+		if (!baselineFile.exists()) {
+			System.err.println("No baseline found in " + baselineFile + ". Save a baseline with jmhSaveBaseline.");
+			System.exit(1);
+		}
+		Map<String, Result> baseline = read(baselineFile);
+		Map<String, Result> results = read(resultsFile);
+
+		System.out.println(
+				String.format(Locale.US, "%-70s %20s %20s %10s", "Benchmark", "Baseline", "Current", "Change"));
+
+		for (Map.Entry<String, Result> entry : results.entrySet()) {
+			Result current = entry.getValue();
+			Result base = baseline.get(entry.getKey());
+
+			String change;
+
+			if (base == null || !base.unit.equals(current.unit)) {
+				change = "new";
+			} else {
+				change = String.format(Locale.US, "%+.1f%% %s", 100 * (current.score - base.score) / base.score,
+						compare(base, current));
+			}
+			System.out.println(
+					String.format(Locale.US, "%-70s %20s %20s %s", entry.getKey(), format(base), format(current),
+					change));
+		}
+		for (String benchmark : baseline.keySet()) {
+			if (!results.containsKey(benchmark)) {
+				System.out.println(String.format(Locale.US, "%-70s %20s %20s %s", benchmark,
+						format(baseline.get(benchmark)), "-", "removed"));
+			}
+		}
+	}
+
+	private static String compare(Result base, Result current) {
+		double errors = (Double.isNaN(base.error) ? 0 : base.error) + (Double.isNaN(current.error) ? 0 : current.error);
+
+		if (Math.abs(current.score - base.score) <= errors) {
+			return "(within error)";
+		}
+		// The throughput is higher when faster, whereas the time is lower
+		boolean higherIsBetter = current.mode.equals("thrpt");
+
+		return (current.score > base.score) == higherIsBetter ? "faster" : "slower";
+	}
+
+	private static String format(Result result) {
+		if (result == null) {
+			return "-";
+		}
+		return String.format(Locale.US, "%.3f %s", result.score, result.unit);
+	}
+
+	// Reads the results of the primary scores, where the key is the benchmark name with its parameters
+	private static Map<String, Result> read(File file) throws IOException {
+		Map<String, Result> results = new LinkedHashMap<String, Result>();
+		BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+
+		try {
+			String line = reader.readLine();
+
+			if (line == null) {
+				return results;
+			}
+			List<String> header = split(line);
+
+			while ((line = reader.readLine()) != null) {
+				List<String> values = split(line);
+
+				if (values.size() < 7) {
+					continue;
+				}
+				String benchmark = values.get(0);
+
+				// Secondary results, e.g. counters, are named benchmark:counter
+				if (benchmark.indexOf(':') >= 0) {
+					continue;
+				}
+				benchmark = benchmark.replace("net.sf.robocode.benchmarks.", "");
+
+				StringBuilder key = new StringBuilder(benchmark);
+				char separator = ' ';
+
+				for (int i = 7; i < values.size() && i < header.size(); i++) {
+					if (values.get(i).length() > 0) {
+						key.append(separator).append(header.get(i).replace("Param: ", "")).append('=').append(values.get(i));
+						separator = ',';
+					}
+				}
+				Result result = new Result();
+
+				result.mode = values.get(1);
+				result.score = parse(values.get(4));
+				result.error = parse(values.get(5));
+				result.unit = values.get(6);
+
+				results.put(key.toString(), result);
+			}
+		} finally {
+			reader.close();
+		}
+		return results;
+	}
+
+	private static double parse(String value) {
+		try {
+			return Double.parseDouble(value);
+		} catch (NumberFormatException e) {
+			return Double.NaN;
+		}
+	}
+
+	private static List<String> split(String line) {
+		List<String> values = new ArrayList<String>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+
+			if (c == '"') {
+				quoted = !quoted;
+			} else if (c == ',' && !quoted) {
+				values.add(value.toString());
+				value.setLength(0);
+			} else {
+				value.append(c);
+			}
+		}
+		values.add(value.toString());
+		return values;
+	}
+}
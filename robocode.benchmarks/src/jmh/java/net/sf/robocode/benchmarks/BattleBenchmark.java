@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.benchmarks;
+
+
+import org.openjdk.jmh.annotations.*;
+import robocode.control.BattleSpecification;
+import robocode.control.BattlefieldSpecification;
+import robocode.control.RobocodeEngine;
+import robocode.control.RobotSpecification;
+import robocode.control.events.BattleAdaptor;
+import robocode.control.events.ITurnSnapshotListener;
+import robocode.control.events.RoundEndedEvent;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures the battle loop, i.e. Battle.runTurn, with sample robots. The robot peers only exist in a running
+ * battle, so the scanning and movement of the robots (RobotPeer.scan and RobotPeer.performMove) and the bullet
+ * updates (BulletPeer.update) are measured as part of the turns, with workloads that stress each of them.
+ * <p>
+ * The result is the time of a battle of one round, and the "turns" counter is the number of turns in the battles,
+ * so the time per turn is the time divided by the turns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BattleBenchmark {
+
+	/**
+	 * Robots that move and scan a lot, but rarely fire.
+	 */
+	private static final String MOVING_ROBOTS = "sample.Walls,sample.SpinBot,sample.Crazy,sample.Corners,sample.RamFire,"
+			+ "sample.VelociRobot,sample.MyFirstRobot,sample.Walls,sample.SpinBot,sample.Crazy";
+
+	/**
+	 * Robots that fire a lot, so there are many bullets on the battlefield.
+	 */
+	private static final String FIRING_ROBOTS = "sample.Fire,sample.TrackFire,sample.Tracker,sample.Fire,sample.TrackFire,"
+			+ "sample.Tracker,sample.Fire,sample.TrackFire,sample.Tracker,sample.Fire";
+
+	@Param({"2", "5", "10"})
+	public int robots;
+
+	@Param({"moving", "firing"})
+	public String workload;
+
+	private RobocodeEngine engine;
+	private BattleSpecification battleSpecification;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		RobocodeEngine.setLogMessagesEnabled(false);
+
+		engine = new RobocodeEngine();
+		engine.setVisible(false);
+
+		String[] names = ("moving".equals(workload) ? MOVING_ROBOTS : FIRING_ROBOTS).split(",");
+		RobotSpecification[] specifications = new RobotSpecification[robots];
+
+		for (int i = 0; i < robots; i++) {
+			RobotSpecification[] found = engine.getLocalRepository(names[i]);
+
+			if (found.length == 0) {
+				throw new IllegalStateException("The sample robot was not found: " + names[i]);
+			}
+			specifications[i] = found[0];
+		}
+		battleSpecification = new BattleSpecification(1, new BattlefieldSpecification(800, 600), specifications);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		engine.close();
+	}
+
+	/**
+	 * Counts the turns of the battles. The turns are counted when the rounds end, so the battle does not take
+	 * snapshots of the turns.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Turns extends BattleAdaptor implements ITurnSnapshotListener {
+		public long turns;
+
+		public int getTurnSnapshotInterval() {
+			return NO_TURN_SNAPSHOTS;
+		}
+
+		@Override
+		public void onRoundEnded(RoundEndedEvent event) {
+			turns += event.getTurns();
+		}
+	}
+
+	@Benchmark
+	public void runBattle(Turns turns) {
+		engine.addBattleListener(turns);
+		try {
+			engine.runBattle(battleSpecification, true);
+		} finally {
+			engine.removeBattleListener(turns);
+		}
+	}
+}
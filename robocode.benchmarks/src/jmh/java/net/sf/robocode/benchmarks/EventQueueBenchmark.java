@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.benchmarks;
+
+
+import net.sf.robocode.host.events.EventManager;
+import net.sf.robocode.host.events.EventQueue;
+import net.sf.robocode.security.HiddenAccess;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import robocode.Event;
+import robocode.HitWallEvent;
+import robocode.ScannedRobotEvent;
+import robocode.StatusEvent;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures the event handling of a robot in a turn, as done by {@link EventManager#processEvents()}: the events of
+ * the turn are added to the {@link EventQueue} of the robot, the old events are cleared, the robot reads its scanned
+ * robot events, and the events are dispatched in order. The EventManager needs a running robot, so the benchmark
+ * works on the EventQueue directly and leaves out the calls of the event handlers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventQueueBenchmark {
+
+	/**
+	 * The number of robots scanned in a turn.
+	 */
+	@Param({"1", "9", "49"})
+	public int scannedRobots;
+
+	private EventQueue eventQueue;
+	private String[] names;
+	private long time;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		System.setProperty("NOSECURITY", "true");
+		HiddenAccess.init();
+
+		eventQueue = new EventQueue();
+
+		names = new String[scannedRobots];
+		for (int i = 0; i < scannedRobots; i++) {
+			names[i] = "sample.Target (" + (i + 1) + ")";
+		}
+	}
+
+	@Benchmark
+	public void processTurn(Blackhole blackhole) {
+		time++;
+
+		for (int i = 0; i < scannedRobots; i++) {
+			add(new ScannedRobotEvent(names[i], 100, 0, 100 + i, 0, 0, false), 10);
+		}
+		if (time % 10 == 0) {
+			add(new HitWallEvent(0), 30);
+		}
+		add(new StatusEvent(null), 99);
+
+		eventQueue.clear(time - EventManager.MAX_EVENT_STACK);
+
+		blackhole.consume(eventQueue.getEvents(ScannedRobotEvent.class).size());
+
+		Event event;
+
+		while ((event = eventQueue.poll()) != null) {
+			blackhole.consume(event);
+		}
+	}
+
+	private void add(Event event, int priority) {
+		HiddenAccess.setEventTime(event, time);
+		if (!HiddenAccess.isCriticalEvent(event)) {
+			HiddenAccess.setEventPriority(event, priority);
+		}
+		eventQueue.add(event);
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.benchmarks;
+
+
+import net.sf.robocode.robotpaint.Graphics2DSerialized;
+import net.sf.robocode.security.HiddenAccess;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures the painting of robots, where the paint calls of a robot are recorded by the {@link Graphics2DSerialized}
+ * of the robot, and replayed onto the battle view.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Graphics2DSerializedBenchmark {
+
+	/**
+	 * The number of shapes painted by the robot in a turn.
+	 */
+	@Param({"10", "100"})
+	public int shapes;
+
+	private Graphics2DSerialized recorder;
+	private Graphics2DSerialized player;
+	private Graphics2D target;
+	private byte[] calls;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		System.setProperty("java.awt.headless", "true");
+		System.setProperty("NOSECURITY", "true");
+		HiddenAccess.initContainer();
+
+		recorder = new Graphics2DSerialized();
+		recorder.setPaintingEnabled(true);
+
+		player = new Graphics2DSerialized();
+		player.setPaintingEnabled(true);
+
+		target = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB).createGraphics();
+
+		paint(recorder);
+		calls = recorder.readoutQueuedCalls();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		target.dispose();
+	}
+
+	@Benchmark
+	public byte[] record() {
+		paint(recorder);
+		return recorder.readoutQueuedCalls();
+	}
+
+	@Benchmark
+	public void replay() {
+		player.processTo(target, calls);
+	}
+
+	// Paints like a robot painting its targeting information
+	private void paint(Graphics2D g) {
+		for (int i = 0; i < shapes; i++) {
+			int x = (i * 37) % 800;
+			int y = (i * 53) % 600;
+
+			g.setColor(i % 2 == 0 ? Color.RED : Color.GREEN);
+			g.draw(new Line2D.Double(400, 300, x, y));
+			g.fill(new Ellipse2D.Double(x - 4, y - 4, 8, 8));
+			g.drawRect(x - 10, y - 10, 20, 20);
+		}
+	}
+}
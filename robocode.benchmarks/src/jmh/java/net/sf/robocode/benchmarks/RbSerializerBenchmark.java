@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.benchmarks;
+
+
+import net.sf.robocode.peer.BulletCommand;
+import net.sf.robocode.peer.DebugProperty;
+import net.sf.robocode.peer.ExecCommands;
+import net.sf.robocode.peer.TeamMessage;
+import net.sf.robocode.security.HiddenAccess;
+import net.sf.robocode.serialization.RbSerializer;
+import org.openjdk.jmh.annotations.*;
+import robocode.ScannedRobotEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures round-trips through the {@link RbSerializer}, i.e. serializing an object into a buffer and deserializing
+ * it again, as done for the commands and events exchanged with the robots.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RbSerializerBenchmark {
+
+	private RbSerializer serializer;
+	private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+	private ExecCommands emptyCommands;
+	private ExecCommands fullCommands;
+	private ScannedRobotEvent scannedRobotEvent;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		System.setProperty("NOSECURITY", "true");
+		HiddenAccess.initContainer();
+
+		serializer = new RbSerializer();
+
+		emptyCommands = new ExecCommands();
+		emptyCommands.setBodyTurnRemaining(150.123);
+
+		fullCommands = new ExecCommands();
+		fullCommands.setBodyTurnRemaining(150.123);
+		fullCommands.setDistanceRemaining(-42.5);
+		fullCommands.setTryingToPaint(true);
+		for (int i = 0; i < 3; i++) {
+			fullCommands.getBullets().add(new BulletCommand(1.0 + i, true, 0.9354, i));
+			fullCommands.getTeamMessages().add(new TeamMessage("sample.Leader", "sample.Droid", new byte[100]));
+			fullCommands.getDebugProperties().add(new DebugProperty("key" + i, "value" + i));
+		}
+
+		scannedRobotEvent = new ScannedRobotEvent("sample.Tracker", 87.5, 1.2, 345.6, 0.3, 8, false);
+	}
+
+	@Benchmark
+	public Object emptyCommands() throws IOException {
+		return roundTrip(RbSerializer.ExecCommands_TYPE, emptyCommands);
+	}
+
+	@Benchmark
+	public Object fullCommands() throws IOException {
+		return roundTrip(RbSerializer.ExecCommands_TYPE, fullCommands);
+	}
+
+	@Benchmark
+	public Object scannedRobotEvent() throws IOException {
+		return roundTrip(RbSerializer.ScannedRobotEvent_TYPE, scannedRobotEvent);
+	}
+
+	private Object roundTrip(byte type, Object object) throws IOException {
+		buffer.clear();
+		serializer.serializeToBuffer(buffer, type, object);
+		buffer.flip();
+		return serializer.deserialize(buffer);
+	}
+}
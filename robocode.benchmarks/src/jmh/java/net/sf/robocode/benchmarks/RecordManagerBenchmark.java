@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.benchmarks;
+
+
+import net.sf.robocode.core.ContainerBase;
+import net.sf.robocode.recording.BattleRecordFormat;
+import net.sf.robocode.recording.IRecordManager;
+import net.sf.robocode.serialization.SerializableOptions;
+import org.openjdk.jmh.annotations.*;
+import robocode.control.BattleSpecification;
+import robocode.control.BattlefieldSpecification;
+import robocode.control.RobocodeEngine;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures saving and loading a battle record in each {@link BattleRecordFormat}. The record is made by running a
+ * battle with sample robots once before the measurements. Records in the CSV format can only be saved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RecordManagerBenchmark {
+
+	private static final String ROBOTS = "sample.Tracker,sample.Fire,sample.SpinBot,sample.Walls";
+
+	private RobocodeEngine engine;
+	private IRecordManager recordManager;
+	private final SerializableOptions options = new SerializableOptions(false);
+
+	@State(Scope.Thread)
+	public static class SaveFormat {
+		@Param({"BINARY", "BINARY_ZIP", "BINARY_INDEXED", "XML", "XML_ZIP", "CSV"})
+		public BattleRecordFormat format;
+
+		File file;
+
+		@Setup(Level.Trial)
+		public void setup() throws IOException {
+			file = File.createTempFile("robocode-benchmark", "." + format.name().toLowerCase());
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			file.delete();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class LoadFormat {
+		@Param({"BINARY", "BINARY_ZIP", "BINARY_INDEXED", "XML", "XML_ZIP"})
+		public BattleRecordFormat format;
+
+		File file;
+
+		@Setup(Level.Trial)
+		public void setup(RecordManagerBenchmark benchmark) throws IOException {
+			file = File.createTempFile("robocode-benchmark", "." + format.name().toLowerCase());
+			benchmark.recordManager.saveRecord(file.getPath(), format, benchmark.options);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			file.delete();
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		RobocodeEngine.setLogMessagesEnabled(false);
+
+		engine = new RobocodeEngine();
+		engine.setVisible(false);
+
+		BattleSpecification battleSpecification = new BattleSpecification(3, new BattlefieldSpecification(800, 600),
+				engine.getLocalRepository(ROBOTS));
+
+		engine.runBattle(battleSpecification, null, true, true);
+
+		recordManager = ContainerBase.getComponent(IRecordManager.class);
+		if (!recordManager.hasRecord()) {
+			throw new IllegalStateException("The battle was not recorded");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		engine.close();
+	}
+
+	@Benchmark
+	public void save(SaveFormat saveFormat) {
+		recordManager.saveRecord(saveFormat.file.getPath(), saveFormat.format, options);
+	}
+
+	@Benchmark
+	public void load(LoadFormat loadFormat) {
+		recordManager.loadRecord(loadFormat.file.getPath(), loadFormat.format);
+	}
+}
@@ -38,7 +38,8 @@ public class BattleProperties implements Serializable {
 			BATTLE_HIDE_ENEMY_NAMES = "robocode.battle.hideEnemyNames",
 			BATTLE_SELECTEDROBOTS = "robocode.battle.selectedRobots",
 			BATTLE_INITIAL_POSITIONS = "robocode.battle.initialPositions",
-			BATTLE_SENTRY_BORDER_SIZE = "robocode.battle.sentryBorderSize";
+			BATTLE_SENTRY_BORDER_SIZE = "robocode.battle.sentryBorderSize",
+			BATTLE_TURN_HANDOFF = "robocode.battle.turnHandoff";
 
 	private int battlefieldWidth = 800;
 	private int battlefieldHeight = 600;
@@ -49,6 +50,7 @@ public class BattleProperties implements Serializable {
 	private int sentryBorderSize = 100;
 	private String selectedRobots;
 	private String initialPositions;
+	private String turnHandoff = getDefaultTurnHandoff();
 
 	private final Properties props = new Properties();
 
@@ -328,6 +330,30 @@ public class BattleProperties implements Serializable {
 		props.setProperty(BATTLE_SENTRY_BORDER_SIZE, "" + sentryBorderSize);
 	}
 
+	/**
+	 * Returns the strategy used for handing turns between the battle thread and the robot threads,
+	 * i.e. "monitor" or "park". The default is given by the TURNHANDOFF system property.
+	 *
+	 * @return the turn handoff strategy
+	 */
+	public String getTurnHandoff() {
+		return turnHandoff;
+	}
+
+	/**
+	 * Sets the strategy used for handing turns between the battle thread and the robot threads.
+	 *
+	 * @param turnHandoff the turn handoff strategy, i.e. "monitor" or "park"
+	 */
+	public void setTurnHandoff(String turnHandoff) {
+		this.turnHandoff = turnHandoff;
+		props.setProperty(BATTLE_TURN_HANDOFF, turnHandoff);
+	}
+
+	private static String getDefaultTurnHandoff() {
+		return System.getProperty("TURNHANDOFF", "monitor");
+	}
+
 	public void store(FileOutputStream out, String desc) throws IOException {
 		props.store(out, desc);
 	}
@@ -343,5 +369,6 @@ public class BattleProperties implements Serializable {
 		selectedRobots = props.getProperty(BATTLE_SELECTEDROBOTS, "");
 		initialPositions = props.getProperty(BATTLE_INITIAL_POSITIONS, "");
 		sentryBorderSize = Integer.parseInt(props.getProperty(BATTLE_SENTRY_BORDER_SIZE, "100"));
+		turnHandoff = props.getProperty(BATTLE_TURN_HANDOFF, getDefaultTurnHandoff());
 	}
 }
@@ -58,6 +58,14 @@ public interface IBattleManager extends IBattleManagerBase {
 
 	void prevTurn();
 
+	/**
+	 * Jumps to a turn when a battle record is replayed.
+	 *
+	 * @param round the round to jump to
+	 * @param turn the turn within the round to jump to
+	 */
+	void seekTurn(int round, int turn);
+
 	void pauseBattle();
 
 	void resumeBattle();
@@ -132,6 +132,71 @@ public class BattleEventDispatcher implements IBattleListener {
 		}
 	}
 
+	/**
+	 * Sends the event of the turn to the listeners that need a snapshot of the turn.
+	 *
+	 * @param event the event with the snapshot of the turn
+	 * @param turn the turn number, counted over all rounds of the battle
+	 */
+	public void onTurnEnded(TurnEndedEvent event, int turn) {
+		for (IBattleListener listener : listeners) {
+			if (isTurnSnapshotNeeded(listener, turn)) {
+				try {
+					listener.onTurnEnded(event);
+				} catch (Throwable ex) {
+					logError("onTurnEnded " + listener.getClass(), ex);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks if any listener needs a snapshot of a turn.
+	 *
+	 * @param turn the turn number, counted over all rounds of the battle
+	 * @return true if a snapshot of the turn must be taken; false otherwise.
+	 */
+	public boolean isTurnSnapshotNeeded(int turn) {
+		for (IBattleListener listener : listeners) {
+			if (isTurnSnapshotNeeded(listener, turn)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if any listener needs turn snapshots at all.
+	 *
+	 * @return true if a listener needs turn snapshots; false if no snapshots are taken.
+	 */
+	public boolean isTurnSnapshotWanted() {
+		for (IBattleListener listener : listeners) {
+			if (getTurnSnapshotInterval(listener) != ITurnSnapshotListener.NO_TURN_SNAPSHOTS) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isTurnSnapshotNeeded(IBattleListener listener, int turn) {
+		int interval = getTurnSnapshotInterval(listener);
+
+		return interval != ITurnSnapshotListener.NO_TURN_SNAPSHOTS && turn % interval == 0;
+	}
+
+	private static int getTurnSnapshotInterval(IBattleListener listener) {
+		if (listener instanceof ITurnSnapshotListener) {
+			try {
+				return Math.max(((ITurnSnapshotListener) listener).getTurnSnapshotInterval(),
+						ITurnSnapshotListener.NO_TURN_SNAPSHOTS);
+			} catch (Throwable ex) {
+				logError("getTurnSnapshotInterval " + listener.getClass(), ex);
+			}
+		}
+		return ITurnSnapshotListener.EVERY_TURN;
+	}
+
 	public void onBattleMessage(BattleMessageEvent event) {
 		for (IBattleListener listener : listeners) {
 			try {
@@ -24,7 +24,9 @@ import java.net.URL;
 import java.net.MalformedURLException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 
@@ -42,6 +44,8 @@ import java.util.Set;
  * We use PicoContainer as IoC vehicle. We configure it by loading Module class in every .jar or classpath we can find on system classPath
  * 1) Container.cache is containing singletons
  * 2) Container.factory will create always new instance of component 
+ * Components added with addEngineComponent() and addEngineFactoryComponent() exist once per engine. Each engine
+ * created with createEngine() has child containers of its own for these, and shares all other components.
  *
  * @author Pavel Savara (original)
  */
@@ -55,6 +59,8 @@ public final class Container extends ContainerBase {
 	private static final ClassLoader engineLoader;
 	private static final Set<String> known = new HashSet<String>();
 	private static final List<IModule> modules = new ArrayList<IModule>();
+	private static final Map<Object, Class<?>> engineComponents = new LinkedHashMap<Object, Class<?>>();
+	private static final List<Class<?>> engineFactoryComponents = new ArrayList<Class<?>>();
 
 	static {
 		instance = new Container();
@@ -70,6 +76,7 @@ public final class Container extends ContainerBase {
 
 		cache = new DefaultClassLoadingPicoContainer(engineLoader, new Caching(), null);
 		factory = new DefaultClassLoadingPicoContainer(engineLoader, new OptInCaching(), cache);
+		cache.addComponent(EngineContainer.class, new EngineContainer(cache, factory));
 		loadModule("net.sf.robocode.api", systemLoader);
 		final String[] cp = classPath.split(File.pathSeparator);
 
@@ -263,4 +270,48 @@ public final class Container extends ContainerBase {
 	public static <T> T createComponent(java.lang.Class<T> tClass) {
 		return factory.as(Characteristics.NO_CACHE).getComponent(tClass);
 	}
+
+	/**
+	 * Adds a singleton component, which each engine has an instance of its own.
+	 *
+	 * @param key the key of the component
+	 * @param implementation the class of the component
+	 */
+	public static void addEngineComponent(Object key, Class<?> implementation) {
+		cache.addComponent(key, implementation);
+		engineComponents.put(key, implementation);
+	}
+
+	public static void addEngineComponent(Class<?> implementation) {
+		addEngineComponent(implementation, implementation);
+	}
+
+	/**
+	 * Adds a component, which is created with the singleton components of the engine creating it.
+	 *
+	 * @param implementation the class of the component
+	 */
+	public static void addEngineFactoryComponent(Class<?> implementation) {
+		factory.addComponent(implementation);
+		engineFactoryComponents.add(implementation);
+	}
+
+	@Override
+	protected ContainerBase createBaseEngine() {
+		final MutablePicoContainer engineCache = new DefaultClassLoadingPicoContainer(engineLoader, new Caching(), cache);
+		final MutablePicoContainer engineFactory = new DefaultClassLoadingPicoContainer(engineLoader, new OptInCaching(),
+				engineCache);
+
+		for (Map.Entry<Object, Class<?>> component : engineComponents.entrySet()) {
+			engineCache.addComponent(component.getKey(), component.getValue());
+		}
+		for (Class<?> component : engineFactoryComponents) {
+			engineFactory.addComponent(component);
+		}
+
+		final EngineContainer engine = new EngineContainer(engineCache, engineFactory);
+
+		engineCache.addComponent(EngineContainer.class, engine);
+		return engine;
+	}
 }
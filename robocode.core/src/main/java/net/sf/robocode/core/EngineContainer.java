@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.core;
+
+
+import net.sf.robocode.battle.IBattleManager;
+import net.sf.robocode.host.IHostManager;
+
+import org.picocontainer.Characteristics;
+import org.picocontainer.MutablePicoContainer;
+
+
+/**
+ * Components of a single engine. The default engine uses the components of the {@link Container}, and the engines
+ * created with {@link ContainerBase#createEngine()} have their own instances of the engine components, while all
+ * other components are shared.
+ *
+ * @see Container#addEngineComponent(Object, Class)
+ * @see Container#addEngineFactoryComponent(Class)
+ */
+public final class EngineContainer extends ContainerBase {
+
+	private final MutablePicoContainer cache;
+	private final MutablePicoContainer factory;
+
+	EngineContainer(MutablePicoContainer cache, MutablePicoContainer factory) {
+		this.cache = cache;
+		this.factory = factory;
+	}
+
+	protected <T> T getBaseComponent(final Class<T> tClass) {
+		return cache.getComponent(tClass);
+	}
+
+	/**
+	 * Creates a new instance of a component with the components of this engine.
+	 *
+	 * @param tClass the class of the component
+	 * @return the new component
+	 */
+	public <T> T createComponent(java.lang.Class<T> tClass) {
+		return factory.as(Characteristics.NO_CACHE).getComponent(tClass);
+	}
+
+	@Override
+	public void closeEngine() {
+		cache.getComponent(IBattleManager.class).cleanup();
+		cache.getComponent(IHostManager.class).cleanup();
+	}
+}
@@ -62,6 +62,7 @@ public final class RobocodeMain extends RobocodeMainBase {
 		String battleFilename;
 		String recordFilename;
 		String recordXmlFilename;
+		String recordIndexedFilename;
 		String replayFilename;
 		String resultsFilename;
 		int tps;
@@ -133,7 +134,8 @@ public final class RobocodeMain extends RobocodeMainBase {
 				}
 			}
 
-			final boolean enableCLIRecording = (setup.recordFilename != null || setup.recordXmlFilename != null);
+			final boolean enableCLIRecording = (setup.recordFilename != null || setup.recordXmlFilename != null
+					|| setup.recordIndexedFilename != null);
 			
 			// Note: At this point the GUI should be opened (if enabled) before starting the battle from a battle file
 			if (setup.battleFilename != null) {
@@ -223,6 +225,9 @@ public final class RobocodeMain extends RobocodeMainBase {
 			} else if (currentArg.equalsIgnoreCase("-recordXML") && (i < args.length + 1)) {
 				setup.recordXmlFilename = args[i + 1];
 				i++;
+			} else if (currentArg.equalsIgnoreCase("-recordIndexed") && (i < args.length + 1)) {
+				setup.recordIndexedFilename = args[i + 1];
+				i++;
 			} else if (currentArg.equalsIgnoreCase("-replay") && (i < args.length + 1)) {
 				setup.replayFilename = args[i + 1];
 				i++;
@@ -302,7 +307,8 @@ public final class RobocodeMain extends RobocodeMainBase {
 	private void printUsage() {
 		System.out.print(
 				"Usage: robocode [-?] [-help] [-cwd path] [-battle filename [-results filename]\n"
-						+ "                [-record filename] [-recordXML filename] [-replay filename]\n"
+						+ "                [-record filename] [-recordXML filename] [-recordIndexed filename]\n"
+						+ "                [-replay filename]\n"
 						+ "                [-tps tps] [-minimize] [-nodisplay] [-nosound]\n"
 						+ "\n"
 						+ "where options include:\n"
@@ -312,6 +318,8 @@ public final class RobocodeMain extends RobocodeMainBase {
 						+ "  -results <results file>    Save results to the specified text file\n"
 						+ "  -record <bin record file>  Record the battle into the specified file as binary\n"
 						+ "  -recordXML <xml rec file>  Record the battle into the specified file as XML\n"
+						+ "  -recordIndexed <rec file>  Record the battle into the specified file as indexed\n"
+						+ "                             binary, which can be seeked when replayed\n"
 						+ "  -replay <record file>      Replay the specified battle record\n"
 						+ "  -tps <tps>                 Set the TPS > 0 (Turns Per Second)\n"
 						+ "  -minimize                  Run minimized when Robocode starts\n"
@@ -330,6 +338,8 @@ public final class RobocodeMain extends RobocodeMainBase {
 						+ "  -DlogErrors=true|false     Log errors will be disabled\n"
 						+ "  -DEXPERIMENTAL=true|false  Enable/disable access to peer in robot interfaces\n"
 						+ "  -DPARALLEL=true|false      Enable/disable parallel processing of robots turns\n"
+						+ "  -DLOCKSTEP=true|false      Enable/disable waiting for robots by their CPU time\n"
+						+ "                             only, so battles do not depend on machine speed\n"
 						+ "  -DRANDOMSEED=<long number> Set seed for deterministic behavior of random\n"
 						+ "                             numbers\n");
 	}
@@ -371,9 +381,13 @@ public final class RobocodeMain extends RobocodeMainBase {
 		}
 	}
 	
-	private class BattleObserver extends BattleAdaptor {
+	private class BattleObserver extends BattleAdaptor implements ITurnSnapshotListener {
 		boolean isReplay;
 
+		public int getTurnSnapshotInterval() {
+			return NO_TURN_SNAPSHOTS;
+		}
+
 		@Override
 		public void onBattleStarted(BattleStartedEvent event) {
 			isReplay = event.isReplay();
@@ -391,6 +405,10 @@ public final class RobocodeMain extends RobocodeMainBase {
 			if (setup.recordXmlFilename != null) {
 				recordManager.saveRecord(setup.recordXmlFilename, BattleRecordFormat.XML, new SerializableOptions(false));
 			}
+			if (setup.recordIndexedFilename != null) {
+				recordManager.saveRecord(setup.recordIndexedFilename, BattleRecordFormat.BINARY_INDEXED,
+						new SerializableOptions(false));
+			}
 		}
 
 		@Override
@@ -87,6 +87,44 @@ public final class ExecCommands implements Serializable {
 		}
 	}
 
+	/**
+	 * Copies the commands into this instance like {@link #ExecCommands(ExecCommands, boolean)}, so the instance can
+	 * be reused. The bullets, team messages and debug properties are copied into the lists of this instance.
+	 */
+	public void set(ExecCommands origin, boolean fromRobot) {
+		bodyTurnRemaining = origin.bodyTurnRemaining;
+		radarTurnRemaining = origin.radarTurnRemaining;
+		gunTurnRemaining = origin.gunTurnRemaining;
+		distanceRemaining = origin.distanceRemaining;
+		isAdjustGunForBodyTurn = origin.isAdjustGunForBodyTurn;
+		isAdjustRadarForGunTurn = origin.isAdjustRadarForGunTurn;
+		isAdjustRadarForBodyTurn = origin.isAdjustRadarForBodyTurn;
+		isAdjustRadarForBodyTurnSet = origin.isAdjustRadarForBodyTurnSet;
+		maxTurnRate = origin.maxTurnRate;
+		maxVelocity = origin.maxVelocity;
+		copyColors(origin);
+		isIORobot = false;
+		bullets.clear();
+		teamMessages.clear();
+		debugProperties.clear();
+		if (fromRobot) {
+			debugProperties.addAll(origin.debugProperties);
+			bullets.addAll(origin.bullets);
+			teamMessages.addAll(origin.teamMessages);
+			scan = origin.scan;
+			moved = origin.moved;
+			graphicsCalls = origin.graphicsCalls;
+			outputText = origin.outputText;
+			isTryingToPaint = origin.isTryingToPaint;
+		} else {
+			scan = false;
+			moved = false;
+			graphicsCalls = null;
+			outputText = null;
+			isTryingToPaint = false;
+		}
+	}
+
 	public void copyColors(ExecCommands origin) {
 		if (origin != null) {
 			bodyColor = origin.bodyColor;
@@ -47,6 +47,20 @@ public final class ExecResults implements Serializable {
 
 	private ExecResults() {}
 
+	/**
+	 * Replaces the results, so the instance can be reused.
+	 */
+	public void set(ExecCommands commands, RobotStatus status, List<Event> events, List<TeamMessage> teamMessages, List<BulletStatus> bulletUpdates, boolean halt, boolean shouldWait, boolean paintEnabled) {
+		this.commands = commands;
+		this.status = status;
+		this.events = events;
+		this.teamMessages = teamMessages;
+		this.bulletUpdates = bulletUpdates;
+		this.halt = halt;
+		this.shouldWait = shouldWait;
+		this.paintEnabled = paintEnabled;
+	}
+
 	public ExecCommands getCommands() {
 		return commands;
 	}
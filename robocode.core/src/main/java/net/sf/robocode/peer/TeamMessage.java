@@ -22,15 +22,24 @@ public class TeamMessage implements Serializable {
 	private static final long serialVersionUID = 1L;
 
 	public TeamMessage(String sender, String recipient, byte[] message) {
+		this(sender, recipient, message, false);
+	}
+
+	/**
+	 * @param binary true if the message holds the bytes sent by the robot, which are passed on as they are;
+	 *               false if the message holds a serialized object.
+	 */
+	public TeamMessage(String sender, String recipient, byte[] message, boolean binary) {
 		this.sender = sender;
 		this.recipient = recipient;
 		this.message = message;
-
+		this.binary = binary;
 	}
 
 	public final String sender;
 	public final String recipient;
 	public final byte[] message;
+	public final boolean binary;
 
 	static ISerializableHelper createHiddenSerializer() {
 		return new SerializableHelper();
@@ -43,7 +52,7 @@ public class TeamMessage implements Serializable {
 			final int r = serializer.sizeOf(obj.recipient);
 			final int m = serializer.sizeOf(obj.message);
 
-			return RbSerializer.SIZEOF_TYPEINFO + s + r + m;
+			return RbSerializer.SIZEOF_TYPEINFO + s + r + m + RbSerializer.SIZEOF_BOOL;
 		}
 
 		public void serialize(RbSerializer serializer, ByteBuffer buffer, Object object) {
@@ -52,14 +61,16 @@ public class TeamMessage implements Serializable {
 			serializer.serialize(buffer, obj.sender);
 			serializer.serialize(buffer, obj.recipient);
 			serializer.serialize(buffer, obj.message);
+			serializer.serialize(buffer, obj.binary);
 		}
 
 		public Object deserialize(RbSerializer serializer, ByteBuffer buffer) {
 			String sender = serializer.deserializeString(buffer);
 			String recipient = serializer.deserializeString(buffer);
 			byte[] message = serializer.deserializeBytes(buffer);
+			boolean binary = serializer.deserializeBoolean(buffer);
 
-			return new TeamMessage(sender, recipient, message);
+			return new TeamMessage(sender, recipient, message, binary);
 		}
 	}
 
@@ -14,6 +14,11 @@ package net.sf.robocode.recording;
 public enum BattleRecordFormat {
 	BINARY,
 	BINARY_ZIP,
+	/**
+	 * Binary record split into blocks of turns that are compressed one by one, with an index of the rounds and turns
+	 * at the end of the file. Any turn can be read without reading the turns before it.
+	 */
+	BINARY_INDEXED,
 	XML,
 	XML_ZIP,
 	CSV
@@ -37,7 +37,6 @@ public interface IRepositoryManager extends IRepositoryManagerBase {
 	void refresh(String friendlyUrl);
 
 	boolean refresh(boolean force);
-	void reload(boolean forced);
 
 	List<IRobotSpecItem> getRepositoryItems(boolean onlyWithSource, boolean onlyWithPackage,
 			boolean onlyRobots, boolean onlyDevelopment, boolean onlyNotDevelopment, boolean ignoreTeamRobots, boolean onlyInJar);
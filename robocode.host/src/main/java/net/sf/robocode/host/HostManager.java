@@ -77,7 +77,8 @@ public class HostManager implements IHostManager {
 		return threadManager.getRobotOutputStream();
 	}
 
-	public void cleanup() {// TODO
+	public void cleanup() {
+		threadManager.dispose();
 	}
 
 	public String[] getReferencedClasses(IRobotItem robotItem) {
@@ -11,6 +11,7 @@ package net.sf.robocode.host;
 import net.sf.robocode.security.IThreadManagerBase;
 
 import java.io.PrintStream;
+import java.util.List;
 
 
 /**
@@ -19,6 +20,34 @@ import java.io.PrintStream;
 public interface IThreadManager extends IThreadManagerBase {
 	void addThreadGroup(ThreadGroup g, IHostedThread robotProxy);
 
+	/**
+	 * Registers a robot thread that does not belong to a thread group of its own, e.g. a virtual thread.
+	 *
+	 * @param t the robot thread
+	 * @param robotProxy the robot that owns the thread
+	 */
+	void addThread(Thread t, IHostedThread robotProxy);
+
+	/**
+	 * Registers the current thread as a robot thread, as with {@link #addThread(Thread, IHostedThread)}, and lets the
+	 * threads it starts be registered for the same robot when they are looked up. Used by virtual robot threads, as
+	 * the threads they start are not in a thread group of the robot.
+	 *
+	 * @param robotProxy the robot that owns the current thread
+	 */
+	void addCurrentThread(IHostedThread robotProxy);
+
+	void removeThread(Thread t);
+
+	/**
+	 * Returns the threads registered for a robot with {@link #addThread(Thread, IHostedThread)} or
+	 * {@link #addCurrentThread(IHostedThread)}, including the threads started by them.
+	 *
+	 * @param robotProxy the robot
+	 * @return the registered threads of the robot
+	 */
+	List<Thread> getThreads(IHostedThread robotProxy);
+
 	IHostedThread getLoadingRobotProxy(Thread t);
 
 	IHostedThread getLoadedOrLoadingRobotProxy(Thread t);
@@ -58,4 +87,9 @@ public interface IThreadManager extends IThreadManagerBase {
 	PrintStream getRobotOutputStream();
 
 	boolean checkRobotFileStream();
+
+	/**
+	 * Stops looking up robot threads in this thread manager, when the engine owning it is closed.
+	 */
+	void dispose();
 }
@@ -18,9 +18,9 @@ import net.sf.robocode.host.security.ThreadManager;
  */
 public class Module extends BaseModule {
 	static {
-		Container.cache.addComponent(IHostManager.class, HostManager.class);
+		Container.addEngineComponent(IHostManager.class, HostManager.class);
 		Container.cache.addComponent(ICpuManager.class, CpuManager.class);
-		Container.cache.addComponent(IThreadManager.class, ThreadManager.class);
+		Container.addEngineComponent(IThreadManager.class, ThreadManager.class);
 		Container.cache.addComponent("robocode.host.java", JavaHost.class);
 	}
 }
@@ -129,164 +129,77 @@ public final class EventManager implements IEventManager {
 	 * Returns a list containing all events currently in the robot's queue.
 	 */
 	public List<Event> getAllEvents() {
-		List<Event> events = new ArrayList<Event>();
-		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				events.add(e);
-			}
-		}
-		return events;
+		return eventQueue.getAll();
 	}
 
 	/**
 	 * Returns a list containing all BulletHitBulletEvents currently in the robot's queue.
 	 */
 	public List<BulletHitBulletEvent> getBulletHitBulletEvents() {
-		List<BulletHitBulletEvent> events = new ArrayList<BulletHitBulletEvent>();
-		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof BulletHitBulletEvent) {
-					events.add((BulletHitBulletEvent) e);
-				}
-			}
-		}
-		return events;
+		return eventQueue.getEvents(BulletHitBulletEvent.class);
 	}
 
 	/**
 	 * Returns a list containing all BulletHitEvents currently in the robot's queue.
 	 */
 	public List<BulletHitEvent> getBulletHitEvents() {
-		List<BulletHitEvent> events = new ArrayList<BulletHitEvent>();
-		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof BulletHitEvent) {
-					events.add((BulletHitEvent) e);
-				}
-			}
-		}
-		return events;
+		return eventQueue.getEvents(BulletHitEvent.class);
 	}
 
 	/**
 	 * Returns a list containing all BulletMissedEvents currently in the robot's queue.
 	 */
 	public List<BulletMissedEvent> getBulletMissedEvents() {
-		List<BulletMissedEvent> events = new ArrayList<BulletMissedEvent>();
-		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof BulletMissedEvent) {
-					events.add((BulletMissedEvent) e);
-				}
-			}
-		}
-		return events;
+		return eventQueue.getEvents(BulletMissedEvent.class);
 	}
 
 	/**
 	 * Returns a list containing all HitByBulletEvents currently in the robot's queue.
 	 */
 	public List<HitByBulletEvent> getHitByBulletEvents() {
-		List<HitByBulletEvent> events = new ArrayList<HitByBulletEvent>();
-		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof HitByBulletEvent) {
-					events.add((HitByBulletEvent) e);
-				}
-			}
-		}
-		return events;
+		return eventQueue.getEvents(HitByBulletEvent.class);
 	}
 
 	/**
 	 * Returns a list containing all HitRobotEvents currently in the robot's queue.
 	 */
 	public List<HitRobotEvent> getHitRobotEvents() {
-		List<HitRobotEvent> events = new ArrayList<HitRobotEvent>();
-
-		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof HitRobotEvent) {
-					events.add((HitRobotEvent) e);
-				}
-			}
-		}
-		return events;
+		return eventQueue.getEvents(HitRobotEvent.class);
 	}
 
 	/**
 	 * Returns a list containing all HitWallEvents currently in the robot's queue.
 	 */
 	public List<HitWallEvent> getHitWallEvents() {
-		List<HitWallEvent> events = new ArrayList<HitWallEvent>();
-		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof HitWallEvent) {
-					events.add((HitWallEvent) e);
-				}
-			}
-		}
-		return events;
+		return eventQueue.getEvents(HitWallEvent.class);
 	}
 
 	/**
 	 * Returns a list containing all RobotDeathEvents currently in the robot's queue.
 	 */
 	public List<RobotDeathEvent> getRobotDeathEvents() {
-		List<RobotDeathEvent> events = new ArrayList<RobotDeathEvent>();
-		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof RobotDeathEvent) {
-					events.add((RobotDeathEvent) e);
-				}
-			}
-		}
-		return events;
+		return eventQueue.getEvents(RobotDeathEvent.class);
 	}
 
 	/**
 	 * Returns a list containing all ScannedRobotEvents currently in the robot's queue.
 	 */
 	public List<ScannedRobotEvent> getScannedRobotEvents() {
-		List<ScannedRobotEvent> events = new ArrayList<ScannedRobotEvent>();
-		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof ScannedRobotEvent) {
-					events.add((ScannedRobotEvent) e);
-				}
-			}
-		}
-		return events;
+		return eventQueue.getEvents(ScannedRobotEvent.class);
 	}
 
 	/**
 	 * Returns a list containing all MessageEvents currently in the robot's queue.
 	 */
 	public List<MessageEvent> getMessageEvents() {
-		List<MessageEvent> events = new ArrayList<MessageEvent>();
-		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof MessageEvent) {
-					events.add((MessageEvent) e);
-				}
-			}
-		}
-		return events;
+		return eventQueue.getEvents(MessageEvent.class);
 	}
 
 	/**
 	 * Returns a list containing all StatusEvents currently in the robot's queue.
 	 */
 	public List<StatusEvent> getStatusEvents() {
-		List<StatusEvent> events = new ArrayList<StatusEvent>();
-		synchronized (eventQueue) {
-			for (Event e : eventQueue) {
-				if (e instanceof StatusEvent) {
-					events.add((StatusEvent) e);
-				}
-			}
-		}
-		return events;
+		return eventQueue.getEvents(StatusEvent.class);
 	}
 
 	/**
@@ -349,12 +262,9 @@ public final class EventManager implements IEventManager {
 			}
 		}
 
-		// Sort the events based on the time and priority of the events
-		eventQueue.sort();
-
-		// Process event queue here
+		// Process event queue here, where the events are ordered by the time and priority of the events
 		Event currentEvent;
-		while ((currentEvent = (eventQueue.size() > 0) ? eventQueue.get(0) : null) != null
+		while ((currentEvent = eventQueue.peek()) != null
 				&& currentEvent.getPriority() >= currentTopEventPriority) {
 
 			if (currentEvent.getPriority() == currentTopEventPriority) {
@@ -373,7 +283,7 @@ public final class EventManager implements IEventManager {
 			currentTopEventPriority = currentEvent.getPriority();
 			currentTopEvent = currentEvent;
 
-			eventQueue.remove(currentEvent);
+			eventQueue.poll();
 			try {
 				dispatch(currentEvent);
 
@@ -12,42 +12,261 @@ import net.sf.robocode.security.HiddenAccess;
 import robocode.Event;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 
 /**
+ * Queue of the events of a robot, which is ordered by the time and priority of the events as defined by
+ * {@link Event#compareTo(Event)}. Events that are equal are kept in the order they were added.
+ * <p>
+ * The events are kept in a binary heap, so an event is added or removed in O(log n) time. In addition, the events
+ * of each event class are kept in a list in the same order, so the events of a class are returned without searching
+ * the queue, and old events are cleared in bulk.
+ *
  * @author Mathew A. Nelson (original)
  * @author Flemming N. Larsen (contributor)
  */
-@SuppressWarnings("serial")
-public class EventQueue extends ArrayList<Event> {
+public class EventQueue {
 
-	public void clear(boolean includingSystemEvents) {
+	private static final int INITIAL_CAPACITY = 32;
+
+	private Event[] heap = new Event[INITIAL_CAPACITY];
+	private long[] order = new long[INITIAL_CAPACITY]; // when the events in the heap were added
+	private int size;
+	private long added;
+
+	private final Map<Class<?>, List<Event>> eventsByClass = new HashMap<Class<?>, List<Event>>();
+
+	public synchronized int size() {
+		return size;
+	}
+
+	public synchronized boolean isEmpty() {
+		return size == 0;
+	}
+
+	public synchronized void add(Event event) {
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, size * 2);
+			order = Arrays.copyOf(order, size * 2);
+		}
+		heap[size] = event;
+		order[size] = added++;
+		siftUp(size++);
+
+		List<Event> events = eventsByClass.get(event.getClass());
+
+		if (events == null) {
+			events = new ArrayList<Event>();
+			eventsByClass.put(event.getClass(), events);
+		}
+		// Insert after all events that are equal to the event
+		int low = 0;
+		int high = events.size();
+
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+
+			if (events.get(mid).compareTo(event) <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		events.add(low, event);
+	}
+
+	/**
+	 * Returns the first event of the queue without removing it.
+	 *
+	 * @return the first event, or null if the queue is empty.
+	 */
+	public synchronized Event peek() {
+		return size == 0 ? null : heap[0];
+	}
+
+	/**
+	 * Removes the first event of the queue.
+	 *
+	 * @return the removed event, or null if the queue is empty.
+	 */
+	public synchronized Event poll() {
+		if (size == 0) {
+			return null;
+		}
+		Event event = heap[0];
+
+		size--;
+		heap[0] = heap[size];
+		order[0] = order[size];
+		heap[size] = null;
+		siftDown(0);
+
+		List<Event> events = eventsByClass.get(event.getClass());
+
+		for (int i = 0; i < events.size(); i++) {
+			if (events.get(i) == event) {
+				events.remove(i);
+				break;
+			}
+		}
+		return event;
+	}
+
+	/**
+	 * Returns all events of the queue in the order they are processed.
+	 */
+	public synchronized List<Event> getAll() {
+		Integer[] indexes = new Integer[size];
+
+		for (int i = 0; i < size; i++) {
+			indexes[i] = i;
+		}
+		Arrays.sort(indexes, new Comparator<Integer>() {
+			public int compare(Integer i, Integer j) {
+				return EventQueue.this.compare(i, j);
+			}
+		});
+
+		List<Event> all = new ArrayList<Event>(size);
+
+		for (Integer index : indexes) {
+			all.add(heap[index]);
+		}
+		return all;
+	}
+
+	/**
+	 * Returns a copy of the events of a specific class, in the order they are processed.
+	 * The copy is owned by the caller, so it is not changed when events are added to or removed from the queue, and
+	 * it may be sorted or modified by the robot.
+	 *
+	 * @param eventClass the class of the events, where events of subclasses are not included.
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends Event> List<T> getEvents(Class<T> eventClass) {
+		List<Event> events = eventsByClass.get(eventClass);
+
+		return events == null ? new ArrayList<T>() : new ArrayList<T>((List<T>) (List<?>) events);
+	}
+
+	public synchronized void clear(boolean includingSystemEvents) {
 		if (includingSystemEvents) {
-			super.clear();
+			Arrays.fill(heap, 0, size, null);
+			size = 0;
+			eventsByClass.clear();
 			return;
 		}
+		boolean removed = false;
+
+		for (Iterator<List<Event>> it = eventsByClass.values().iterator(); it.hasNext();) {
+			List<Event> events = it.next();
+
+			// All events of a class are either critical or not
+			if (!events.isEmpty() && !HiddenAccess.isCriticalEvent(events.get(0))) {
+				it.remove();
+				removed = true;
+			}
+		}
+		if (removed) {
+			removeFromHeap(Long.MAX_VALUE);
+		}
+	}
+
+	public synchronized void clear(long clearTime) {
+		boolean removed = false;
+
+		for (List<Event> events : eventsByClass.values()) {
+			if (events.isEmpty() || HiddenAccess.isCriticalEvent(events.get(0))) {
+				continue;
+			}
+			// The events of a class are ordered by time first
+			int count = 0;
+
+			while (count < events.size() && events.get(count).getTime() <= clearTime) {
+				count++;
+			}
+			if (count > 0) {
+				events.subList(0, count).clear();
+				removed = true;
+			}
+		}
+		if (removed) {
+			removeFromHeap(clearTime);
+		}
+	}
+
+	// Removes the events that are not critical and not newer than the clear time, and restores the heap
+	private void removeFromHeap(long clearTime) {
+		int kept = 0;
 
-		for (int i = 0; i < size(); i++) {
-			Event e = get(i);
+		for (int i = 0; i < size; i++) {
+			Event event = heap[i];
 
-			if (!HiddenAccess.isCriticalEvent(e)) {
-				remove(i--);
+			if (event.getTime() > clearTime || HiddenAccess.isCriticalEvent(event)) {
+				heap[kept] = event;
+				order[kept] = order[i];
+				kept++;
 			}
 		}
+		Arrays.fill(heap, kept, size, null);
+		size = kept;
+
+		for (int i = (size >>> 1) - 1; i >= 0; i--) {
+			siftDown(i);
+		}
 	}
 
-	public void clear(long clearTime) {
-		for (int i = 0; i < size(); i++) {
-			Event e = get(i);
+	private void siftUp(int index) {
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
 
-			if ((e.getTime() <= clearTime) && !HiddenAccess.isCriticalEvent(e)) {
-				remove(i--);
+			if (compare(index, parent) >= 0) {
+				break;
 			}
+			swap(index, parent);
+			index = parent;
 		}
 	}
 
-	void sort() {
-		Collections.sort(this);
+	private void siftDown(int index) {
+		while (true) {
+			int child = 2 * index + 1;
+
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && compare(child + 1, child) < 0) {
+				child++;
+			}
+			if (compare(child, index) >= 0) {
+				break;
+			}
+			swap(index, child);
+			index = child;
+		}
+	}
+
+	private int compare(int i, int j) {
+		int result = heap[i].compareTo(heap[j]);
+
+		return result != 0 ? result : (order[i] < order[j] ? -1 : (order[i] == order[j] ? 0 : 1));
+	}
+
+	private void swap(int i, int j) {
+		Event event = heap[i];
+
+		heap[i] = heap[j];
+		heap[j] = event;
+
+		long swapped = order[i];
+
+		order[i] = order[j];
+		order[j] = swapped;
 	}
 }
@@ -17,9 +17,12 @@ import java.io.*;
 import java.net.JarURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
+import java.security.Permission;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -30,6 +33,9 @@ import java.util.jar.JarFile;
  * @author Robert D. Maupin (contributor)
  */
 public class RobotFileSystemManager {
+	// Upper bound for the number of cached permissions, as a robot could access any number of different files
+	private static final int MAX_GRANTED_PERMISSIONS = 1024;
+
 	private final IHostedThread robotProxy;
 	private long quotaUsed;
 	private boolean quotaMessagePrinted;
@@ -39,6 +45,7 @@ public class RobotFileSystemManager {
 	private final String readableRootDirectory;
 	private final String rootPath;
 	private final String dataDir;
+	private final Map<Permission, Boolean> grantedPermissions = new ConcurrentHashMap<Permission, Boolean>();
 
 	public RobotFileSystemManager(IHostedThread robotProxy, long maxQuota, String writableRootDirectory, String readableRootDirectory, String rootPath) {
 		this.robotProxy = robotProxy;
@@ -71,6 +78,7 @@ public class RobotFileSystemManager {
 
 	public synchronized void adjustQuota(long len) {
 		quotaUsed += len;
+		grantedPermissions.clear();
 	}
 
 	public void checkQuota() throws IOException {
@@ -176,9 +184,33 @@ public class RobotFileSystemManager {
 		return file;
 	}
 
+	/**
+	 * Checks if a permission was granted to the robot before, since the last change of the file system quota.
+	 * Used by the security policy for skipping the checks of permissions that are requested over and over again.
+	 *
+	 * @param permission the permission to check
+	 * @return true if the permission was granted before; false otherwise
+	 */
+	public boolean isGranted(Permission permission) {
+		return grantedPermissions.containsKey(permission);
+	}
+
+	/**
+	 * Remembers that a permission was granted to the robot, until the file system quota changes.
+	 *
+	 * @param permission the granted permission
+	 */
+	public void setGranted(Permission permission) {
+		if (grantedPermissions.size() >= MAX_GRANTED_PERMISSIONS) {
+			grantedPermissions.clear();
+		}
+		grantedPermissions.put(permission, Boolean.TRUE);
+	}
+
 	private void initializeQuota() {
 		quotaUsed = 0;
 		quotaMessagePrinted = false;
+		grantedPermissions.clear();
 
 		File dataDirectory = getWritableDirectory();
 
@@ -18,6 +18,7 @@ import robocode.MessageEvent;
 import robocode.robotinterfaces.peer.ITeamRobotPeer;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 
@@ -89,12 +90,47 @@ public class TeamRobotProxy extends AdvancedRobotProxy implements ITeamRobotPeer
 
 	}
 
+	public void broadcastBinaryMessage(ByteBuffer message) throws IOException {
+		sendBinaryMessage(null, message);
+	}
+
+	public void sendBinaryMessage(String name, ByteBuffer message) throws IOException {
+		setCall();
+
+		try {
+			if (!statics.isTeamRobot()) {
+				throw new IOException("You are not on a team.");
+			}
+			if (message == null) {
+				throw new IOException("Message is null.");
+			}
+			final int size = message.remaining();
+
+			if (size > MAX_MESSAGE_SIZE) {
+				throw new IOException("Message too big. " + size + ">" + MAX_MESSAGE_SIZE);
+			}
+			// The bytes are copied once here, and then shared by all recipients as read-only buffers
+			final byte[] bytes = new byte[size];
+
+			message.duplicate().get(bytes);
+			commands.getTeamMessages().add(new TeamMessage(getName(), name, bytes, true));
+		} catch (IOException e) {
+			out.printStackTrace(e);
+			throw e;
+		}
+	}
+
 	@Override
 	protected final void loadTeamMessages(List<TeamMessage> teamMessages) {
 		if (teamMessages == null) {
 			return;
 		}
 		for (TeamMessage teamMessage : teamMessages) {
+			if (teamMessage.binary) {
+				eventManager.add(
+						MessageEvent.binaryMessageEvent(teamMessage.sender, ByteBuffer.wrap(teamMessage.message).asReadOnlyBuffer()));
+				continue;
+			}
 			try {
 				ByteArrayInputStream byteStreamReader = new ByteArrayInputStream(teamMessage.message);
 				byteStreamReader.reset();
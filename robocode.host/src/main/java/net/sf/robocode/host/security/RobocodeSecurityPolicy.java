@@ -125,23 +125,32 @@ public class RobocodeSecurityPolicy extends Policy {
 			throw new ThreadDeath();
 		}
 
+		// Get the fileSystemManager, which holds the permissions granted to the robot before
+		RobotFileSystemManager fileSystemManager = robotProxy.getRobotFileSystemManager();
+
+		// Permissions granted to the robot before are not checked again
+		if (fileSystemManager != null && fileSystemManager.isGranted(perm)) {
+			return true;
+		}
+
 		// FilePermission access request.
-		if (perm instanceof FilePermission) {
+		if (perm instanceof FilePermission && fileSystemManager != null) {
 			FilePermission filePermission = (FilePermission) perm;
-			// Get the fileSystemManager
-			RobotFileSystemManager fileSystemManager = robotProxy.getRobotFileSystemManager();
 
 			// Robot wants access to read something
 			if (filePermission.getActions().equals("read")) {
-				return impliesRobotFileRead(robotProxy, fileSystemManager, filePermission);
+				return grant(fileSystemManager, perm,
+						impliesRobotFileRead(robotProxy, fileSystemManager, filePermission));
 
 			} // Robot wants access to write something
 			else if (filePermission.getActions().equals("write")) {
+				// File writes are never cached, as each write must be done by a RobocodeOutputStream
 				return impliesRobotFileWrite(robotProxy, fileSystemManager, filePermission);
 
 			} // Robot wants access to write something
 			else if (filePermission.getActions().equals("delete")) {
-				return impliesRobotFileDelete(robotProxy, fileSystemManager, filePermission);
+				return grant(fileSystemManager, perm,
+						impliesRobotFileDelete(robotProxy, fileSystemManager, filePermission));
 
 			}
 		}
@@ -149,7 +158,7 @@ public class RobocodeSecurityPolicy extends Policy {
 		// check package access
 		if (perm instanceof RuntimePermission) {
 			if (name.startsWith("accessClassInPackage.")) {
-				return impliesRobotPackageAccess(robotProxy, name.substring(21));
+				return grant(fileSystemManager, perm, impliesRobotPackageAccess(robotProxy, name.substring(21)));
 			} else if (name.equals("accessDeclaredMembers")) {
 				return true;
 			}
@@ -162,6 +171,14 @@ public class RobocodeSecurityPolicy extends Policy {
 		return false;
 	}
 
+	// Only granted permissions are cached, as a denied permission must punish the robot every time
+	private static boolean grant(RobotFileSystemManager fileSystemManager, Permission perm, boolean granted) {
+		if (granted && fileSystemManager != null) {
+			fileSystemManager.setGranted(perm);
+		}
+		return granted;
+	}
+
 	private boolean impliesRobotPackageAccess(IHostedThread robotProxy, String packageName) {
 		if (packageName.startsWith("robocode.control") || packageName.startsWith("net.sf.robocode")) {
 			if (allowedPackages.contains(packageName)) {
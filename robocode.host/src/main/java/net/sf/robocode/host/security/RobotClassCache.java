@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.security;
+
+
+import net.sf.robocode.io.Logger;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+
+/**
+ * Cache of robot class files shared by the {@link RobotClassLoader}s of all battles, so the same robot classes are
+ * not read and analyzed again each time a robot is loaded.
+ * <p>
+ * Class files are cached by their URL, and are read again when the size or modification time of the jar file or
+ * class file they are read from has changed. The classes referenced by a class file are cached by the hash of its
+ * content, so identical classes in different robot jars are only analyzed once.
+ * Both caches evict the least recently used entries. The size of the class file cache is set in MB with the
+ * CLASSCACHESIZE system property, where 0 disables the cache.
+ */
+final class RobotClassCache {
+
+	private static final long MAX_CACHED_BYTES = Long.getLong("CLASSCACHESIZE", 64) * 1024 * 1024;
+	private static final int MAX_CACHED_ANALYSES = 16 * 1024;
+
+	private static final Map<String, CachedClass> classes = new LinkedHashMap<String, CachedClass>(256, 0.75f, true);
+	private static long cachedBytes;
+
+	private static final Map<ByteBuffer, Set<String>> analyses = new LinkedHashMap<ByteBuffer, Set<String>>(256, 0.75f,
+			true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Set<String>> eldest) {
+			return size() > MAX_CACHED_ANALYSES;
+		}
+	};
+
+	/**
+	 * A class file that has been read and analyzed.
+	 */
+	static final class CachedClass {
+		private final String url;
+		private final long lastModified;
+		private final long length;
+		private final byte[] bytes;
+		private final Set<String> referencedClasses;
+
+		private CachedClass(String url, long lastModified, long length, byte[] bytes, Set<String> referencedClasses) {
+			this.url = url;
+			this.lastModified = lastModified;
+			this.length = length;
+			this.bytes = bytes;
+			this.referencedClasses = referencedClasses;
+		}
+
+		/**
+		 * Returns the content of the class file, which must not be modified.
+		 */
+		ByteBuffer getBytes() {
+			return ByteBuffer.wrap(bytes);
+		}
+
+		Set<String> getReferencedClasses() {
+			return referencedClasses;
+		}
+	}
+
+	private RobotClassCache() {}
+
+	/**
+	 * Returns a class file from the cache, or reads and analyzes it. The class file is not added to the cache, which
+	 * is done with {@link #put(CachedClass)} when the class has been defined successfully.
+	 *
+	 * @param url the URL of the class file
+	 * @return the class file, or null if it could not be read
+	 */
+	static CachedClass get(URL url) {
+		final String key = url.toString();
+		final File container = getContainer(key);
+		final long lastModified = container == null ? 0 : container.lastModified();
+		final long length = container == null ? 0 : container.length();
+
+		if (container != null && MAX_CACHED_BYTES > 0) {
+			synchronized (RobotClassCache.class) {
+				CachedClass cached = classes.get(key);
+
+				if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+					return cached;
+				}
+			}
+		}
+
+		final ByteBuffer classFile = ClassFileReader.readClassFileFromURL(url);
+
+		if (classFile == null) {
+			return null;
+		}
+		final byte[] bytes = Arrays.copyOf(classFile.array(), classFile.limit());
+
+		// Only class files from local files can be checked for changes
+		final String cacheKey = container != null ? key : null;
+
+		return new CachedClass(cacheKey, lastModified, length, bytes, getReferencedClasses(bytes));
+	}
+
+	/**
+	 * Adds a class file to the cache.
+	 *
+	 * @param cached the class file that was returned by {@link #get(URL)}
+	 */
+	static synchronized void put(CachedClass cached) {
+		if (cached.url == null || cached.bytes.length > MAX_CACHED_BYTES || classes.get(cached.url) == cached) {
+			return;
+		}
+		CachedClass replaced = classes.put(cached.url, cached);
+
+		if (replaced != null) {
+			cachedBytes -= replaced.bytes.length;
+		}
+		cachedBytes += cached.bytes.length;
+
+		Iterator<CachedClass> it = classes.values().iterator();
+
+		while (cachedBytes > MAX_CACHED_BYTES && it.hasNext()) {
+			cachedBytes -= it.next().bytes.length;
+			it.remove();
+		}
+	}
+
+	private static Set<String> getReferencedClasses(byte[] bytes) {
+		final ByteBuffer hash = hash(bytes);
+
+		if (hash != null) {
+			synchronized (RobotClassCache.class) {
+				Set<String> referencedClasses = analyses.get(hash);
+
+				if (referencedClasses != null) {
+					return referencedClasses;
+				}
+			}
+		}
+
+		Set<String> referencedClasses = new HashSet<String>();
+
+		ClassAnalyzer.getReferencedClasses(ByteBuffer.wrap(bytes), referencedClasses);
+		referencedClasses = Collections.unmodifiableSet(referencedClasses);
+
+		if (hash != null) {
+			synchronized (RobotClassCache.class) {
+				analyses.put(hash, referencedClasses);
+			}
+		}
+		return referencedClasses;
+	}
+
+	private static ByteBuffer hash(byte[] bytes) {
+		try {
+			return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(bytes));
+		} catch (NoSuchAlgorithmException e) {
+			Logger.logError(e);
+			return null;
+		}
+	}
+
+	// Returns the local jar file or class file, which the class file with the URL is read from
+	private static File getContainer(String url) {
+		if (url.startsWith("jar:")) {
+			int index = url.indexOf("!/");
+
+			if (index < 0) {
+				return null;
+			}
+			url = url.substring(4, index);
+		}
+		if (!url.startsWith("file:")) {
+			return null;
+		}
+		try {
+			return new File(new URI(url));
+		} catch (URISyntaxException e) {
+			return null;
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+}
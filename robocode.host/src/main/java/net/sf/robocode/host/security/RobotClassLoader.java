@@ -21,7 +21,6 @@ import java.lang.reflect.Modifier;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
-import java.nio.ByteBuffer;
 import java.security.*;
 import java.security.cert.Certificate;
 import java.util.*;
@@ -122,13 +121,16 @@ public class RobotClassLoader extends URLClassLoader implements IRobotClassLoade
 	private Class<?> loadRobotClassLocally(String name, boolean resolve) throws ClassNotFoundException {
 		Class<?> result = findLoadedClass(name);
 		if (result == null) {
-			ByteBuffer resource = findLocalResource(name);
+			RobotClassCache.CachedClass resource = findLocalResource(name);
 			if (resource != null) {
-				result = defineClass(name, resource, codeSource);
+				result = defineClass(name, resource.getBytes(), codeSource);
 				if (resolve) {
 					resolveClass(result);
 				}
-				ClassAnalyzer.getReferencedClasses(resource, referencedClasses);
+				referencedClasses.addAll(resource.getReferencedClasses());
+
+				// the class was accepted, so it can be reused by the robots in the next battles
+				RobotClassCache.put(resource);
 			}
 		}
 		return result;
@@ -136,15 +138,15 @@ public class RobotClassLoader extends URLClassLoader implements IRobotClassLoade
 
 	// this whole fun is there to be able to provide defineClass with bytes
 	// we need to call defineClass to be able to set codeSource to untrustedLocation  
-	private ByteBuffer findLocalResource(final String name) {
-		return AccessController.doPrivileged(new PrivilegedAction<ByteBuffer>() {
-			public ByteBuffer run() {
+	private RobotClassCache.CachedClass findLocalResource(final String name) {
+		return AccessController.doPrivileged(new PrivilegedAction<RobotClassCache.CachedClass>() {
+			public RobotClassCache.CachedClass run() {
 				// try to find it in robot's class path
 				// this is URL, don't change to File.pathSeparator
 				String path = name.replace('.', '/').concat(".class");
 				URL url = findResource(path);
 
-				return ClassFileReader.readClassFileFromURL(url);
+				return url == null ? null : RobotClassCache.get(url);
 			}
 		});
 	}
@@ -38,27 +38,49 @@ public class RobotThreadManager {
 	private static final long INTERRUPT_JOIN_MS = 1000;
 	private static final long STOP_JOIN_MS = 3000;
 
+	private static final boolean VIRTUAL_THREADS = isVirtualThreadsEnabled();
+
+	// Keeps the run thread of a robot for the next round instead of creating a new thread for each round
+	private static final boolean REUSE_THREADS = System.getProperty("REUSETHREADS", "false").equals("true");
+
 	private final IHostedThread robotProxy;
 	private Thread runThread;
+	private RoundRunner roundRunner;
 	private ThreadGroup runThreadGroup;
+	private IThreadManager threadManager;
 	private boolean awtInitialized = false;
 
 	public RobotThreadManager(IHostedThread robotProxy) {
 		this.robotProxy = robotProxy;
-		createThreadGroup();
+		if (!VIRTUAL_THREADS) {
+			createThreadGroup();
+		}
 	}
 
 	public void cleanup() {
+		finishRoundRunner();
 		try {
 			if (runThread == null || !runThread.isAlive()) {
-				if (!discardAWT()) {
+				if (!discardAWT() && runThreadGroup != null) {
 					runThreadGroup.destroy();
 				}
 			} else {
 				Logger.logWarning("Could not destroy " + runThread.getName());
 			}
 		} catch (Exception e) {
-			Logger.logError("Could not destroy " + runThreadGroup.getName(), e);
+			// There is no thread group, when the robot runs in a virtual thread
+			Logger.logError("Could not destroy " + robotProxy.getStatics().getName(), e);
+		}
+		if (threadManager != null) {
+			if (runThread != null) {
+				threadManager.removeThread(runThread);
+			}
+			if (runThreadGroup == null) {
+				// The threads started by a virtual run thread are registered one by one
+				for (Thread thread : threadManager.getThreads(robotProxy)) {
+					threadManager.removeThread(thread);
+				}
+			}
 		}
 	}
 
@@ -89,13 +111,46 @@ public class RobotThreadManager {
 	}
 
 	public void start(IThreadManager threadManager) {
+		this.threadManager = threadManager;
 		try {
-			threadManager.addThreadGroup(runThreadGroup, robotProxy);
+			if (roundRunner != null && roundRunner.isIdle() && runThread != null && runThread.isAlive()) {
+				// The run thread of the last round is waiting for the next round
+				if (VIRTUAL_THREADS) {
+					threadManager.addThread(runThread, robotProxy);
+				} else {
+					threadManager.addThreadGroup(runThreadGroup, robotProxy);
+				}
+				roundRunner.startRound();
+				return;
+			}
+			if (roundRunner != null) {
+				roundRunner.finish();
+			}
+			roundRunner = REUSE_THREADS ? new RoundRunner() : null;
+
+			final Runnable target = roundRunner != null ? roundRunner : robotProxy;
+
+			if (VIRTUAL_THREADS) {
+				// A virtual thread has no thread group of its own, so the thread itself is registered, and it
+				// registers itself again for the threads it starts
+				runThread = VirtualThreads.newThread(robotProxy.getStatics().getName(), new Runnable() {
+					public void run() {
+						RobotThreadManager.this.threadManager.addCurrentThread(robotProxy);
+						target.run();
+					}
+				});
+				threadManager.addThread(runThread, robotProxy);
+			} else {
+				threadManager.addThreadGroup(runThreadGroup, robotProxy);
 
-			runThread = new Thread(runThreadGroup, robotProxy, robotProxy.getStatics().getName());
-			runThread.setDaemon(true);
-			runThread.setPriority(Thread.NORM_PRIORITY - 1);
+				runThread = new Thread(runThreadGroup, target, robotProxy.getStatics().getName());
+				runThread.setDaemon(true);
+				runThread.setPriority(Thread.NORM_PRIORITY - 1);
+			}
 			runThread.setContextClassLoader(this.robotProxy.getRobotClassloader());
+			if (roundRunner != null) {
+				roundRunner.startRound();
+			}
 			runThread.start();
 		} catch (Exception e) {
 			logError("Exception starting thread", e);
@@ -108,19 +163,22 @@ public class RobotThreadManager {
 	public boolean waitForStop() {
 		boolean isAlive = false;
         Thread thr = runThread; // forceStop() can set to null concurrently
-		if (thr != null && thr.isAlive()) {
-			thr.interrupt();
-			waitForStop(thr);
-			isAlive = thr.isAlive();
-		}
-
-		Thread[] threads = new Thread[100];
+		RoundRunner runner = roundRunner;
 
-		if (runThreadGroup != null) {
-			runThreadGroup.enumerate(threads);
+		if (thr != null && thr.isAlive()) {
+			// The run thread is kept for the next round, when the robot ends its round in time
+			if (runner == null || !runner.stopRound(thr)) {
+				if (runner != null) {
+					// The robot does not end its round, so its thread must end instead
+					finishRoundRunner();
+				}
+				thr.interrupt();
+				waitForStop(thr);
+				isAlive = thr.isAlive();
+			}
 		}
 
-		for (Thread thread : threads) {
+		for (Thread thread : getGroupThreads()) {
 			if (thread != null && thread != thr && thread.isAlive()) {
 				thread.interrupt();
 				waitForStop(thread);
@@ -148,22 +206,28 @@ public class RobotThreadManager {
 	 * @return true as a peaceful stop
 	 */
 	public boolean forceStop() {
-		int res = stopSteps(runThread);
+		// The run thread must end instead of waiting for the next round
+		finishRoundRunner();
 
-		Thread[] threads = new Thread[100];
+		final Thread thr = runThread;
+		int res = stopSteps(thr);
 
-		runThreadGroup.enumerate(threads);
-
-		for (Thread thread : threads) {
-			if (thread != null && thread != runThread && thread.isAlive()) {
+		for (Thread thread : getGroupThreads()) {
+			if (thread != null && thread != thr && thread.isAlive()) {
 				res += stopSteps(thread);
 			}
 		}
 		if (res > 0) {
 			robotProxy.println("SYSTEM: This robot has been stopped.  No score will be generated.");
 
-			// recycle thread group
-			createThreadGroup();
+			if (runThreadGroup != null) {
+				// recycle thread group
+				createThreadGroup();
+			}
+		}
+		if (thr != null && threadManager != null) {
+			// cleanup() can no longer find the run thread to unregister it
+			threadManager.removeThread(thr);
 		}
 		runThread = null;
 		return res == 0;
@@ -211,8 +275,29 @@ public class RobotThreadManager {
 				logError("Sometimes this occurs in the Java core?!", e);
 			}
 			t.interrupt();
+			join(t, INTERRUPT_JOIN_MS);
+		}
+	}
+
+	// Lets the run thread end after its round, or right away if it is waiting for the next round
+	private void finishRoundRunner() {
+		RoundRunner runner = roundRunner;
+
+		if (runner != null) {
+			boolean idle = runner.isIdle();
+
+			runner.finish();
+			roundRunner = null;
+			if (idle) {
+				join(runThread, INTERRUPT_JOIN_MS);
+			}
+		}
+	}
+
+	private static void join(Thread t, long millis) {
+		if (t != null) {
 			try {
-				t.join(INTERRUPT_JOIN_MS);
+				t.join(millis);
 			} catch (InterruptedException e) {
 				// Immediately reasserts the exception by interrupting the caller thread itself
 				Thread.currentThread().interrupt();
@@ -249,6 +334,118 @@ public class RobotThreadManager {
 		}
 	}
 
+	/**
+	 * Returns the threads in the thread group of the robot. A robot running on a virtual thread has no
+	 * thread group of its own to enumerate, so the threads registered for the robot are returned instead.
+	 */
+	private Thread[] getGroupThreads() {
+		if (runThreadGroup == null) {
+			return threadManager == null
+					? new Thread[0]
+					: threadManager.getThreads(robotProxy).toArray(new Thread[0]);
+		}
+		Thread[] threads = new Thread[100];
+
+		runThreadGroup.enumerate(threads);
+		return threads;
+	}
+
+	private static boolean isVirtualThreadsEnabled() {
+		if (!System.getProperty("VIRTUALTHREADS", "false").equals("true")) {
+			return false;
+		}
+		if (RobocodeProperties.isSecurityOn()) {
+			// The security checks tell robots apart by the thread group of their threads
+			logMessage("Virtual threads cannot be used for robots when the security is on. Using platform threads.");
+			return false;
+		}
+		if (!VirtualThreads.isSupported()) {
+			logMessage("Virtual threads are not supported by this Java version. Using platform threads.");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Runs the rounds of a robot on the same thread. Between the rounds, the thread waits for the next round to
+	 * be started, or for being finished when the battle is over or the robot does not stop.
+	 */
+	private final class RoundRunner implements Runnable {
+		private boolean roundStarted;
+		private boolean finished;
+
+		public void run() {
+			while (awaitRound()) {
+				try {
+					robotProxy.run();
+				} finally {
+					endRound();
+				}
+			}
+		}
+
+		synchronized void startRound() {
+			roundStarted = true;
+			notifyAll();
+		}
+
+		synchronized void finish() {
+			finished = true;
+			notifyAll();
+		}
+
+		synchronized boolean isIdle() {
+			return !roundStarted && !finished;
+		}
+
+		/**
+		 * Interrupts the robot, and waits for it to end its round.
+		 *
+		 * @param thread the run thread
+		 * @return true if the round has ended; false if the robot did not end its round in time
+		 */
+		synchronized boolean stopRound(Thread thread) {
+			final long deadline = System.currentTimeMillis() + WAIT_STOP_TOTAL_MS;
+
+			while (roundStarted && thread.isAlive()) {
+				// Re-assert the interrupt in case the thread had not yet reached an interruptible point
+				thread.interrupt();
+
+				final long remaining = deadline - System.currentTimeMillis();
+
+				if (remaining <= 0) {
+					return false;
+				}
+				try {
+					wait(Math.min(remaining, REASSERT_INTERRUPT_EVERY_MS));
+				} catch (InterruptedException e) {
+					// Immediately reasserts the exception by interrupting the caller thread itself
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+			return !roundStarted;
+		}
+
+		private synchronized boolean awaitRound() {
+			while (!roundStarted && !finished) {
+				try {
+					wait();
+				} catch (InterruptedException ignore) {
+					// The interrupt was meant for ending the last round
+				}
+			}
+			// Clear an interrupt that was meant for ending the last round
+			Thread.interrupted();
+			return !finished;
+		}
+
+		private synchronized void endRound() {
+			roundStarted = false;
+			notifyAll();
+		}
+	}
+
 	private void createThreadGroup() {
 		runThreadGroup = new ThreadGroup(robotProxy.getStatics().getName());
 
@@ -20,7 +20,10 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 
@@ -31,18 +34,38 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class ThreadManager implements IThreadManager {
 
+	// The thread managers of all engines, as the security manager is only installed with the one of the default engine
+	private static final List<ThreadManager> managers = new CopyOnWriteArrayList<ThreadManager>();
+
 	private final PrintStream syserr = System.err;
 
 	private final List<Thread> safeThreads = new CopyOnWriteArrayList<Thread>();
 	private final List<ThreadGroup> safeThreadGroups = new CopyOnWriteArrayList<ThreadGroup>();
-	private final List<ThreadGroup> groups = new CopyOnWriteArrayList<ThreadGroup>();
+	private final Map<ThreadGroup, IHostedThread> groupRobots = new ConcurrentHashMap<ThreadGroup, IHostedThread>();
 	private final List<Thread> outputStreamThreads = new CopyOnWriteArrayList<Thread>();
-	private final List<IHostedThread> robots = new CopyOnWriteArrayList<IHostedThread>();
+	private final Map<Thread, IHostedThread> robotThreads = new ConcurrentHashMap<Thread, IHostedThread>();
+
+	// The robot of a thread registered with addCurrentThread(), which is inherited by the threads it starts
+	private final InheritableThreadLocal<IHostedThread> inheritedRobots = new InheritableThreadLocal<IHostedThread>();
 
 	private Thread robotLoaderThread;
 	private IHostedThread loadingRobot;
 
 	public ThreadManager() {
+		managers.add(this);
+	}
+
+	public void dispose() {
+		managers.remove(this);
+	}
+
+	/**
+	 * Returns the number of thread managers of the engines that have not been closed.
+	 *
+	 * @return the number of thread managers
+	 */
+	public static int getManagerCount() {
+		return managers.size();
 	}
 
 	public void addSafeThread(Thread safeThread) {
@@ -58,17 +81,51 @@ public class ThreadManager implements IThreadManager {
 	}
 
 	public void addThreadGroup(ThreadGroup g, IHostedThread robotProxy) {
-		if (!groups.contains(g)) {
-			groups.add(g);
-			robots.add(robotProxy);
+		groupRobots.putIfAbsent(g, robotProxy);
+	}
+
+	public void addThread(Thread t, IHostedThread robotProxy) {
+		robotThreads.put(t, robotProxy);
+	}
+
+	public void addCurrentThread(IHostedThread robotProxy) {
+		inheritedRobots.set(robotProxy);
+		robotThreads.put(Thread.currentThread(), robotProxy);
+	}
+
+	public void removeThread(Thread t) {
+		robotThreads.remove(t);
+	}
+
+	public List<Thread> getThreads(IHostedThread robotProxy) {
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for (Map.Entry<Thread, IHostedThread> entry : robotThreads.entrySet()) {
+			if (entry.getValue() == robotProxy) {
+				threads.add(entry.getKey());
+			}
 		}
+		return threads;
 	}
 
 	public synchronized IHostedThread getLoadingRobot() {
 		return loadingRobot;
 	}
 
-	public synchronized IHostedThread getLoadingRobotProxy(Thread t) {
+	public IHostedThread getLoadingRobotProxy(Thread t) {
+		IHostedThread robotProxy = findLoadingRobotProxy(t);
+
+		if (robotProxy == null) {
+			for (ThreadManager manager : managers) {
+				if (manager != this && (robotProxy = manager.findLoadingRobotProxy(t)) != null) {
+					break;
+				}
+			}
+		}
+		return robotProxy;
+	}
+
+	private synchronized IHostedThread findLoadingRobotProxy(Thread t) {
 		if (t != null && robotLoaderThread != null
 				&& (t.equals(robotLoaderThread)
 				|| (t.getThreadGroup() != null && t.getThreadGroup().equals(robotLoaderThread.getThreadGroup())))) {
@@ -77,7 +134,7 @@ public class ThreadManager implements IThreadManager {
 		return null;
 	}
 
-	public synchronized IHostedThread getLoadedOrLoadingRobotProxy(Thread t) {
+	public IHostedThread getLoadedOrLoadingRobotProxy(Thread t) {
 		IHostedThread robotProxy = getRobotProxy(t);
 
 		if (robotProxy == null) {
@@ -87,22 +144,40 @@ public class ThreadManager implements IThreadManager {
 	}
 
 	public IHostedThread getRobotProxy(Thread t) {
-		ThreadGroup g = t.getThreadGroup();
+		IHostedThread robotProxy = findRobotProxy(t);
 
-		if (g == null) {
-			return null;
+		if (robotProxy == null) {
+			for (ThreadManager manager : managers) {
+				if (manager != this && (robotProxy = manager.findRobotProxy(t)) != null) {
+					break;
+				}
+			}
 		}
-		int index = groups.indexOf(g);
+		return robotProxy;
+	}
 
-		if (index == -1) {
-			return null;
+	private IHostedThread findRobotProxy(Thread t) {
+		IHostedThread robotProxy = robotThreads.get(t);
+
+		if (robotProxy != null) {
+			return robotProxy;
 		}
-		return robots.get(index);
+		ThreadGroup g = t.getThreadGroup();
+
+		robotProxy = g == null ? null : groupRobots.get(g);
+		if (robotProxy == null && t == Thread.currentThread()) {
+			// A thread started by a virtual robot thread is registered the first time it is looked up
+			robotProxy = inheritedRobots.get();
+			if (robotProxy != null) {
+				robotThreads.put(t, robotProxy);
+			}
+		}
+		return robotProxy;
 	}
 
 	public void reset() {
-		groups.clear();
-		robots.clear();
+		groupRobots.clear();
+		robotThreads.clear();
 	}
 
 	public synchronized void setLoadingRobot(IHostedThread newLoadingRobotProxy) {
@@ -180,6 +255,18 @@ public class ThreadManager implements IThreadManager {
 	}
 
 	public boolean isSafeThread(Thread c) {
+		if (isOwnSafeThread(c)) {
+			return true;
+		}
+		for (ThreadManager manager : managers) {
+			if (manager != this && manager.isOwnSafeThread(c)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isOwnSafeThread(Thread c) {
 		try {
 			if (safeThreads.contains(c)) {
 				return true;
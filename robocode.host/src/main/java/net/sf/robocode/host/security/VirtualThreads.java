@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.security;
+
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+
+/**
+ * Creates virtual threads for robots, when Robocode is running on a Java version that supports virtual threads
+ * (Java 21 or newer). Robocode itself is compiled for an older Java version, so the virtual thread builder is
+ * accessed by reflection.
+ */
+final class VirtualThreads {
+
+	private static final Method OF_VIRTUAL;
+	private static final Method NAME;
+	private static final Method UNSTARTED;
+
+	static {
+		Method ofVirtual = null;
+		Method name = null;
+		Method unstarted = null;
+
+		try {
+			final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			name = builderClass.getMethod("name", String.class);
+			unstarted = builderClass.getMethod("unstarted", Runnable.class);
+		} catch (ClassNotFoundException ignore) {// Virtual threads are not supported
+		} catch (NoSuchMethodException ignore) {// Virtual threads are not supported
+		}
+		OF_VIRTUAL = ofVirtual;
+		NAME = name;
+		UNSTARTED = unstarted;
+	}
+
+	private VirtualThreads() {}
+
+	/**
+	 * Checks if the running Java version supports virtual threads.
+	 *
+	 * @return true if virtual threads are supported; false otherwise
+	 */
+	static boolean isSupported() {
+		return OF_VIRTUAL != null;
+	}
+
+	/**
+	 * Creates a new virtual thread, which is not started yet.
+	 *
+	 * @param name the name of the thread
+	 * @param task the task to run on the thread
+	 * @return the new virtual thread
+	 */
+	static Thread newThread(String name, Runnable task) {
+		try {
+			Object builder = OF_VIRTUAL.invoke(null);
+
+			builder = NAME.invoke(builder, name);
+			return (Thread) UNSTARTED.invoke(builder, task);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Could not create virtual thread", e);
+		} catch (InvocationTargetException e) {
+			throw new IllegalStateException("Could not create virtual thread", e.getCause());
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.events;
+
+
+import net.sf.robocode.security.HiddenAccess;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import robocode.DeathEvent;
+import robocode.Event;
+import robocode.HitWallEvent;
+import robocode.ScannedRobotEvent;
+import robocode.StatusEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Checks that the {@link EventQueue} returns the events in the same order as sorting them would.
+ */
+public class EventQueueTest {
+
+	@BeforeClass
+	public static void init() {
+		System.setProperty("NOSECURITY", "true");
+		HiddenAccess.init();
+	}
+
+	@Test
+	public void returnsEventsInSortedOrder() {
+		EventQueue queue = new EventQueue();
+		List<Event> added = new ArrayList<Event>();
+
+		for (int time = 0; time < 5; time++) {
+			for (int distance = 500; distance > 0; distance -= 100) {
+				added.add(event(new ScannedRobotEvent("sample.Fire", 100, 0, distance, 0, 0, false), time, 10));
+			}
+			added.add(event(new HitWallEvent(0), time, 30));
+			added.add(event(new StatusEvent(null), time, 99));
+		}
+		// Add the events in another order than they are processed
+		for (int i = added.size() - 1; i >= 0; i--) {
+			queue.add(added.get(i));
+		}
+
+		List<Event> sorted = new ArrayList<Event>(added);
+
+		Collections.sort(sorted);
+		Assert.assertEquals(sorted, queue.getAll());
+
+		List<ScannedRobotEvent> scans = queue.getEvents(ScannedRobotEvent.class);
+
+		Assert.assertEquals(25, scans.size());
+		Assert.assertEquals(100, scans.get(0).getDistance(), 0);
+		Assert.assertEquals(0, scans.get(0).getTime());
+
+		for (Event event : sorted) {
+			Assert.assertSame(event, queue.poll());
+		}
+		Assert.assertNull(queue.poll());
+		Assert.assertTrue(queue.getEvents(ScannedRobotEvent.class).isEmpty());
+
+		// The returned events are a snapshot, which the robot may change
+		Assert.assertEquals(25, scans.size());
+		Collections.reverse(scans);
+		scans.remove(0);
+		Assert.assertEquals(24, scans.size());
+	}
+
+	@Test
+	public void clearsOldEventsExceptCriticalEvents() {
+		EventQueue queue = new EventQueue();
+		Event death = event(new DeathEvent(), 0, 100);
+
+		queue.add(death);
+		for (int time = 0; time < 10; time++) {
+			queue.add(event(new HitWallEvent(0), time, 30));
+		}
+
+		queue.clear(6);
+		Assert.assertEquals(4, queue.size());
+		Assert.assertEquals(3, queue.getEvents(HitWallEvent.class).size());
+		Assert.assertSame(death, queue.poll());
+		Assert.assertEquals(7, queue.poll().getTime());
+
+		queue.clear(false);
+		Assert.assertTrue(queue.isEmpty());
+		Assert.assertTrue(queue.getEvents(HitWallEvent.class).isEmpty());
+
+		queue.add(death);
+		queue.clear(true);
+		Assert.assertTrue(queue.isEmpty());
+	}
+
+	private static Event event(Event event, long time, int priority) {
+		HiddenAccess.setEventTime(event, time);
+		if (!HiddenAccess.isCriticalEvent(event)) {
+			HiddenAccess.setEventPriority(event, priority);
+		}
+		return event;
+	}
+}
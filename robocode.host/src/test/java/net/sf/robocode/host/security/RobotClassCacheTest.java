@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.security;
+
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+
+
+/**
+ * Checks that class files are reused from the {@link RobotClassCache} until they change.
+ */
+public class RobotClassCacheTest {
+
+	private File file;
+
+	@Before
+	public void copyClassFile() throws IOException {
+		file = File.createTempFile("robocode-class-cache-test", ".class");
+		copyClassFile(file);
+	}
+
+	@After
+	public void deleteClassFile() {
+		file.delete();
+	}
+
+	@Test
+	public void reusesCachedClassUntilFileChanges() throws IOException {
+		URL url = file.toURI().toURL();
+
+		RobotClassCache.CachedClass first = RobotClassCache.get(url);
+
+		Assert.assertNotNull(first);
+		Assert.assertEquals(file.length(), first.getBytes().remaining());
+		Assert.assertTrue(first.getReferencedClasses().contains(RobotClassCache.class.getName()));
+
+		// Not added to the cache before the class has been defined
+		Assert.assertNotSame(first, RobotClassCache.get(url));
+
+		RobotClassCache.put(first);
+		Assert.assertSame(first, RobotClassCache.get(url));
+
+		Assert.assertTrue(file.setLastModified(file.lastModified() - 10000));
+
+		RobotClassCache.CachedClass changed = RobotClassCache.get(url);
+
+		Assert.assertNotSame(first, changed);
+
+		// Same content, so the analysis is reused
+		Assert.assertSame(first.getReferencedClasses(), changed.getReferencedClasses());
+	}
+
+	private static void copyClassFile(File target) throws IOException {
+		InputStream in = RobotClassCacheTest.class.getResourceAsStream("RobotClassCacheTest.class");
+		OutputStream out = new FileOutputStream(target);
+
+		try {
+			byte[] buffer = new byte[8192];
+			int read;
+
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+		} finally {
+			in.close();
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.host.security;
+
+
+import net.sf.robocode.host.IHostedThread;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * Checks that the threads started by a thread registered with {@link ThreadManager#addCurrentThread(IHostedThread)}
+ * are found for the same robot, as the threads started by a robot on a virtual thread.
+ */
+public class ThreadManagerTest {
+
+	private ThreadManager threadManager;
+
+	@Before
+	public void createThreadManager() {
+		threadManager = new ThreadManager();
+	}
+
+	@After
+	public void disposeThreadManager() {
+		threadManager.dispose();
+	}
+
+	@Test
+	public void findsThreadsStartedByRegisteredThread() throws InterruptedException {
+		final IHostedThread robotProxy = createRobotProxy();
+		final AtomicReference<IHostedThread> found = new AtomicReference<IHostedThread>();
+		final AtomicReference<Thread> child = new AtomicReference<Thread>();
+
+		Thread robotThread = new Thread(new Runnable() {
+			public void run() {
+				threadManager.addCurrentThread(robotProxy);
+
+				Thread thread = new Thread(new Runnable() {
+					public void run() {
+						found.set(threadManager.getRobotProxy(Thread.currentThread()));
+					}
+				});
+
+				child.set(thread);
+				thread.start();
+				join(thread);
+			}
+		});
+
+		robotThread.start();
+		robotThread.join();
+
+		Assert.assertSame(robotProxy, found.get());
+		Assert.assertTrue(threadManager.getThreads(robotProxy).contains(robotThread));
+		Assert.assertTrue(threadManager.getThreads(robotProxy).contains(child.get()));
+		Assert.assertNull(threadManager.getRobotProxy(Thread.currentThread()));
+
+		threadManager.removeThread(robotThread);
+		threadManager.removeThread(child.get());
+		Assert.assertTrue(threadManager.getThreads(robotProxy).isEmpty());
+	}
+
+	private static void join(Thread thread) {
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static IHostedThread createRobotProxy() {
+		return (IHostedThread) Proxy.newProxyInstance(IHostedThread.class.getClassLoader(),
+				new Class<?>[] { IHostedThread.class }, new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				return null;
+			}
+		});
+	}
+}
@@ -14,6 +14,10 @@ import net.sf.robocode.repository.items.IRepositoryItem;
 import net.sf.robocode.repository.root.BaseRoot;
 import net.sf.robocode.repository.root.IRepositoryRoot;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
@@ -27,6 +31,9 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 
 /**
@@ -37,6 +44,10 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 class Repository implements IRepository {
 
+	// Header of the robot database, which is followed by the format version and the compressed repository
+	private static final int MAGIC = 0x52424442; // "RBDB"
+	private static final int VERSION = 1;
+
 	private Map<String, IRepositoryRoot> roots = new ConcurrentHashMap<String, IRepositoryRoot>();
 	private final Map<String, IRepositoryItem> repositoryItems = new ConcurrentHashMap<String, IRepositoryItem>();
 	private final Map<String, IRepositoryItem> removedItems = new ConcurrentHashMap<String, IRepositoryItem>();
@@ -56,15 +67,22 @@ class Repository implements IRepository {
 			uniqueRoots.add(root);
 		}
 
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
 		ObjectOutputStream oos = null;
 		try {
-			oos = new ObjectOutputStream(out);
+			DataOutputStream dos = new DataOutputStream(out);
+			dos.writeInt(MAGIC);
+			dos.writeInt(VERSION);
+			dos.flush();
+
+			oos = new ObjectOutputStream(new BufferedOutputStream(new DeflaterOutputStream(out, deflater), 64 * 1024));
 			oos.writeObject(uniqueRoots);
 			oos.writeObject(uniqueItems);
 		} catch (IOException e) {
 			Logger.logError("Can't save robot database", e);
 		} finally {
 			FileUtil.cleanupStream(oos);
+			deflater.end();
 		}
 	}
 
@@ -78,7 +96,7 @@ class Repository implements IRepository {
 
 		ObjectInputStream ois = null;
 		try {
-			ois = new ObjectInputStream(in);
+			ois = new ObjectInputStream(openDatabase(in));
 
 			uniqueRoots = (Set<IRepositoryRoot>) ois.readObject();
 			uniqueItems = (Set<IRepositoryItem>) ois.readObject();
@@ -103,10 +121,27 @@ class Repository implements IRepository {
 		}
 	}
 
+	// Returns the stream with the serialized repository, which is compressed unless the database has the old format
+	private static InputStream openDatabase(InputStream in) throws IOException {
+		BufferedInputStream bis = new BufferedInputStream(in, 64 * 1024);
+		DataInputStream dis = new DataInputStream(bis);
+
+		bis.mark(8);
+		if (dis.readInt() != MAGIC) {
+			bis.reset();
+			return bis;
+		}
+		int version = dis.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported robot database version: " + version);
+		}
+		return new InflaterInputStream(bis);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
-	public void addOrUpdateItem(IRepositoryItem repositoryItem) {
+	public synchronized void addOrUpdateItem(IRepositoryItem repositoryItem) {
 		Collection<String> friendlyUrls = repositoryItem.getFriendlyURLs();
 		if (friendlyUrls != null) {
 			// Add or update the item so it can be found using later using any friendly URL
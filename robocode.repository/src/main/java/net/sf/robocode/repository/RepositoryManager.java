@@ -30,6 +30,7 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -70,7 +71,7 @@ public class RepositoryManager implements IRepositoryManager { // NO_UCD (use de
 		return develDirectories;
 	}
 
-	public void refresh(String friendlyUrl) {
+	public synchronized void refresh(String friendlyUrl) {
 		if (!updateItemRoot(friendlyUrl, true)) {
 			refresh(true);
 		}
@@ -81,7 +82,7 @@ public class RepositoryManager implements IRepositoryManager { // NO_UCD (use de
 		return refresh(false);
 	}
 
-	public boolean refresh(boolean force) {
+	public synchronized boolean refresh(boolean force) {
 		boolean refreshed = update(getRobotsDirectory(), getDevelDirectories(), force);
 		if (refreshed) {
 			setStatus("Saving robot database");
@@ -99,7 +100,8 @@ public class RepositoryManager implements IRepositoryManager { // NO_UCD (use de
 
 		RootHandler.openHandlers();
 		try {
-			Map<String, IRepositoryRoot> newRoots = new HashMap<String, IRepositoryRoot>();
+			// JAR files are read in parallel
+			Map<String, IRepositoryRoot> newRoots = new ConcurrentHashMap<String, IRepositoryRoot>();
 	
 			RootHandler.visitDirectories(robotsDir, false, newRoots, repository, force);
 			for (File dir : devDirs) {
@@ -153,7 +155,7 @@ public class RepositoryManager implements IRepositoryManager { // NO_UCD (use de
 		return repository;
 	}
 	
-	public void reload(boolean rebuild) {
+	public synchronized void reload(boolean rebuild) {
 		// Bug fix [2867326] - Lockup on start if too many bots in robots dir (cont'd).
 		URLJarCollector.enableGc(true);
 		URLJarCollector.gc();
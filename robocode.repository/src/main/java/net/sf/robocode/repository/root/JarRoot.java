@@ -44,7 +44,9 @@ public final class JarRoot extends BaseRoot implements IRepositoryRoot {
 	private final String jarPath; // without a separator ("/!")
 	private final URL jarUrl;
 
+	// Fingerprint of the JAR file, when its items were read
 	private long lastModified;
+	private long length;
 
 	public JarRoot(IRepository repository, File rootPath) {
 		super(repository, rootPath);
@@ -67,10 +69,13 @@ public final class JarRoot extends BaseRoot implements IRepositoryRoot {
 		setStatus("Updating JAR: " + rootPath.toString());
 
 		long lastModified = rootPath.lastModified();
+		long length = rootPath.length();
 
-		if (lastModified > this.lastModified) {
+		// Only a JAR file that has been changed or replaced is read again
+		if (lastModified != this.lastModified || length != this.length) {
 			repository.removeItemsFromRoot(this);
 			this.lastModified = lastModified;
+			this.length = length;
 
 			Set<IRepositoryItem> repositoryItems = new LinkedHashSet<IRepositoryItem>();
 
@@ -165,7 +170,7 @@ public final class JarRoot extends BaseRoot implements IRepositoryRoot {
 	}
 
 	public boolean isChanged(IRepositoryItem repositoryItem) {
-		return rootPath.lastModified() > lastModified;
+		return rootPath.lastModified() != lastModified || rootPath.length() != length;
 	}
 
 	public URL getURL() {
@@ -17,14 +17,50 @@ import net.sf.robocode.io.URLJarCollector;
 import java.io.File;
 import java.io.FileFilter;
 import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 
 /**
+ * Handler for registering JAR roots. The JAR files of a directory are read in parallel, and only the JAR files that
+ * have been changed since the last time are read again.
+ *
  * @author Pavel Savara (original)
  */
 public class JarHandler extends RootHandler {
-	public void visitDirectory(File dir, boolean isDevel, Map<String, IRepositoryRoot> newRoots, IRepository repository, boolean force) {
+	private static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+	private ExecutorService executor;
+
+	@Override
+	public void open() {
+		executor = Executors.newFixedThreadPool(THREADS, new ThreadFactory() {
+			private int count;
+
+			public synchronized Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "JarHandler-" + (++count));
+
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	@Override
+	public void close() {
+		if (executor != null) {
+			executor.shutdown();
+			executor = null;
+		}
+	}
+
+	public void visitDirectory(File dir, boolean isDevel, final Map<String, IRepositoryRoot> newRoots, final IRepository repository, final boolean force) {
 		if (!isDevel) {
 			// find jar files
 			final File[] jars = dir.listFiles(new FileFilter() {
@@ -39,32 +75,62 @@ public class JarHandler extends RootHandler {
 			}
 
 			// update jar files
-			for (File jar : jars) {
-				String key;
+			List<Future<?>> updates = new ArrayList<Future<?>>(jars.length);
 
-				try {
-					key = "jar:" + jar.toURI().toURL() + "!/";
-				} catch (MalformedURLException e) {
-					e.printStackTrace();
-					continue;
-				}
-				IRepositoryRoot root = repository.getRoots().get(key);
-				if (root == null) {
-					root = new JarRoot(repository, jar);
+			for (final File jar : jars) {
+				Runnable update = new Runnable() {
+					public void run() {
+						updateJar(jar, newRoots, repository, force);
+					}
+				};
+
+				if (executor != null) {
+					updates.add(executor.submit(update));
 				} else {
-					repository.removeRoot(key);
+					update.run();
 				}
+			}
 
-				root.updateItems(force);
-				newRoots.put(key, root);
-
+			// the roots must be complete, when this directory has been visited
+			for (Future<?> update : updates) {
 				try {
-					URLJarCollector.closeJarURLConnection(jar.toURI().toURL());
-				} catch (MalformedURLException e) {
-					Logger.logError(e);
+					update.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				} catch (ExecutionException e) {
+					Logger.logError(e.getCause());
 				}
-				URLJarCollector.gc();
 			}
+
+			// the connections of all JAR files are closed, when no JAR file is being read anymore
+			URLJarCollector.gc();
+		}
+	}
+
+	private void updateJar(File jar, Map<String, IRepositoryRoot> newRoots, IRepository repository, boolean force) {
+		String key;
+
+		try {
+			key = "jar:" + jar.toURI().toURL() + "!/";
+		} catch (MalformedURLException e) {
+			e.printStackTrace();
+			return;
+		}
+		IRepositoryRoot root = repository.getRoots().get(key);
+		if (root == null) {
+			root = new JarRoot(repository, jar);
+		} else {
+			repository.removeRoot(key);
+		}
+
+		root.updateItems(force);
+		newRoots.put(key, root);
+
+		try {
+			URLJarCollector.closeJarURLConnection(jar.toURI().toURL());
+		} catch (MalformedURLException e) {
+			Logger.logError(e);
 		}
 	}
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.roborumble;
+
+
+import net.sf.robocode.roborumble.battlesengine.BattlesFile;
+import net.sf.robocode.roborumble.battlesengine.BattlesRunner;
+import net.sf.robocode.roborumble.battlesengine.PrepareBattles;
+import net.sf.robocode.roborumble.battlesengine.RumbleBattle;
+import net.sf.robocode.roborumble.netengine.BotsDownload;
+import net.sf.robocode.roborumble.netengine.ResultsUploadQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+
+/**
+ * Implements the pipelined client side of RoboRumble@Home, which is used instead of the sequential client when
+ * PIPELINE is set to YES in the properties file.
+ * The battles are executed in the calling thread, while the other steps are done in background threads:
+ * the results of each battle are uploaded when the battle is over, the next battles list is prepared while the
+ * current battles are executed, and the participants and missing robots are downloaded while battles are executed.
+ * The participants, code size, ratings, battles number and priority battles files are shared by the background
+ * threads, so these are only read and written while holding a common lock.
+ */
+public class RoboRumblePipeline {
+
+	private static final long DOWNLOAD_INTERVAL_MILLIS = 10 * 60 * 1000;
+
+	private final String game;
+	private final Properties properties;
+	private final String propertiesFile;
+	private final boolean downloads;
+	private final boolean uploads;
+	private final boolean iterates;
+	private final boolean melee;
+	private final String runonly;
+
+	private final Object filesLock = new Object();
+	private final ExecutorService downloader = newSingleThreadExecutor("RoboRumble downloads");
+	private final ExecutorService preparer = newSingleThreadExecutor("RoboRumble battles preparation");
+
+	private ResultsUploadQueue uploadQueue;
+	private Future<?> download;
+	private long lastdownload;
+	private volatile boolean ratingsdownloaded;
+
+	/**
+	 * Creates a new pipelined client.
+	 *
+	 * @param game the game of the rumble, e.g. roborumble
+	 * @param properties the properties of the rumble
+	 * @param propertiesFile the properties file of the rumble, which is read when preparing battles
+	 */
+	public RoboRumblePipeline(String game, Properties properties, String propertiesFile) {
+		this.game = game;
+		this.properties = properties;
+		this.propertiesFile = propertiesFile;
+
+		downloads = properties.getProperty("DOWNLOAD", "NOT").equals("YES");
+		uploads = properties.getProperty("UPLOAD", "NOT").equals("YES");
+		iterates = properties.getProperty("ITERATE", "NOT").equals("YES");
+		melee = properties.getProperty("MELEE", "NOT").equals("YES");
+		runonly = properties.getProperty("RUNONLY", "GENERAL");
+	}
+
+	/**
+	 * Runs the rumble until all battles have been executed and uploaded, or forever if ITERATE is set to YES.
+	 */
+	public void run() {
+		final BattlesRunner engine = new BattlesRunner(game, properties);
+		final String version = engine.getVersion();
+
+		if (uploads && version != null) {
+			uploadQueue = new ResultsUploadQueue(game, properties, version, filesLock);
+			uploadQueue.start();
+		}
+
+		// Disable the -DPARALLEL and -DRANDOMSEED options.
+		// In parallel mode, robots compete with each other for the CPUs during their wall-clock time of a turn,
+		// so the turns a robot skips would depend on the CPU usage of its opponents.
+		System.setProperty("PARALLEL", "false");
+		System.setProperty("RANDOMSEED", "none"); // In tournaments, robots should not be deterministic!
+
+		Future<List<RumbleBattle>> nextBattles = null;
+		int iterations = 0;
+
+		try {
+			do {
+				System.out.println("Iteration number " + iterations);
+
+				if (downloads) {
+					startDownload();
+				}
+				// Upload the results that could not be uploaded before again
+				if (uploadQueue != null) {
+					uploadQueue.addResultsFile();
+				}
+				if (nextBattles == null) {
+					nextBattles = startPrepareBattles();
+				}
+				List<RumbleBattle> battles = nextBattles.get();
+
+				// Prepare the next battles while these battles are executed
+				nextBattles = iterates ? startPrepareBattles() : null;
+
+				if (battles.size() > 0) {
+					System.out.println(melee ? "Executing melee battles ..." : "Executing battles ...");
+					engine.runBattles(battles, melee, uploadQueue != null ? uploadQueue.getResults() : null);
+				}
+				iterations++;
+			} while (iterates);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			System.out.println("Not able to prepare battles ... Aborting");
+			System.out.println(e.getCause());
+		} finally {
+			preparer.shutdownNow();
+			downloader.shutdown();
+
+			if (uploadQueue != null) {
+				System.out.println("Uploading remaining results ...");
+				uploadQueue.close();
+			}
+		}
+	}
+
+	private void startDownload() {
+		// Skip the download if the previous download is still running
+		if (download != null && !download.isDone()) {
+			return;
+		}
+		final boolean downloadBots = (System.currentTimeMillis() - lastdownload) > DOWNLOAD_INTERVAL_MILLIS;
+
+		if (!downloadBots && !runonly.equals("SERVER")) {
+			return;
+		}
+		if (downloadBots) {
+			lastdownload = System.currentTimeMillis();
+		}
+		download = downloader.submit(new Runnable() {
+			public void run() {
+				download(downloadBots);
+			}
+		});
+	}
+
+	private void download(boolean downloadBots) {
+		synchronized (filesLock) {
+			BotsDownload download = new BotsDownload(game, properties);
+
+			if (runonly.equals("SERVER")) {
+				// Download rating files and update ratings downloaded
+				ratingsdownloaded = download.downloadRatings();
+			}
+			if (downloadBots) {
+				boolean participantsdownloaded = download.downloadParticipantsList();
+
+				System.out.println("Downloading missing bots ...");
+				download.downloadMissingBots();
+				download.updateCodeSize();
+				// Send the order to the server to remove old participants from the ratings file
+				if (ratingsdownloaded && participantsdownloaded) {
+					System.out.println("Removing old participants from server ...");
+					// Send unwanted participants to the server
+					download.notifyServerForOldParticipants();
+				}
+			}
+		}
+	}
+
+	private Future<List<RumbleBattle>> startPrepareBattles() {
+		final Future<?> pendingDownload = download;
+
+		return preparer.submit(new Callable<List<RumbleBattle>>() {
+			public List<RumbleBattle> call() throws InterruptedException {
+				// The battles are prepared with the participants and robots of a running download
+				if (pendingDownload != null) {
+					try {
+						pendingDownload.get();
+					} catch (ExecutionException e) {
+						System.out.println("Download failed: " + e.getCause());
+					}
+				}
+				return prepareBattles();
+			}
+		});
+	}
+
+	private List<RumbleBattle> prepareBattles() {
+		ArrayList<RumbleBattle> battles = new ArrayList<RumbleBattle>();
+
+		synchronized (filesLock) {
+			boolean ready;
+			PrepareBattles prepare = new PrepareBattles(propertiesFile);
+
+			if (melee) {
+				System.out.println("Preparing melee battles list ...");
+				ready = prepare.createMeleeBattlesList();
+			} else {
+				final boolean isSmartBattles = ratingsdownloaded && runonly.equals("SERVER")
+						&& (uploadQueue == null || uploadQueue.isRatingsUpdated());
+
+				if (isSmartBattles) {
+					System.out.println("Preparing battles list using smart battles...");
+					ready = prepare.createSmartBattlesList();
+				} else {
+					System.out.println("Preparing battles list...");
+					ready = prepare.createBattlesList();
+				}
+			}
+			// Read the battles right away, as the battles file is overwritten when preparing the next battles
+			if (ready && new BattlesFile(properties.getProperty("INPUT", "")).readRumbleBattles(battles)) {
+				battles.clear();
+			}
+		}
+		return battles;
+	}
+
+	private static ExecutorService newSingleThreadExecutor(final String name) {
+		return Executors.newSingleThreadExecutor(new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				return new Thread(runnable, name);
+			}
+		});
+	}
+}
@@ -13,6 +13,9 @@ import robocode.control.*;
 import robocode.control.events.BattleAdaptor;
 import robocode.control.events.BattleCompletedEvent;
 import robocode.control.events.BattleErrorEvent;
+import robocode.control.events.ITurnSnapshotListener;
+
+import static net.sf.robocode.roborumble.util.PropertiesUtil.getProperties;
 
 import java.io.*;
 import java.util.*;
@@ -36,6 +39,8 @@ public class BattlesRunner {
 	private final String outfile;
 	private final String user;
 	private final String game;
+	private final int workers;
+	private final Properties parameters;
 	private static RobotResults[] lastResults;
 	private static IRobocodeEngine engine;
 
@@ -47,11 +52,33 @@ public class BattlesRunner {
 		fieldhei = Integer.parseInt(parameters.getProperty("FIELDH", "600"));
 		outfile = parameters.getProperty("OUTPUT", "");
 		user = parameters.getProperty("USER", "");
+		workers = Integer.parseInt(parameters.getProperty("WORKERS", "1"));
 		this.game = game;
+		this.parameters = parameters;
 
 		initialize();
 	}
 
+	/**
+	 * Entry point of a battles worker process started by {@link BattlesWorkers}.
+	 *
+	 * @param args the game name, the properties file of the worker, and YES if the battles are melee battles
+	 */
+	public static void main(String[] args) {
+		if (args.length < 3) {
+			System.err.println("Usage: BattlesRunner <game> <properties file> <melee YES/NOT>");
+			System.exit(1);
+		}
+		Properties parameters = getProperties(args[1]);
+
+		parameters.setProperty("WORKERS", "1");
+
+		new BattlesRunner(args[0], parameters).runBattlesImpl(args[2].equals("YES"));
+
+		engine.close();
+		System.exit(0);
+	}
+
 	private void initialize() {
 		if (engine == null) {
 			engine = new RobocodeEngine();
@@ -64,20 +91,41 @@ public class BattlesRunner {
 	}
 	
 	public void runBattlesImpl(boolean melee) {
+		// Read input file
+		ArrayList<RumbleBattle> rumbleBattles = new ArrayList<RumbleBattle>();
+		if (inputfile.readRumbleBattles(rumbleBattles)) {
+			return;
+		}
+		runBattles(rumbleBattles, melee, null);
+	}
+
+	/**
+	 * Runs battles that have already been read from the battles file, as done by the pipelined client.
+	 *
+	 * @param rumbleBattles the battles to run
+	 * @param melee true if the battles are melee battles; false otherwise
+	 * @param results the queue where the results of each battle are added when the battle is over, with the 3 lines
+	 *                of each result in the format of the OUTPUT file, or null if the results must be written to the
+	 *                OUTPUT file
+	 */
+	public void runBattles(List<RumbleBattle> rumbleBattles, boolean melee, Queue<List<String>> results) {
 		// Initialize objects
 		BattlefieldSpecification field = new BattlefieldSpecification(fieldlen, fieldhei);
 		BattleSpecification battle = new BattleSpecification(numrounds, field, (new RobotSpecification[2]));
 
-		// Read input file
-		ArrayList<RumbleBattle> rumbleBattles = new ArrayList<RumbleBattle>();
-		if (inputfile.readRumbleBattles(rumbleBattles)) {
+		// spread the battles over worker processes, each running its own engine
+		if (workers > 1 && rumbleBattles.size() > 1) {
+			new BattlesWorkers(engine, game, parameters, workers).runBattles(rumbleBattles, melee, results);
 			return;
 		}
 
 		// open output file
-		PrintStream outtxt = getRedirectedOutput();
-		if (outtxt == null) {
-			return;
+		PrintStream outtxt = null;
+		if (results == null) {
+			outtxt = getRedirectedOutput();
+			if (outtxt == null) {
+				return;
+			}
 		}
 
 		// run battle
@@ -103,7 +151,15 @@ public class BattlesRunner {
 					lastResults = null;
 					engine.runBattle(specification, true);
 					if (lastResults != null && lastResults.length > 1) {
-						dumpResults(outtxt, lastResults, rumbleBattle, melee);
+						List<String> battleResults = dumpResults(lastResults, rumbleBattle, melee);
+
+						if (results != null) {
+							results.add(battleResults);
+						} else {
+							for (String line : battleResults) {
+								outtxt.println(line);
+							}
+						}
 					}
 				}
 			} else {
@@ -113,7 +169,9 @@ public class BattlesRunner {
 		}
 
 		// close
-		outtxt.close();
+		if (outtxt != null) {
+			outtxt.close();
+		}
 	}
 
 	private String getEnemies(boolean melee, String[] bots) {
@@ -145,8 +203,9 @@ public class BattlesRunner {
 		}
 	}
 
-	private void dumpResults(PrintStream outtxt, RobotResults[] results, RumbleBattle rumbleBattle, boolean melee) {
+	private List<String> dumpResults(RobotResults[] results, RumbleBattle rumbleBattle, boolean melee) {
 		final String BOT_INDEX_PATTERN = "\\[.*\\]";
+		List<String> lines = new ArrayList<String>();
 
 		for (int i = 0; i < results.length; i++) {
 			for (int j = 0; j < results.length; j++) {
@@ -169,11 +228,11 @@ public class BattlesRunner {
 						int survival1 = results[i].getFirsts();
 						int survival2 = results[j].getFirsts();
 
-						outtxt.println(
+						lines.add(
 								game + "," + numrounds + "," + fieldlen + "x" + fieldhei + "," + user + ","
 										+ System.currentTimeMillis() + "," + rumbleBattle.getRunonly());
-						outtxt.println(name1 + "," + points1 + "," + bullets1 + "," + survival1);
-						outtxt.println(name2 + "," + points2 + "," + bullets2 + "," + survival2);
+						lines.add(name1 + "," + points1 + "," + bullets1 + "," + survival1);
+						lines.add(name2 + "," + points2 + "," + bullets2 + "," + survival2);
 					}
 				}
 			}
@@ -191,9 +250,14 @@ public class BattlesRunner {
 			System.out.println(
 					"RESULT = " + winnerBotName + " wins " + results[0].getScore() + " to " + results[1].getScore());
 		}
+		return lines;
 	}
 
-	class BattleObserver extends BattleAdaptor {
+	class BattleObserver extends BattleAdaptor implements ITurnSnapshotListener {
+		public int getTurnSnapshotInterval() {
+			return NO_TURN_SNAPSHOTS;
+		}
+
 		@Override
 		public void onBattleError(final BattleErrorEvent event) {
 			Logger.realErr.println(event.getError());
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.roborumble.battlesengine;
+
+
+import static net.sf.robocode.roborumble.util.PropertiesUtil.storeProperties;
+
+import robocode.control.IRobocodeEngine;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Queue;
+
+
+/**
+ * BattlesWorkers spreads a list of rumble battles over a number of worker processes.
+ * Each worker is a separate JVM running its own RobocodeEngine through {@link BattlesRunner#main(String[])}
+ * on its own slice of the battles. As soon as a worker is done, its results are appended to the
+ * OUTPUT file, so the result file has exactly the same format as when battles are run one by one,
+ * or added to the results queue of the pipelined client, which uploads them while the other workers still run.
+ */
+final class BattlesWorkers {
+	private static final long WORKER_POLL_MILLIS = 100;
+
+	private final IRobocodeEngine engine;
+	private final String game;
+	private final Properties parameters;
+	private final String inputfile;
+	private final String outfile;
+	private final int workers;
+
+	BattlesWorkers(IRobocodeEngine engine, String game, Properties parameters, int workers) {
+		this.engine = engine;
+		this.game = game;
+		this.parameters = parameters;
+		this.inputfile = parameters.getProperty("INPUT", "");
+		this.outfile = parameters.getProperty("OUTPUT", "");
+		this.workers = workers;
+	}
+
+	/**
+	 * Runs the battles in the worker processes and merges the results of each worker into the OUTPUT file when the
+	 * worker is done.
+	 *
+	 * @param rumbleBattles the battles to run
+	 * @param melee true if the battles are melee battles; false otherwise
+	 * @param results the queue where the results are added, or null if the results must be merged into the OUTPUT
+	 *                file
+	 */
+	void runBattles(List<RumbleBattle> rumbleBattles, boolean melee, Queue<List<String>> results) {
+		int count = Math.min(workers, rumbleBattles.size());
+
+		System.out.println("Running " + rumbleBattles.size() + " battles in " + count + " worker processes ...");
+
+		Process[] processes = new Process[count];
+
+		// Results left behind by workers of an aborted run must not be merged with the results of this run
+		for (int i = 0; i < count; i++) {
+			deleteWorkerFiles(i);
+		}
+
+		// The robot database is updated once here, so that the workers do not rebuild it at the same time
+		engine.getLocalRepository();
+
+		try {
+			for (int i = 0; i < count; i++) {
+				if (!writeWorkerBattles(rumbleBattles, i, count) || !writeWorkerProperties(i)) {
+					return;
+				}
+				processes[i] = startWorker(i, melee);
+			}
+			int running = count;
+
+			while (running > 0) {
+				for (int i = 0; i < count; i++) {
+					Process process = processes[i];
+
+					if (process == null || process.isAlive()) {
+						continue;
+					}
+					processes[i] = null;
+					running--;
+
+					int exitCode = process.exitValue();
+
+					if (exitCode != 0) {
+						System.err.println("Battles worker " + i + " terminated with exit code " + exitCode);
+					}
+					if (results != null) {
+						readResults(i, results);
+					} else {
+						mergeResults(i);
+					}
+				}
+				if (running > 0) {
+					Thread.sleep(WORKER_POLL_MILLIS);
+				}
+			}
+		} catch (IOException e) {
+			System.out.println("Not able to start battles worker ... Aborting");
+			System.out.println(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			for (Process process : processes) {
+				if (process != null) {
+					process.destroy();
+				}
+			}
+			for (int i = 0; i < count; i++) {
+				deleteWorkerFiles(i);
+			}
+		}
+	}
+
+	private boolean writeWorkerBattles(List<RumbleBattle> rumbleBattles, int worker, int count) {
+		BattlesFile battlesFile = new BattlesFile(getWorkerInput(worker));
+
+		if (!battlesFile.openWrite()) {
+			return false;
+		}
+		// Deal the battles round-robin, so that priority battles are spread over all workers
+		for (int i = worker; i < rumbleBattles.size(); i += count) {
+			battlesFile.writeBattle(rumbleBattles.get(i));
+		}
+		battlesFile.closeWrite();
+		return true;
+	}
+
+	private boolean writeWorkerProperties(int worker) {
+		Properties workerParameters = new Properties();
+
+		workerParameters.putAll(parameters);
+		workerParameters.setProperty("INPUT", getWorkerInput(worker));
+		workerParameters.setProperty("OUTPUT", getWorkerOutput(worker));
+		workerParameters.setProperty("WORKERS", "1");
+
+		return storeProperties(workerParameters, getWorkerProperties(worker), "Battles worker " + worker);
+	}
+
+	private Process startWorker(int worker, boolean melee) throws IOException {
+		List<String> command = new ArrayList<String>();
+
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		for (String arg : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+			// Debugger and profiler agents cannot be attached to more than one process at the same port
+			if (!arg.startsWith("-agentlib") && !arg.startsWith("-javaagent") && !arg.startsWith("-Xrunjdwp")
+					&& !arg.startsWith("-Xdebug")) {
+				command.add(arg);
+			}
+		}
+		command.add("-DPARALLEL=" + System.getProperty("PARALLEL", "false"));
+		command.add("-DRANDOMSEED=" + System.getProperty("RANDOMSEED", "none"));
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(BattlesRunner.class.getName());
+		command.add(game);
+		command.add(getWorkerProperties(worker));
+		command.add(melee ? "YES" : "NOT");
+
+		ProcessBuilder builder = new ProcessBuilder(command);
+
+		builder.inheritIO();
+		return builder.start();
+	}
+
+	private void mergeResults(int worker) throws IOException {
+		File results = new File(getWorkerOutput(worker));
+
+		if (!results.exists()) {
+			return;
+		}
+		OutputStream out = new BufferedOutputStream(new FileOutputStream(outfile, true));
+
+		try {
+			InputStream in = new BufferedInputStream(new FileInputStream(results));
+
+			try {
+				byte[] buffer = new byte[8192];
+				int read;
+
+				while ((read = in.read(buffer)) != -1) {
+					out.write(buffer, 0, read);
+				}
+			} finally {
+				in.close();
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	private void readResults(int worker, Queue<List<String>> results) throws IOException {
+		File file = new File(getWorkerOutput(worker));
+
+		if (!file.exists()) {
+			return;
+		}
+		BufferedReader in = new BufferedReader(new FileReader(file));
+
+		try {
+			// Each result is written as 3 lines by the worker
+			List<String> result = new ArrayList<String>(3);
+			String line;
+
+			while ((line = in.readLine()) != null) {
+				result.add(line);
+				if (result.size() == 3) {
+					results.add(result);
+					result = new ArrayList<String>(3);
+				}
+			}
+		} finally {
+			in.close();
+		}
+	}
+
+	private void deleteWorkerFiles(int worker) {
+		new File(getWorkerInput(worker)).delete();
+		new File(getWorkerOutput(worker)).delete();
+		new File(getWorkerProperties(worker)).delete();
+	}
+
+	private String getWorkerInput(int worker) {
+		return inputfile + '.' + worker;
+	}
+
+	private String getWorkerOutput(int worker) {
+		return outfile + '.' + worker;
+	}
+
+	private String getWorkerProperties(int worker) {
+		return inputfile + '.' + worker + ".properties";
+	}
+}
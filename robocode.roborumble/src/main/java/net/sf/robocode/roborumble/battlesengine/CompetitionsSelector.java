@@ -78,4 +78,23 @@ public class CompetitionsSelector {
 	public boolean checkCompetitorsForSize(String bot1, String bot2, long maxsize) {
 		return checkCompetitorForSize(bot1, maxsize) && checkCompetitorForSize(bot2, maxsize);
 	}
+
+	public boolean hasCodeSize(String botName) {
+		return sizes.getProperty(botName.replace(' ', '_')) != null;
+	}
+
+	/**
+	 * Sets the code size of a robot without saving the code size file, so that the code sizes of many robots can be
+	 * saved at once with {@link #storeCodeSizes()}.
+	 *
+	 * @param botName the name and version of the robot
+	 * @param codeSize the code size of the robot
+	 */
+	public void setCodeSize(String botName, long codeSize) {
+		sizes.setProperty(botName.replace(' ', '_'), Long.toString(codeSize));
+	}
+
+	public boolean storeCodeSizes() {
+		return storeProperties(sizes, sizesfile, "Bots code size");
+	}
 }
@@ -8,14 +8,17 @@
 package net.sf.robocode.roborumble.battlesengine;
 
 
+import static net.sf.robocode.roborumble.battlesengine.RatingsStore.Category.*;
 import static net.sf.robocode.roborumble.util.ExcludesUtil.*;
 import static net.sf.robocode.roborumble.util.PropertiesUtil.getProperties;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
 import java.util.Random;
+import java.util.Set;
 
 
 /**
@@ -34,10 +37,7 @@ public class PrepareBattles {
 	private final int numbattles;
 	private final CompetitionsSelector size;
 	private final String runonly;
-	private final Properties generalratings;
-	private final Properties miniratings;
-	private final Properties microratings;
-	private final Properties nanoratings;
+	private final RatingsStore ratings;
 	private final String priority;
 	private final int prioritynum;
 	private final int meleebots;
@@ -58,10 +58,7 @@ public class PrepareBattles {
 		runonly = parameters.getProperty("RUNONLY", "GENERAL");
 		prioritynum = Integer.parseInt(parameters.getProperty("BATTLESPERBOT", "500"));
 		meleebots = Integer.parseInt(parameters.getProperty("MELEEBOTS", "10"));
-		generalratings = getProperties(parameters.getProperty("RATINGS.GENERAL", ""));
-		miniratings = getProperties(parameters.getProperty("RATINGS.MINIBOTS", ""));
-		microratings = getProperties(parameters.getProperty("RATINGS.MICROBOTS", ""));
-		nanoratings = getProperties(parameters.getProperty("RATINGS.NANOBOTS", ""));
+		ratings = new RatingsStore(parameters);
 		priority = parameters.getProperty("PRIORITYBATTLESFILE", "");
 
 		// Read and prepare exclude filters
@@ -135,6 +132,7 @@ public class PrepareBattles {
 
 	public boolean createSmartBattlesList() {
 		List<String> namesAll = new ArrayList<String>();
+		Set<String> participants = new HashSet<String>();
 		List<String> namesMini = new ArrayList<String>();
 		List<String> namesMicro = new ArrayList<String>();
 		List<String> namesNano = new ArrayList<String>();
@@ -145,6 +143,7 @@ public class PrepareBattles {
 		List<String> priorityNano = new ArrayList<String>();
 
 		List<String> priorityBattles = new ArrayList<String>();
+		Set<String> priorityRecords = new HashSet<String>();
 
 		// Read participants
 
@@ -168,28 +167,34 @@ public class PrepareBattles {
 
 					if (exists) {
 						namesAll.add(name);
-						if (size.checkCompetitorForSize(name, 1500)) {
+						participants.add(name);
+
+						boolean mini = size.checkCompetitorForSize(name, 1500);
+						boolean micro = size.checkCompetitorForSize(name, 750);
+						boolean nano = size.checkCompetitorForSize(name, 250);
+
+						if (mini) {
 							namesMini.add(name);
 						}
-						if (size.checkCompetitorForSize(name, 750)) {
+						if (micro) {
 							namesMicro.add(name);
 						}
-						if (size.checkCompetitorForSize(name, 250)) {
+						if (nano) {
 							namesNano.add(name);
 						}
-						if (robotHasPriority(name, generalratings)) {
+						if (ratings.hasPriority(GENERAL, name, prioritynum)) {
 							priorityAll.add(name);
 						}
-						if (size.checkCompetitorForSize(name, 1500) && robotHasPriority(name, miniratings)) {
+						if (mini && ratings.hasPriority(MINI, name, prioritynum)) {
 							priorityMini.add(name);
 						}
-						if (size.checkCompetitorForSize(name, 750) && robotHasPriority(name, microratings)) {
+						if (micro && ratings.hasPriority(MICRO, name, prioritynum)) {
 							priorityMicro.add(name);
 						}
-						if (size.checkCompetitorForSize(name, 250) && robotHasPriority(name, nanoratings)) {
+						if (nano && ratings.hasPriority(NANO, name, prioritynum)) {
 							priorityNano.add(name);
 						}
-						if (!isRobotInRatings(name)) {
+						if (!ratings.isRanked(name)) {
 							namesNoRanking.add(name);
 						}
 					}
@@ -223,12 +228,12 @@ public class PrepareBattles {
 				if (items.length == 3) {
 					// Check that competitors exist
 					String jar1 = items[0].replace(' ', '_') + ".jar";
-					boolean exists1 = (new File(botsrepository + jar1)).exists() && namesAll.contains(items[0]);
+					boolean exists1 = (new File(botsrepository + jar1)).exists() && participants.contains(items[0]);
 					String jar2 = items[1].replace(' ', '_') + ".jar";
-					boolean exists2 = (new File(botsrepository + jar2)).exists() && namesAll.contains(items[1]);
+					boolean exists2 = (new File(botsrepository + jar2)).exists() && participants.contains(items[1]);
 
 					// Add battles to priority battles list
-					if (exists1 && exists2 && !priorityBattles.contains(record)) {
+					if (exists1 && exists2 && priorityRecords.add(record)) {
 						priorityBattles.add(record);
 					} else {
 						System.out.println("Ignoring: " + record);
@@ -316,40 +321,9 @@ public class PrepareBattles {
 		return bots;
 	}
 
-	private boolean robotHasPriority(String name, Properties ratings) {
-		if (name == null || ratings == null) {
-			return false;
-		}
-		String bot = name.replaceAll(" ", "_");
-		String values = ratings.getProperty(bot);
-
-		if (values == null) {
-			return false; // must be false (Bug 3474173)
-		}
-		String[] value = values.split(",");
-		double battles = Double.parseDouble(value[1]);
-
-		return (battles < prioritynum);
-	}
-
-	private boolean isRobotInRatings(String name) {
-		if (name == null || name.trim().length() == 0) {
-			return false;
-		}
-		String bot = name.replaceAll(" ", "_");
-		
-		Properties[] ratingLists = new Properties[] { generalratings, miniratings, microratings, nanoratings };
-		
-		for (Properties ratings : ratingLists) {
-			if (ratings.getProperty(bot) != null) {
-				return true;
-			}
-		}
-		return false;
-	}
-	
 	public boolean createMeleeBattlesList() {
 		List<String> namesAll = new ArrayList<String>();
+		Set<String> participants = new HashSet<String>();
 		List<String> namesMini = new ArrayList<String>();
 		List<String> namesMicro = new ArrayList<String>();
 		List<String> namesNano = new ArrayList<String>();
@@ -383,28 +357,34 @@ public class PrepareBattles {
 
 					if (exists) {
 						namesAll.add(name);
-						if (size.checkCompetitorForSize(name, 1500)) {
+						participants.add(name);
+
+						boolean mini = size.checkCompetitorForSize(name, 1500);
+						boolean micro = size.checkCompetitorForSize(name, 750);
+						boolean nano = size.checkCompetitorForSize(name, 250);
+
+						if (mini) {
 							namesMini.add(name);
 						}
-						if (size.checkCompetitorForSize(name, 750)) {
+						if (micro) {
 							namesMicro.add(name);
 						}
-						if (size.checkCompetitorForSize(name, 250)) {
+						if (nano) {
 							namesNano.add(name);
 						}
-						if (robotHasPriority(name, generalratings)) {
+						if (ratings.hasPriority(GENERAL, name, prioritynum)) {
 							priorityAll.add(name);
 						}
-						if (size.checkCompetitorForSize(name, 1500) && robotHasPriority(name, miniratings)) {
+						if (mini && ratings.hasPriority(MINI, name, prioritynum)) {
 							priorityMini.add(name);
 						}
-						if (size.checkCompetitorForSize(name, 750) && robotHasPriority(name, microratings)) {
+						if (micro && ratings.hasPriority(MICRO, name, prioritynum)) {
 							priorityMicro.add(name);
 						}
-						if (size.checkCompetitorForSize(name, 250) && robotHasPriority(name, nanoratings)) {
+						if (nano && ratings.hasPriority(NANO, name, prioritynum)) {
 							priorityNano.add(name);
 						}
-						if (!isRobotInRatings(name)) {
+						if (!ratings.isRanked(name)) {
 							namesNoRanking.add(name);
 						}
 					}
@@ -438,9 +418,9 @@ public class PrepareBattles {
 				if (items.length == 3) {
 					// Check that competitors exist
 					String jar1 = items[0].replace(' ', '_') + ".jar";
-					boolean exists1 = (new File(botsrepository + jar1)).exists() && namesAll.contains(items[0]);
+					boolean exists1 = (new File(botsrepository + jar1)).exists() && participants.contains(items[0]);
 					String jar2 = items[1].replace(' ', '_') + ".jar";
-					boolean exists2 = (new File(botsrepository + jar2)).exists() && namesAll.contains(items[1]);
+					boolean exists2 = (new File(botsrepository + jar2)).exists() && participants.contains(items[1]);
 
 					// Add battles to priority battles vector
 					if (exists1 && exists2 && !priorityPairs.contains(items)) {
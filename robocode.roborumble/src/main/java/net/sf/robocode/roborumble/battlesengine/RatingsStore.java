@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.roborumble.battlesengine;
+
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+
+/**
+ * In-memory store of the ratings files of the general, mini, micro and nano rumbles, which is indexed by category and
+ * robot name. The ratings and battles numbers are parsed once when the ratings files are read, and kept in primitive
+ * columns, so that these can be looked up while preparing battles without parsing the ratings files over and over.
+ * <p>
+ * The ratings files are properties files with "rating,battles,..." as value for each robot, where the spaces in the
+ * names of the robots are replaced by underscores. Updated robots are appended to the ratings files, where the last
+ * line of a robot replaces the lines before it when the file is read. A ratings file is only rewritten when the
+ * appended lines outnumber the robots in it.
+ */
+public class RatingsStore {
+
+	/**
+	 * The categories of the rumble, which each have their own ratings file.
+	 */
+	public enum Category {
+		GENERAL("RATINGS.GENERAL"),
+		MINI("RATINGS.MINIBOTS"),
+		MICRO("RATINGS.MICROBOTS"),
+		NANO("RATINGS.NANOBOTS");
+
+		private final String property;
+
+		Category(String property) {
+			this.property = property;
+		}
+	}
+
+	private final Table[] tables = new Table[Category.values().length];
+
+	/**
+	 * Reads the ratings files given by the RATINGS.GENERAL, RATINGS.MINIBOTS, RATINGS.MICROBOTS and RATINGS.NANOBOTS
+	 * properties. Ratings files that are not set or cannot be read are left empty.
+	 *
+	 * @param parameters the properties of the rumble
+	 */
+	public RatingsStore(Properties parameters) {
+		for (Category category : Category.values()) {
+			tables[category.ordinal()] = new Table(parameters.getProperty(category.property, ""));
+		}
+	}
+
+	/**
+	 * Checks if a robot is in the ratings of a category.
+	 *
+	 * @param category the category
+	 * @param name the name of the robot, e.g. "sample.Fire 1.0"
+	 * @return true if the robot has a rating in the category; false otherwise
+	 */
+	public boolean contains(Category category, String name) {
+		return name != null && tables[category.ordinal()].indexOf(name) >= 0;
+	}
+
+	/**
+	 * Checks if a robot is in the ratings of any category.
+	 *
+	 * @param name the name of the robot, e.g. "sample.Fire 1.0"
+	 * @return true if the robot has a rating in one of the categories; false otherwise
+	 */
+	public boolean isRanked(String name) {
+		if (name == null || name.trim().length() == 0) {
+			return false;
+		}
+		for (Table table : tables) {
+			if (table.indexOf(name) >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the rating of a robot in a category.
+	 *
+	 * @param category the category
+	 * @param name the name of the robot
+	 * @return the rating, or NaN if the robot is not in the ratings of the category
+	 */
+	public double getRating(Category category, String name) {
+		Table table = tables[category.ordinal()];
+		int row = name != null ? table.indexOf(name) : -1;
+
+		return row >= 0 ? table.ratings[row] : Double.NaN;
+	}
+
+	/**
+	 * Returns the number of battles fought by a robot in a category.
+	 *
+	 * @param category the category
+	 * @param name the name of the robot
+	 * @return the number of battles, or NaN if the robot is not in the ratings of the category
+	 */
+	public double getBattles(Category category, String name) {
+		Table table = tables[category.ordinal()];
+		int row = name != null ? table.indexOf(name) : -1;
+
+		return row >= 0 ? table.battles[row] : Double.NaN;
+	}
+
+	/**
+	 * Checks if a robot must get priority in a category, as it has not fought the given number of battles yet.
+	 * Robots that are not in the ratings of the category do not get priority (Bug 3474173).
+	 *
+	 * @param category the category
+	 * @param name the name of the robot
+	 * @param prioritynum the number of battles a robot must fight before it loses its priority
+	 * @return true if the robot has priority; false otherwise
+	 */
+	public boolean hasPriority(Category category, String name, int prioritynum) {
+		return getBattles(category, name) < prioritynum;
+	}
+
+	/**
+	 * Sets the number of battles fought by a robot in a category. Robots that are not in the ratings of the category
+	 * are ignored.
+	 *
+	 * @param category the category
+	 * @param name the name of the robot
+	 * @param battles the number of battles
+	 */
+	public void setBattles(Category category, String name, double battles) {
+		Table table = tables[category.ordinal()];
+		int row = name != null ? table.indexOf(name) : -1;
+
+		if (row >= 0 && Double.compare(table.battles[row], battles) != 0) {
+			table.battles[row] = battles;
+			table.changed.set(row);
+		}
+	}
+
+	/**
+	 * Saves the changed ratings to the ratings files.
+	 *
+	 * @return true if the changed ratings were saved; false if a ratings file could not be written
+	 */
+	public boolean store() {
+		boolean stored = true;
+
+		for (Table table : tables) {
+			stored = table.store() && stored;
+		}
+		return stored;
+	}
+
+	private static final class Table {
+		private final String filename;
+		private final Map<String, Integer> index = new HashMap<String, Integer>();
+
+		private String[] names = new String[0];
+		private double[] ratings = new double[0];
+		private String[] ratingTexts = new String[0]; // written back as read, e.g. "1623" and not "1623.0"
+		private double[] battles = new double[0];
+		private String[] others = new String[0];
+		private int size;
+
+		private final BitSet changed = new BitSet();
+		private int lines;
+
+		Table(String filename) {
+			this.filename = filename;
+
+			if (filename.trim().length() > 0 && new File(filename).exists()) {
+				load();
+			}
+		}
+
+		int indexOf(String name) {
+			Integer row = index.get(name.replace(' ', '_'));
+
+			return row != null ? row : -1;
+		}
+
+		private void load() {
+			// Counts the lines of the file, which may contain more than one line per robot
+			final int[] count = new int[1];
+			Properties properties = new Properties() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public synchronized Object put(Object key, Object value) {
+					count[0]++;
+					return super.put(key, value);
+				}
+			};
+			InputStream in = null;
+
+			try {
+				in = new BufferedInputStream(new FileInputStream(filename));
+				properties.load(in);
+			} catch (IOException e) {
+				System.err.println("Could not load ratings file: " + filename);
+			} finally {
+				if (in != null) {
+					try {
+						in.close();
+					} catch (IOException ignored) {}
+				}
+			}
+			lines = count[0];
+
+			grow(properties.size());
+			for (String name : properties.stringPropertyNames()) {
+				String[] value = properties.getProperty(name).split(",", 3);
+
+				try {
+					ratings[size] = Double.parseDouble(value[0]);
+					battles[size] = value.length > 1 ? Double.parseDouble(value[1]) : Double.NaN;
+				} catch (NumberFormatException e) {
+					continue; // ignore invalid rating
+				}
+				names[size] = name;
+				ratingTexts[size] = value[0];
+				others[size] = value.length > 2 ? value[2] : null;
+				index.put(name, size++);
+			}
+		}
+
+		private void grow(int capacity) {
+			names = Arrays.copyOf(names, capacity);
+			ratings = Arrays.copyOf(ratings, capacity);
+			ratingTexts = Arrays.copyOf(ratingTexts, capacity);
+			battles = Arrays.copyOf(battles, capacity);
+			others = Arrays.copyOf(others, capacity);
+		}
+
+		boolean store() {
+			if (changed.isEmpty()) {
+				return true;
+			}
+			boolean rewrite = lines + changed.cardinality() > 2 * size;
+			PrintWriter out = null;
+
+			try {
+				out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+						new FileOutputStream(filename, !rewrite), "ISO-8859-1")));
+				if (rewrite) {
+					out.println("#Ratings updated with new battles number");
+					for (int row = 0; row < size; row++) {
+						writeRow(out, row);
+					}
+					lines = size;
+				} else {
+					for (int row = changed.nextSetBit(0); row >= 0; row = changed.nextSetBit(row + 1)) {
+						writeRow(out, row);
+						lines++;
+					}
+				}
+				if (out.checkError()) {
+					throw new IOException();
+				}
+			} catch (IOException e) {
+				System.err.println("Could not store ratings to file: " + filename);
+				return false;
+			} finally {
+				if (out != null) {
+					out.close();
+				}
+			}
+			changed.clear();
+			return true;
+		}
+
+		private void writeRow(PrintWriter out, int row) {
+			StringBuilder line = new StringBuilder();
+
+			escape(line, names[row], true);
+			line.append('=');
+
+			StringBuilder value = new StringBuilder().append(ratingTexts[row]).append(',').append(battles[row]);
+
+			if (others[row] != null) {
+				value.append(',').append(others[row]);
+			}
+			escape(line, value.toString(), false);
+			out.println(line);
+		}
+
+		// Escapes text as done by java.util.Properties.store()
+		private static void escape(StringBuilder line, String text, boolean key) {
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+
+				if (c == '\\' || ((c == '=' || c == ':' || c == '#' || c == '!') && key)
+						|| (c == ' ' && (key || i == 0))) {
+					line.append('\\').append(c);
+				} else if (c == '\t') {
+					line.append("\\t");
+				} else if (c == '\n') {
+					line.append("\\n");
+				} else if (c == '\r') {
+					line.append("\\r");
+				} else if (c == '\f') {
+					line.append("\\f");
+				} else if (c < 0x20 || c > 0x7e) {
+					line.append(String.format("\\u%04X", (int) c));
+				} else {
+					line.append(c);
+				}
+			}
+		}
+	}
+}
@@ -9,7 +9,6 @@ package net.sf.robocode.roborumble.netengine;
 
 
 import net.sf.robocode.io.Logger;
-import net.sf.robocode.repository.CodeSizeCalculator;
 import net.sf.robocode.roborumble.battlesengine.CompetitionsSelector;
 
 import static net.sf.robocode.roborumble.netengine.FileTransfer.DownloadStatus;
@@ -21,11 +20,19 @@ import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Properties;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.jar.JarFile;
 import java.util.zip.ZipEntry;
 
@@ -41,6 +48,10 @@ import java.util.zip.ZipEntry;
  */
 public class BotsDownload {
 
+    // Number of times a robot is downloaded when the connection fails or the downloaded file is corrupted
+    private static final int MAX_DOWNLOAD_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
     // private String internetrepository;
     private final String botsrepository;
     private final String participantsfile;
@@ -60,6 +71,14 @@ public class BotsDownload {
     private final String microbotsfile;
     private final String nanobotsfile;
     private final String removeboturl;
+    private final int downloadthreads;
+    private final CodeSizeCache codeSizeCache;
+
+    // Progress of the downloads of missing robots
+    private final AtomicInteger downloadsDone = new AtomicInteger();
+    private final AtomicInteger downloadsFailed = new AtomicInteger();
+    private final AtomicInteger downloadRetries = new AtomicInteger();
+    private final AtomicLong downloadedBytes = new AtomicLong();
 
     public BotsDownload(String game, Properties parameters) {
         this.game = game;
@@ -74,6 +93,10 @@ public class BotsDownload {
         // Code size
         sizesfile = parameters.getProperty("CODESIZEFILE", "");
         size = new CompetitionsSelector(sizesfile, botsrepository);
+        codeSizeCache = new CodeSizeCache(parameters.getProperty("CODESIZECACHE", ""));
+
+        // Number of robots downloaded at the same time
+        downloadthreads = Math.max(1, Integer.parseInt(parameters.getProperty("DOWNLOADTHREADS", "4")));
 
         // Ratings files
         ratingsurl = parameters.getProperty("RATINGS.URL", "");
@@ -272,20 +295,102 @@ public class BotsDownload {
         }
 
         // check if the file exists in the repository and download if not present
+        final Vector<Integer> missing = new Vector<Integer>();
+
         for (int i = 0; i < jars.size(); i++) {
-            String botjar = jars.get(i);
-            String botid = ids.get(i);
-            String botname = names.get(i);
-            String botpath = botsrepository + botjar;
+            String botpath = botsrepository + jars.get(i);
             boolean exists = (new File(botpath)).exists();
 
             if (!exists) {
-                boolean downloaded = downloadBot(botname, botjar, botid, botsrepository, tempdir);
-                if (!downloaded) {
-                    System.out.println("Could not download " + botjar);
+                missing.add(i);
+            }
+        }
+        if (missing.size() == 0) {
+            return;
+        }
+
+        // Download and verify the missing bots concurrently, as most of the time is spent waiting for the servers
+        final int total = missing.size();
+        final long start = System.currentTimeMillis();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(downloadthreads, total),
+                new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "RoboRumble bot download " + count.incrementAndGet());
+
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+
+        downloadsDone.set(0);
+        downloadsFailed.set(0);
+        downloadRetries.set(0);
+        downloadedBytes.set(0);
+
+        for (final int i : missing) {
+            final String botjar = jars.get(i);
+            final String botid = ids.get(i);
+            final String botname = names.get(i);
+
+            executor.execute(new Runnable() {
+                public void run() {
+                    boolean downloaded = downloadBot(botname, botjar, botid, botsrepository, tempdir);
+
+                    if (!downloaded) {
+                        downloadsFailed.incrementAndGet();
+                        System.out.println("Could not download " + botjar);
+                    }
+                    System.out.println("Bot downloads: " + downloadsDone.incrementAndGet() + " of " + total + " done");
                 }
+            });
+        }
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                System.out.println("Bot downloads: " + downloadsDone.get() + " of " + total + " done ...");
             }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
         }
+
+        // Save the code sizes of the downloaded bots
+        if (sizesfile.length() != 0) {
+            size.storeCodeSizes();
+        }
+        codeSizeCache.store();
+
+        long millis = Math.max(1, System.currentTimeMillis() - start);
+
+        System.out.println("Downloaded " + (downloadsDone.get() - downloadsFailed.get()) + " of " + total
+                + " missing bots in " + (millis / 1000.0) + " s (" + downloadsFailed.get() + " failed, "
+                + downloadRetries.get() + " retries, " + (downloadedBytes.get() / 1024) + " KB, "
+                + (downloadedBytes.get() * 1000 / 1024 / millis) + " KB/s)");
+    }
+
+    /**
+     * Returns the number of missing bots that have been downloaded or failed to download by the last call of
+     * {@link #downloadMissingBots()}.
+     */
+    public int getDownloadsDone() {
+        return downloadsDone.get();
+    }
+
+    /**
+     * Returns the number of missing bots that could not be downloaded by the last call of
+     * {@link #downloadMissingBots()}.
+     */
+    public int getDownloadsFailed() {
+        return downloadsFailed.get();
+    }
+
+    /**
+     * Returns the number of times a bot has been downloaded again by the last call of {@link #downloadMissingBots()}.
+     */
+    public int getDownloadRetries() {
+        return downloadRetries.get();
     }
 
     public void updateCodeSize() {
@@ -295,10 +400,32 @@ public class BotsDownload {
                 FileReader fr = new FileReader(participantsfile);
                 br = new BufferedReader(fr);
 
+                boolean updated = false;
+
                 for (String record; (record = br.readLine()) != null; ) {
+                    if (record.indexOf(",") == -1) {
+                        continue;
+                    }
                     String name = record.substring(0, record.indexOf(","));
-                    size.checkCompetitorForSize(name, 1500);
+
+                    if (!size.hasCodeSize(name)) {
+                        File jar = new File(botsrepository + name.replace(' ', '_') + ".jar");
+
+                        if (jar.exists()) {
+                            Integer codeSize = codeSizeCache.getCodeSize(jar);
+
+                            if (codeSize != null) {
+                                size.setCodeSize(name, codeSize);
+                                updated = true;
+                            }
+                        }
+                    }
                 }
+                // Save the files once, instead of once for each bot
+                if (updated) {
+                    size.storeCodeSizes();
+                }
+                codeSizeCache.store();
             } catch (IOException e) {
                 System.out.println("Battles input file not found ... Aborting");
                 System.out.println(e);
@@ -330,39 +457,76 @@ public class BotsDownload {
             return false;
         }
 
-        // Download the bot
-        DownloadStatus downloadStatus = FileTransfer.download(url, tempFileName);
+        // Download the bot, and download it again if the connection failed or the file is corrupted
+        for (int attempt = 1; ; attempt++) {
+            DownloadStatus downloadStatus = FileTransfer.download(url, tempFileName);
+
+            if (downloadStatus == DownloadStatus.FILE_NOT_FOUND) {
+                System.out.println("Could not find " + botname + " from " + url);
+                return false;
+            }
+            if (downloadStatus == DownloadStatus.OK && checkJarFile(tempFileName, botname)) {
+                break;
+            }
+            if (attempt == MAX_DOWNLOAD_ATTEMPTS) {
+                if (downloadStatus == DownloadStatus.COULD_NOT_CONNECT) {
+                    System.out.println("Could not connect to " + url);
+                } else {
+                    System.out.println("Downloaded file is wrong or corrupted: " + file);
+                }
+                return false;
+            }
+            downloadRetries.incrementAndGet();
+            try {
+                Thread.sleep(RETRY_DELAY_MILLIS * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        // Save the checked bot into the repository
 
-        if (downloadStatus == DownloadStatus.FILE_NOT_FOUND) {
-            System.out.println("Could not find " + botname + " from " + url);
+        File tempFile = new File(tempFileName);
+        Integer codeSize = codeSizeCache.getCodeSize(tempFile);
+
+        if (codeSize == null) {
+            System.out.println("Unable to calc codesize for " + tempFileName);
             return false;
-        } else if (downloadStatus == DownloadStatus.COULD_NOT_CONNECT) {
-            System.out.println("Could not connect to " + url);
+        }
+
+        if (!installBot(tempFileName, repositoryFileName)) {
+            System.out.println("Unable to copy " + tempFileName + " into the repository");
             return false;
         }
+        downloadedBytes.addAndGet(tempFile.length());
 
-        // Check the bot and save it into the repository
+        // Keep the code size, so it is not calculated again when updating the code sizes
+        if (sizesfile.length() != 0) {
+            size.setCodeSize(botname, codeSize);
+        }
 
-        Integer codeSize;
+        System.out.println("Downloaded " + botname + " into " + repositoryFileName + " (Codesize: " + codeSize + ") from " + url);
+        return true;
+    }
 
-        if (checkJarFile(tempFileName, botname)) {
-            codeSize = CodeSizeCalculator.getJarFileCodeSize(new File(tempFileName));
-            if (codeSize == null) {
-                System.out.println("Unable to calc codesize for " + tempFileName);
-                return false;
-            }
+    // Copies the bot into the repository under another name, and renames it at once, as the robot repository
+    // might be read by battles while the bot is copied
+    private static boolean installBot(String tempFileName, String repositoryFileName) {
+        File partFile = new File(repositoryFileName + ".part");
 
-            if (!FileTransfer.copy(tempFileName, repositoryFileName)) {
-                System.out.println("Unable to copy " + tempFileName + " into the repository");
+        try {
+            if (!FileTransfer.copy(tempFileName, partFile.getPath())) {
                 return false;
             }
-        } else {
-            System.out.println("Downloaded file is wrong or corrupted: " + file);
+            Files.move(partFile.toPath(), new File(repositoryFileName).toPath(), StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            System.out.println(e);
             return false;
+        } finally {
+            partFile.delete();
         }
-
-        System.out.println("Downloaded " + botname + " into " + repositoryFileName + " (Codesize: " + codeSize + ") from " + url);
-        return true;
     }
 
     private boolean checkJarFile(String file, String botname) {
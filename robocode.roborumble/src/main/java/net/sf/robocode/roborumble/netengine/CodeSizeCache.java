@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.roborumble.netengine;
+
+
+import net.sf.robocode.repository.CodeSizeCalculator;
+
+import static net.sf.robocode.roborumble.util.PropertiesUtil.getProperties;
+import static net.sf.robocode.roborumble.util.PropertiesUtil.storeProperties;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+
+
+/**
+ * Cache of the code sizes of robot JAR files, which is kept in a properties file where the key is the SHA-1 hash of
+ * the content of a JAR file. The code size of a JAR file is hence only calculated once, also when the JAR file is
+ * downloaded again, or when the code size file of a rumble is deleted or shared with other rumbles.
+ * Controlled by the CODESIZECACHE property, where the cache is not persisted if the property is not set.
+ */
+public class CodeSizeCache {
+
+	private final String cachefile;
+	private final Properties sizes;
+	private boolean changed;
+
+	public CodeSizeCache(String cachefile) {
+		this.cachefile = cachefile;
+		sizes = new File(cachefile).exists() ? getProperties(cachefile) : new Properties();
+	}
+
+	/**
+	 * Returns the code size of a JAR file, which is calculated if the JAR file is not in the cache.
+	 *
+	 * @param jarFile the JAR file
+	 * @return the code size, or null if the code size could not be calculated
+	 */
+	public Integer getCodeSize(File jarFile) {
+		String hash = hash(jarFile);
+
+		if (hash == null) {
+			return calculateCodeSize(jarFile);
+		}
+		synchronized (this) {
+			String value = sizes.getProperty(hash);
+
+			if (value != null) {
+				try {
+					return Integer.valueOf(value);
+				} catch (NumberFormatException ignored) {}
+			}
+		}
+		Integer codeSize = calculateCodeSize(jarFile);
+
+		if (codeSize != null) {
+			synchronized (this) {
+				sizes.setProperty(hash, codeSize.toString());
+				changed = true;
+			}
+		}
+		return codeSize;
+	}
+
+	/**
+	 * Saves the cache, if code sizes have been added to it.
+	 */
+	public synchronized void store() {
+		if (changed && cachefile.length() != 0) {
+			storeProperties(sizes, cachefile, "Bots code size by JAR file hash");
+			changed = false;
+		}
+	}
+
+	private static Integer calculateCodeSize(File jarFile) {
+		// The code size utility is not known to be thread-safe
+		synchronized (CodeSizeCache.class) {
+			return CodeSizeCalculator.getJarFileCodeSize(jarFile);
+		}
+	}
+
+	private static String hash(File file) {
+		InputStream in = null;
+
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+
+			in = new BufferedInputStream(new FileInputStream(file));
+			byte[] buffer = new byte[8192];
+			int read;
+
+			while ((read = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+			StringBuilder hash = new StringBuilder();
+
+			for (byte b : digest.digest()) {
+				hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hash.toString();
+		} catch (IOException e) {
+			return null;
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		} finally {
+			if (in != null) {
+				try {
+					in.close();
+				} catch (IOException ignored) {}
+			}
+		}
+	}
+}
@@ -14,8 +14,19 @@ import static net.sf.robocode.roborumble.util.PropertiesUtil.getProperties;
 import java.io.*;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -43,6 +54,7 @@ public class ResultsUpload {
 	private final String priority;
 	private final String teams;
 	private final String melee;
+	private final int uploadthreads;
 
 	public ResultsUpload(String game, Properties parameters, String clientVersion) {
 
@@ -63,46 +75,196 @@ public class ResultsUpload {
 		teams = parameters.getProperty("TEAMS", "NOT");
 		melee = parameters.getProperty("MELEE", "NOT");
 
+		// Number of results uploaded at the same time
+		uploadthreads = Math.max(1, Integer.parseInt(parameters.getProperty("UPLOADTHREADS", "2")));
+
 		// Open competitions selector
 		size = new CompetitionsSelector(sizesfile, botsrepository);
 	}
 
 	public void uploadResults() {
 
-		boolean errorsfound = false;
-
 		// Read the results file
 
+		Vector<String> results = readResults(resultsfile, game);
+
+		if (results == null) {
+			return;
+		}
+
+		// Skip the results uploaded before the previous upload was interrupted
+		String checkpointfile = getCheckpointFile(resultsfile);
+		Set<String> uploaded = readCheckpoint(checkpointfile);
+
+		if (uploaded.size() > 0) {
+			Vector<String> remaining = new Vector<String>();
+
+			for (int i = 0; i < results.size() / 3; i++) {
+				if (!uploaded.contains(getResultKey(results, i))) {
+					remaining.addAll(results.subList(i * 3, i * 3 + 3));
+				}
+			}
+			System.out.println(
+					"Resuming upload, skipping " + (results.size() - remaining.size()) / 3 + " uploaded results");
+			results = remaining;
+		}
+
+		// Open the temp file to put the unuploaded results
+		PrintStream outtxt;
+
+		try {
+			outtxt = new PrintStream(new BufferedOutputStream(new FileOutputStream(tempdir + "results.txt")), false);
+		} catch (IOException e) {
+			System.out.println("Not able to open output file ... Aborting");
+			System.out.println(e);
+			return;
+		}
+
+		// Open the checkpoint file to put the uploaded results
+		PrintStream checkpoint;
+
+		try {
+			checkpoint = new PrintStream(new FileOutputStream(checkpointfile, true), true);
+		} catch (IOException e) {
+			System.out.println("Not able to open upload checkpoint file ... Aborting");
+			System.out.println(e);
+
+			outtxt.close();
+			return;
+		}
+
+		boolean errorsfound = uploadResults(results, outtxt, false, checkpoint);
+
+		// close files
+		outtxt.close();
+		checkpoint.close();
+
+		// keep the results file and checkpoint file, so an interrupted upload is resumed by the next upload
+		if (Thread.currentThread().isInterrupted()) {
+			return;
+		}
+
+		// copy temp file into results file if there was some error, or else delete results file
+		if (errorsfound) {
+			if (!FileTransfer.copy(tempdir + "results.txt", resultsfile)) {
+				System.out.println("Error when copying results errors file.");
+				return;
+			}
+		} else if (!new File(resultsfile).delete()) {
+			System.out.println("Unable to delete results file.");
+			return;
+		}
+
+		// the checkpoint is only deleted when the uploaded results are no longer in the results file
+		if (!new File(checkpointfile).delete()) {
+			System.out.println("Unable to delete upload checkpoint file.");
+		}
+	}
+
+	/**
+	 * Uploads results that are not read from the results file, like the results streamed by the battles of the
+	 * pipelined client. The priority battles received from the server are added to the priority battles file, as
+	 * the priority battles of earlier uploads might not have been read yet.
+	 *
+	 * @param results the results to upload, with 3 lines per result in the format of the results file
+	 * @param failed the stream where the results that could not be uploaded are written in the format of the results
+	 *               file
+	 * @return true if some results could not be uploaded; false otherwise
+	 */
+	public boolean uploadResults(Vector<String> results, PrintStream failed) {
+		return uploadResults(results, failed, true, null);
+	}
+
+	/**
+	 * Reads the results from a results file.
+	 *
+	 * @param resultsfile the results file
+	 * @param game the game of the results
+	 * @return the results with 3 lines per result, or null if the results file could not be read
+	 */
+	static Vector<String> readResults(String resultsfile, String game) {
+		BufferedReader br = null;
+
+		try {
+			br = new BufferedReader(new FileReader(resultsfile));
+			return readResults(br, game);
+		} catch (IOException e) {
+			System.out.println("Can't open result file for upload");
+			return null;
+		} finally {
+			if (br != null) {
+				try {
+					br.close();
+				} catch (IOException ignored) {}
+			}
+		}
+	}
+
+	/**
+	 * Reads results in the format of the results file.
+	 *
+	 * @param br the reader of the results
+	 * @param game the game of the results
+	 * @return the results with 3 lines per result
+	 * @throws IOException if the results could not be read
+	 */
+	static Vector<String> readResults(BufferedReader br, String game) throws IOException {
 		Vector<String> results = new Vector<String>();
 		String match = "";
 		String bot1 = "";
 		String bot2;
 		int status = 0;
+		String record;
+
+		while ((record = br.readLine()) != null) {
+			if (record.indexOf(game) != -1) {
+				match = record;
+				status = 0;
+			} else if (status == 0) {
+				bot1 = record;
+				status = 1;
+			} else if (status == 1) {
+				bot2 = record;
+				results.add(match);
+				results.add(bot1);
+				results.add(bot2);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Returns the checkpoint file of a results file, which contains the results that have been uploaded by an upload
+	 * that has not finished yet.
+	 */
+	static String getCheckpointFile(String resultsfile) {
+		return resultsfile + ".uploaded";
+	}
+
+	/**
+	 * Returns the key of a result written into the checkpoint file.
+	 */
+	static String getResultKey(Vector<String> results, int i) {
+		return results.get(i * 3) + '\t' + results.get(i * 3 + 1) + '\t' + results.get(i * 3 + 2);
+	}
+
+	private static Set<String> readCheckpoint(String checkpointfile) {
+		Set<String> uploaded = new HashSet<String>();
+
+		if (!new File(checkpointfile).exists()) {
+			return uploaded;
+		}
 		BufferedReader br = null;
 
 		try {
-			FileReader fr = new FileReader(resultsfile);
-
-			br = new BufferedReader(fr);
+			br = new BufferedReader(new FileReader(checkpointfile));
 			String record;
 
 			while ((record = br.readLine()) != null) {
-				if (record.indexOf(game) != -1) {
-					match = record;
-					status = 0;
-				} else if (status == 0) {
-					bot1 = record;
-					status = 1;
-				} else if (status == 1) {
-					bot2 = record;
-					results.add(match);
-					results.add(bot1);
-					results.add(bot2);
-				}
+				uploaded.add(record);
 			}
 		} catch (IOException e) {
-			System.out.println("Can't open result file for upload");
-			return;
+			System.out.println("Can't read upload checkpoint file");
 		} finally {
 			if (br != null) {
 				try {
@@ -110,17 +272,12 @@ public class ResultsUpload {
 				} catch (IOException ignored) {}
 			}
 		}
+		return uploaded;
+	}
 
-		// Open the temp file to put the unuploaded results
-		PrintStream outtxt;
+	private boolean uploadResults(final Vector<String> results, final PrintStream outtxt, boolean appendPriorityBattles, final PrintStream checkpoint) {
 
-		try {
-			outtxt = new PrintStream(new BufferedOutputStream(new FileOutputStream(tempdir + "results.txt")), false);
-		} catch (IOException e) {
-			System.out.println("Not able to open output file ... Aborting");
-			System.out.println(e);
-			return;
-		}
+		boolean errorsfound = false;
 
 		// Open the file to put the battles number for each participant
 		PrintStream battlesnum;
@@ -131,25 +288,41 @@ public class ResultsUpload {
 			System.out.println("Not able to open battles number file ... Aborting");
 			System.out.println(e);
 
-			outtxt.close();
-			return;
+			saveResults(outtxt, results);
+			return true;
 		}
 
 		// Open the file to put the battles which have priority
 		PrintStream prioritybattles;
 
 		try {
-			prioritybattles = new PrintStream(new BufferedOutputStream(new FileOutputStream(priority)), false);
+			prioritybattles = new PrintStream(
+					new BufferedOutputStream(new FileOutputStream(priority, appendPriorityBattles)), false);
 		} catch (IOException e) {
 			System.out.println("Not able to open priorities file ... Aborting");
 			System.out.println(e);
 
-			outtxt.close();
 			battlesnum.close();
-			return;
+			saveResults(outtxt, results);
+			return true;
 		}
 
-		// Post the results
+		// Post the results, where the results are sent in parallel, but the competitions of a result one by one
+
+		ExecutorService executor = Executors.newFixedThreadPool(uploadthreads, new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "RoboRumble results upload " + count.incrementAndGet());
+
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		List<Future<Boolean>> uploads = new ArrayList<Future<Boolean>>();
+
+		final PrintStream finalBattlesnum = battlesnum;
+		final PrintStream finalPrioritybattles = prioritybattles;
 
 		for (int i = 0; i < results.size() / 3; i++) {
 
@@ -173,62 +346,85 @@ public class ResultsUpload {
 					+ first[0] + "&fscore=" + first[1] + "&fbulletd=" + first[2] + "&fsurvival=" + first[3] + "&sname="
 					+ second[0] + "&sscore=" + second[1] + "&sbulletd=" + second[2] + "&ssurvival=" + second[3];
 
-			String data = "game=" + game + commonData;
-
-			boolean errsaved = false;
+			// the code sizes are checked here, as the code size file is not written by more threads at a time
+			final List<String> competitions = new ArrayList<String>();
 
 			if (matchtype.equals("GENERAL") || matchtype.equals("SERVER")) {
-				errsaved = senddata(game, data, outtxt, true, results, i, battlesnum, prioritybattles);
+				competitions.add(game);
 			}
 
 			if (sizesfile.length() != 0) { // upload also related competitions
 				if (minibots.length() != 0 && !matchtype.equals("NANO") && !matchtype.equals("MICRO")
 						&& size.checkCompetitorsForSize(first[0], second[0], 1500)) {
-					data = "game=" + minibots + commonData;
-					errsaved = errsaved
-							| senddata(minibots, data, outtxt, !errsaved, results, i, battlesnum, prioritybattles);
+					competitions.add(minibots);
 				}
 				if (microbots.length() != 0 && !matchtype.equals("NANO")
 						&& size.checkCompetitorsForSize(first[0], second[0], 750)) {
-					data = "game=" + microbots + commonData;
-					errsaved = errsaved
-							| senddata(microbots, data, outtxt, !errsaved, results, i, battlesnum, prioritybattles);
+					competitions.add(microbots);
 				}
 				if (nanobots.length() != 0 && size.checkCompetitorsForSize(first[0], second[0], 250)) {
-					data = "game=" + nanobots + commonData;
-					errsaved = errsaved
-							| senddata(nanobots, data, outtxt, !errsaved, results, i, battlesnum, prioritybattles);
+					competitions.add(nanobots);
 				}
 			}
-			errorsfound = errorsfound || errsaved;
+
+			final int index = i;
+
+			uploads.add(executor.submit(new Callable<Boolean>() {
+				public Boolean call() {
+					boolean errsaved = false;
+
+					for (String competition : competitions) {
+						String data = "game=" + competition + commonData;
+
+						errsaved = errsaved
+								| senddata(competition, data, outtxt, !errsaved, results, index, finalBattlesnum,
+								finalPrioritybattles);
+					}
+					if (!errsaved && checkpoint != null) {
+						checkpoint.println(getResultKey(results, index));
+					}
+					return errsaved;
+				}
+			}));
+		}
+		executor.shutdown();
+
+		for (int i = 0; i < uploads.size(); i++) {
+			try {
+				errorsfound = uploads.get(i).get() || errorsfound;
+			} catch (ExecutionException e) {
+				System.out.println(e.getCause());
+				saveError(outtxt, results.get(i * 3), results.get(i * 3 + 1), results.get(i * 3 + 2), true);
+				errorsfound = true;
+			} catch (InterruptedException e) {
+				executor.shutdownNow();
+				Thread.currentThread().interrupt();
+				errorsfound = true;
+				break;
+			}
 		}
 
 		// close files
-		outtxt.close();
 		battlesnum.close();
 		prioritybattles.close();
 
-		// delete results file
-		File r = new File(resultsfile);
-		boolean b = r.delete();
-
-		if (!b) {
-			System.out.println("Unable to delete results file.");
-		}
+		return errorsfound;
+	}
 
-		// copy temp file into results file if there was some error
-		if (errorsfound) {
-			if (!FileTransfer.copy(tempdir + "results.txt", resultsfile)) {
-				System.out.println("Error when copying results errors file.");
-			}
+	private void saveResults(PrintStream outtxt, Vector<String> results) {
+		for (String result : results) {
+			outtxt.println(result);
 		}
 	}
 
 	private void saveError(PrintStream outtxt, String match, String bot1, String bot2, boolean saveonerror) {
 		if (saveonerror) {
-			outtxt.println(match);
-			outtxt.println(bot1);
-			outtxt.println(bot2);
+			// the lines of a result must not be mixed with the lines of results saved by other upload threads
+			synchronized (outtxt) {
+				outtxt.println(match);
+				outtxt.println(bot1);
+				outtxt.println(bot2);
+			}
 		}
 		System.out.println("Unable to upload results " + match + " " + bot1 + " " + bot2);
 	}
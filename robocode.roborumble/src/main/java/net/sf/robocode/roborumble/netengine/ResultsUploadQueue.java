@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.roborumble.netengine;
+
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Vector;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+
+/**
+ * ResultsUploadQueue uploads results in a background thread while battles are executed, as done by the pipelined
+ * client. The results of each battle are added to the queue when the battle is over, and all results in the queue
+ * are uploaded together when the previous upload is done. After each upload, the number of battles fought is
+ * updated in the ratings files.
+ * The results added to the queue are appended to the OUTPUT file right away, and are only removed from it when they
+ * have been uploaded, so no results are lost when the client is stopped. Results that could not be uploaded are kept
+ * in the OUTPUT file, and are uploaded again when the results file is added to the queue.
+ */
+public class ResultsUploadQueue {
+
+	// Markers put into the queue, which are compared by identity
+	private static final List<String> RESULTS_FILE = new ArrayList<String>();
+	private static final List<String> END = new ArrayList<String>();
+
+	private final String game;
+	private final Properties parameters;
+	private final String clientVersion;
+	private final String resultsfile;
+	private final Object filesLock;
+	private final Object resultsFileLock = new Object();
+	private final BlockingQueue<List<String>> results = new LinkedBlockingQueue<List<String>>() {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public boolean offer(List<String> result) {
+			if (result != RESULTS_FILE && result != END) {
+				saveResult(result);
+			}
+			return super.offer(result);
+		}
+	};
+	private final Thread thread;
+	private volatile boolean ratingsUpdated = true;
+
+	// The number of results at the start of the results file, which could not be uploaded before
+	private int failedResults;
+
+	/**
+	 * Creates a new queue for uploading results.
+	 *
+	 * @param game the game of the results
+	 * @param parameters the properties of the rumble
+	 * @param clientVersion the version of the client sent with the results
+	 * @param filesLock the lock held while the battles number, priority battles and ratings files are written
+	 */
+	public ResultsUploadQueue(String game, Properties parameters, String clientVersion, Object filesLock) {
+		this.game = game;
+		this.parameters = parameters;
+		this.clientVersion = clientVersion;
+		this.filesLock = filesLock;
+		resultsfile = parameters.getProperty("OUTPUT", "");
+
+		// The results left by an earlier run are uploaded when the results file is added to the queue
+		Vector<String> previous = readResultsFile();
+
+		failedResults = previous != null ? previous.size() / 3 : 0;
+
+		thread = new Thread(new Runnable() {
+			public void run() {
+				uploadResults();
+			}
+		}, "RoboRumble results upload");
+	}
+
+	/**
+	 * Starts uploading the results added to the queue.
+	 */
+	public void start() {
+		thread.start();
+	}
+
+	/**
+	 * Returns the queue where the results of each battle are added, with the 3 lines of each result in the format of
+	 * the OUTPUT file. A result is appended to the OUTPUT file when it is added to the queue.
+	 *
+	 * @return the queue of results to upload
+	 */
+	public Queue<List<String>> getResults() {
+		return results;
+	}
+
+	/**
+	 * Uploads the results in the OUTPUT file that could not be uploaded before with the next upload.
+	 */
+	public void addResultsFile() {
+		results.add(RESULTS_FILE);
+	}
+
+	/**
+	 * Checks if the number of battles fought was updated in the ratings files after the last upload.
+	 *
+	 * @return false if the ratings files could not be updated; true otherwise
+	 */
+	public boolean isRatingsUpdated() {
+		return ratingsUpdated;
+	}
+
+	/**
+	 * Uploads the results remaining in the queue, and stops the upload thread.
+	 */
+	public void close() {
+		results.add(END);
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void saveResult(List<String> result) {
+		synchronized (resultsFileLock) {
+			PrintStream out = null;
+
+			try {
+				out = new PrintStream(new FileOutputStream(resultsfile, true));
+				for (String line : result) {
+					out.println(line);
+				}
+			} catch (IOException e) {
+				System.out.println("Unable to save results into the results file.");
+				System.out.println(e);
+			} finally {
+				if (out != null) {
+					out.close();
+				}
+			}
+		}
+	}
+
+	private void uploadResults() {
+		List<List<String>> batch = new ArrayList<List<String>>();
+		boolean end = false;
+
+		while (!end) {
+			try {
+				batch.add(results.take());
+			} catch (InterruptedException e) {
+				return;
+			}
+			results.drainTo(batch);
+
+			boolean retry = false;
+
+			for (List<String> result : batch) {
+				if (result == END) {
+					end = true;
+				} else if (result == RESULTS_FILE) {
+					retry = true;
+				}
+			}
+			batch.clear();
+
+			uploadResultsFile(retry);
+		}
+	}
+
+	// Uploads the results in the results file, where the results that failed before are only uploaded on retry
+	private void uploadResultsFile(boolean retry) {
+		Vector<String> lines = readResultsFile();
+
+		if (lines == null) {
+			return;
+		}
+		int count = lines.size() / 3;
+		int first = retry ? 0 : Math.min(failedResults, count);
+
+		if (first == count) {
+			return;
+		}
+		System.out.println("Uploading " + (count - first) + " results ...");
+
+		ByteArrayOutputStream failed = new ByteArrayOutputStream();
+		PrintStream outtxt = new PrintStream(failed);
+
+		synchronized (filesLock) {
+			ResultsUpload upload = new ResultsUpload(game, parameters, clientVersion);
+
+			upload.uploadResults(new Vector<String>(lines.subList(first * 3, count * 3)), outtxt);
+
+			// Updates the number of battles from the info received from the server
+			System.out.println("Updating number of battles fought ...");
+			UpdateRatingFiles updater = new UpdateRatingFiles(game, parameters);
+
+			ratingsUpdated = updater.updateRatings();
+		}
+		outtxt.close();
+
+		Vector<String> failedLines;
+
+		try {
+			failedLines = ResultsUpload.readResults(
+					new BufferedReader(new StringReader(failed.toString())), game);
+		} catch (IOException e) {
+			failedLines = new Vector<String>(); // cannot happen when reading a string
+		}
+
+		// Remove the uploaded results from the results file, where new results may have been added meanwhile
+		synchronized (resultsFileLock) {
+			Vector<String> current = readResultsFile();
+
+			if (current == null) {
+				return;
+			}
+			Vector<String> kept = new Vector<String>(lines.subList(0, first * 3));
+
+			kept.addAll(failedLines);
+			kept.addAll(current.subList(Math.min(count * 3, current.size()), current.size()));
+
+			if (writeResultsFile(kept)) {
+				failedResults = first + failedLines.size() / 3;
+			}
+		}
+	}
+
+	private Vector<String> readResultsFile() {
+		synchronized (resultsFileLock) {
+			if (!new File(resultsfile).exists()) {
+				return new Vector<String>();
+			}
+			return ResultsUpload.readResults(resultsfile, game);
+		}
+	}
+
+	private boolean writeResultsFile(Vector<String> lines) {
+		File file = new File(resultsfile);
+
+		if (lines.isEmpty()) {
+			if (file.exists() && !file.delete()) {
+				System.out.println("Unable to delete results file.");
+				return false;
+			}
+			return true;
+		}
+		File tempFile = new File(resultsfile + ".tmp");
+		PrintStream out = null;
+
+		try {
+			out = new PrintStream(new FileOutputStream(tempFile));
+			for (String line : lines) {
+				out.println(line);
+			}
+			out.close();
+			out = null;
+
+			// The results file is replaced at once, so it is never left half written
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			return true;
+		} catch (IOException e) {
+			System.out.println("Unable to update results file.");
+			System.out.println(e);
+			return false;
+		} finally {
+			if (out != null) {
+				out.close();
+			}
+			tempFile.delete();
+		}
+	}
+}
@@ -8,8 +8,9 @@
 package net.sf.robocode.roborumble.netengine;
 
 
-import static net.sf.robocode.roborumble.util.PropertiesUtil.getProperties;
-import static net.sf.robocode.roborumble.util.PropertiesUtil.storeProperties;
+import net.sf.robocode.roborumble.battlesengine.RatingsStore;
+
+import static net.sf.robocode.roborumble.battlesengine.RatingsStore.Category.*;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
@@ -33,10 +34,7 @@ public class UpdateRatingFiles {
 	private final String microbots;
 	private final String nanobots;
 	private final String battlesnumfile;
-	private final String generalratings;
-	private final String miniratings;
-	private final String microratings;
-	private final String nanoratings;
+	private final Properties parameters;
 
 	public UpdateRatingFiles(String game, Properties parameters) {
 		this.game = game;
@@ -46,10 +44,7 @@ public class UpdateRatingFiles {
 
 		battlesnumfile = parameters.getProperty("BATTLESNUMFILE", "");
 
-		generalratings = parameters.getProperty("RATINGS.GENERAL", "");
-		miniratings = parameters.getProperty("RATINGS.MINIBOTS", "");
-		microratings = parameters.getProperty("RATINGS.MICROBOTS", "");
-		nanoratings = parameters.getProperty("RATINGS.NANOBOTS", "");
+		this.parameters = parameters;
 	}
 
 	public boolean updateRatings() {
@@ -79,46 +74,25 @@ public class UpdateRatingFiles {
 		}
 
 		// read the ratings files
-		Properties all = getProperties(generalratings);
-		Properties mini = getProperties(miniratings);
-		Properties micro = getProperties(microratings);
-		Properties nano = getProperties(nanoratings);
+		RatingsStore ratings = new RatingsStore(parameters);
 
 		// update #battles
 		for (String battle : battles) {
 			String[] battleSpec = battle.split(",");
-
-			battleSpec[1] = battleSpec[1].replaceAll(" ", "_");
 			double num = Double.parseDouble(battleSpec[2]);
 
 			if (battleSpec[0].equals(game)) {
-				updateRecord(battleSpec[1], num, all);
-			} else if (battleSpec[0].equals(minibots) && mini != null) {
-				updateRecord(battleSpec[1], num, mini);
-			} else if (battleSpec[0].equals(microbots) && micro != null) {
-				updateRecord(battleSpec[1], num, micro);
-			} else if (battleSpec[0].equals(nanobots) && nano != null) {
-				updateRecord(battleSpec[1], num, nano);
+				ratings.setBattles(GENERAL, battleSpec[1], num);
+			} else if (battleSpec[0].equals(minibots)) {
+				ratings.setBattles(MINI, battleSpec[1], num);
+			} else if (battleSpec[0].equals(microbots)) {
+				ratings.setBattles(MICRO, battleSpec[1], num);
+			} else if (battleSpec[0].equals(nanobots)) {
+				ratings.setBattles(NANO, battleSpec[1], num);
 			}
 		}
 
 		// save ratings files
-		return storeProperties(all, generalratings, "General ratings updated with new battles number")
-				&& storeProperties(all, miniratings, "Mini ratings updated with new battles number")
-				&& storeProperties(all, microratings, "Micro ratings updated with new battles number")
-				&& storeProperties(all, nanoratings, "Nano ratings updated with new battles number");
-	}
-
-	private void updateRecord(String bot, double battles, Properties ratings) {
-		String values = ratings.getProperty(bot);
-
-		if (values == null) {
-			return;
-		}
-
-		String[] value = values.split(",");
-
-		values = value[0] + "," + battles + "," + value[2];
-		ratings.setProperty(bot, values);
+		return ratings.store();
 	}
 }
@@ -8,6 +8,7 @@
 package roborumble;
 
 
+import net.sf.robocode.roborumble.RoboRumblePipeline;
 import net.sf.robocode.roborumble.battlesengine.BattlesRunner;
 import net.sf.robocode.roborumble.battlesengine.PrepareBattles;
 import net.sf.robocode.roborumble.netengine.BotsDownload;
@@ -79,6 +80,7 @@ public class RoboRumbleAtHome {
         String iterates = properties.getProperty("ITERATE", "NOT");
         String runonly = properties.getProperty("RUNONLY", "GENERAL");
         String melee = properties.getProperty("MELEE", "NOT");
+        String pipeline = properties.getProperty("PIPELINE", "NOT");
 
         int iterations = 0;
         long lastdownload = 0;
@@ -93,6 +95,12 @@ public class RoboRumbleAtHome {
         }
         game = safeGame.substring(0, safeGame.indexOf("."));
 
+        // Download, prepare, execute and upload concurrently instead of one step after the other
+        if (pipeline.equals("YES") && executes.equals("YES")) {
+            new RoboRumblePipeline(game, properties, safeParamsFilePath).run();
+            return;
+        }
+
         do {
             final BattlesRunner engine = new BattlesRunner(game, properties);
 
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.roborumble.battlesengine;
+
+
+import net.sf.robocode.roborumble.netengine.UpdateRatingFiles;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static net.sf.robocode.roborumble.battlesengine.RatingsStore.Category.*;
+
+import java.io.*;
+import java.util.Properties;
+
+
+/**
+ * Tests the ratings store used for preparing battles and updating the battles numbers of the ratings files.
+ */
+public class RatingsStoreTest {
+
+	private File dir;
+	private Properties parameters;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = File.createTempFile("roborumble", "");
+		Assert.assertTrue(dir.delete() && dir.mkdir());
+
+		parameters = new Properties();
+		parameters.setProperty("RATINGS.GENERAL", new File(dir, "ratings_roborumble.txt").getPath());
+		parameters.setProperty("RATINGS.MINIBOTS", new File(dir, "ratings_minirumble.txt").getPath());
+		parameters.setProperty("MINIBOTS", "minirumble");
+		parameters.setProperty("BATTLESNUMFILE", new File(dir, "battlesnumber.txt").getPath());
+
+		write("ratings_roborumble.txt", "sample.Fire_1.0=1612.5,700.0,2025-01-01", "sample.Walls_1.0=1700.0,300.0",
+				"sample.Crazy_1.0=1400.25,100.0,2025-01-02");
+		write("ratings_minirumble.txt", "sample.Walls_1.0=1650.0,20.0");
+	}
+
+	@After
+	public void tearDown() {
+		File[] files = dir.listFiles();
+
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		dir.delete();
+	}
+
+	@Test
+	public void looksUpRatingsByCategoryAndName() {
+		RatingsStore ratings = new RatingsStore(parameters);
+
+		Assert.assertTrue(ratings.contains(GENERAL, "sample.Fire 1.0"));
+		Assert.assertFalse(ratings.contains(MINI, "sample.Fire 1.0"));
+		Assert.assertEquals(1612.5, ratings.getRating(GENERAL, "sample.Fire 1.0"), 0);
+		Assert.assertEquals(20, ratings.getBattles(MINI, "sample.Walls 1.0"), 0);
+
+		Assert.assertTrue(ratings.hasPriority(GENERAL, "sample.Walls 1.0", 500));
+		Assert.assertFalse(ratings.hasPriority(GENERAL, "sample.Fire 1.0", 500));
+		Assert.assertFalse(ratings.hasPriority(MICRO, "sample.Walls 1.0", 500));
+
+		Assert.assertTrue(ratings.isRanked("sample.Crazy 1.0"));
+		Assert.assertFalse(ratings.isRanked("sample.Tracker 1.0"));
+	}
+
+	@Test
+	public void appendsUpdatedRatings() throws IOException {
+		RatingsStore ratings = new RatingsStore(parameters);
+
+		ratings.setBattles(GENERAL, "sample.Walls 1.0", 301);
+		Assert.assertTrue(ratings.store());
+
+		// Only the updated robot is appended, and the other columns are kept
+		File file = new File(dir, "ratings_roborumble.txt");
+
+		Assert.assertEquals(4, countLines(file));
+
+		Properties properties = load(file);
+
+		Assert.assertEquals(3, properties.size());
+		Assert.assertEquals("1700.0,301.0", properties.getProperty("sample.Walls_1.0"));
+		Assert.assertEquals("1612.5,700.0,2025-01-01", properties.getProperty("sample.Fire_1.0"));
+
+		Assert.assertEquals(301, new RatingsStore(parameters).getBattles(GENERAL, "sample.Walls 1.0"), 0);
+	}
+
+	@Test
+	public void keepsRatingsAsRead() throws IOException {
+		write("ratings_minirumble.txt", "sample.Walls_1.0=1623,20");
+
+		RatingsStore ratings = new RatingsStore(parameters);
+
+		ratings.setBattles(MINI, "sample.Walls 1.0", 21);
+		Assert.assertTrue(ratings.store());
+
+		Assert.assertEquals("1623,21.0", load(new File(dir, "ratings_minirumble.txt")).getProperty("sample.Walls_1.0"));
+	}
+
+	@Test
+	public void rewritesRatingsFileWithManyUpdates() throws IOException {
+		for (int battles = 301; battles <= 305; battles++) {
+			RatingsStore ratings = new RatingsStore(parameters);
+
+			ratings.setBattles(GENERAL, "sample.Walls 1.0", battles);
+			ratings.setBattles(GENERAL, "sample.Crazy 1.0", battles);
+			Assert.assertTrue(ratings.store());
+		}
+		File file = new File(dir, "ratings_roborumble.txt");
+
+		Assert.assertTrue(countLines(file) <= 2 * 3 + 1);
+		Assert.assertEquals("1400.25,305.0,2025-01-02", load(file).getProperty("sample.Crazy_1.0"));
+	}
+
+	@Test
+	public void updatesBattlesNumbersOfEachRatingsFile() throws IOException {
+		write("battlesnumber.txt", "roborumble,sample.Fire 1.0,701", "minirumble,sample.Walls 1.0,21",
+				"minirumble,sample.Fire 1.0,5");
+
+		Assert.assertTrue(new UpdateRatingFiles("roborumble", parameters).updateRatings());
+
+		Properties general = load(new File(dir, "ratings_roborumble.txt"));
+		Properties mini = load(new File(dir, "ratings_minirumble.txt"));
+
+		Assert.assertEquals("1612.5,701.0,2025-01-01", general.getProperty("sample.Fire_1.0"));
+		Assert.assertEquals("1700.0,300.0", general.getProperty("sample.Walls_1.0"));
+		Assert.assertEquals(1, mini.size());
+		Assert.assertEquals("1650.0,21.0", mini.getProperty("sample.Walls_1.0"));
+	}
+
+	private void write(String file, String... lines) throws IOException {
+		PrintStream out = new PrintStream(new FileOutputStream(new File(dir, file)));
+
+		for (String line : lines) {
+			out.println(line);
+		}
+		out.close();
+	}
+
+	private static int countLines(File file) throws IOException {
+		BufferedReader reader = new BufferedReader(new FileReader(file));
+		int count = 0;
+
+		try {
+			while (reader.readLine() != null) {
+				count++;
+			}
+		} finally {
+			reader.close();
+		}
+		return count;
+	}
+
+	private static Properties load(File file) throws IOException {
+		Properties properties = new Properties();
+		InputStream in = new FileInputStream(file);
+
+		try {
+			properties.load(in);
+		} finally {
+			in.close();
+		}
+		return properties;
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.roborumble.netengine;
+
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+
+/**
+ * Tests the downloads of missing robots against a local server standing in for the robot repositories.
+ */
+public class BotsDownloadTest {
+
+	private HttpServer server;
+	private final Map<String, byte[]> files = new ConcurrentHashMap<String, byte[]>();
+	private final AtomicInteger failures = new AtomicInteger();
+
+	private File dir;
+	private Properties parameters;
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/bots/", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				String path = exchange.getRequestURI().getPath();
+				byte[] body = files.get(path);
+
+				if (body == null) {
+					exchange.sendResponseHeaders(404, -1);
+				} else if (path.contains("flaky") && failures.getAndIncrement() == 0) {
+					// Fails the first download to make the client try again
+					exchange.sendResponseHeaders(503, -1);
+				} else {
+					exchange.sendResponseHeaders(200, body.length);
+					exchange.getResponseBody().write(body);
+				}
+				exchange.close();
+			}
+		});
+		server.start();
+
+		dir = File.createTempFile("roborumble", "");
+		Assert.assertTrue(dir.delete() && new File(dir, "robots").mkdirs() && new File(dir, "temp").mkdirs());
+
+		parameters = new Properties();
+		parameters.setProperty("BOTSREP", new File(dir, "robots").getPath() + File.separator);
+		parameters.setProperty("TEMP", new File(dir, "temp").getPath() + File.separator);
+		parameters.setProperty("PARTICIPANTSFILE", new File(dir, "participants.txt").getPath());
+		parameters.setProperty("CODESIZEFILE", new File(dir, "codesize.txt").getPath());
+		parameters.setProperty("CODESIZECACHE", new File(dir, "codesizecache.txt").getPath());
+		parameters.setProperty("DOWNLOADTHREADS", "2");
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+		delete(dir);
+	}
+
+	@Test
+	public void downloadsMissingBots() throws IOException {
+		files.put("/bots/fire.jar", robotJar("sample.Fire", "1.0"));
+		files.put("/bots/walls.jar", robotJar("sample.Walls", "1.0"));
+		files.put("/bots/flaky.jar", robotJar("sample.Crazy", "1.0"));
+		files.put("/bots/wrong.jar", robotJar("sample.Tracker", "2.0"));
+
+		writeParticipants("sample.Fire 1.0,/bots/fire.jar", "sample.Walls 1.0,/bots/walls.jar",
+				"sample.Crazy 1.0,/bots/flaky.jar", "sample.Tracker 1.0,/bots/wrong.jar",
+				"sample.Target 1.0,/bots/missing.jar");
+
+		BotsDownload download = new BotsDownload("roborumble", parameters);
+
+		download.downloadMissingBots();
+
+		Assert.assertTrue(robotFile("sample.Fire_1.0.jar").exists());
+		Assert.assertTrue(robotFile("sample.Walls_1.0.jar").exists());
+		Assert.assertTrue(robotFile("sample.Crazy_1.0.jar").exists());
+		Assert.assertFalse(robotFile("sample.Tracker_1.0.jar").exists());
+		Assert.assertFalse(robotFile("sample.Target_1.0.jar").exists());
+
+		Assert.assertEquals(5, download.getDownloadsDone());
+		Assert.assertEquals(2, download.getDownloadsFailed());
+
+		// The flaky download and the wrong robot version are tried again
+		Assert.assertEquals(1 + 2, download.getDownloadRetries());
+
+		// The code sizes are kept by robot and by JAR file content
+		Properties codeSizes = load("codesize.txt");
+		Properties cache = load("codesizecache.txt");
+
+		Assert.assertNotNull(codeSizes.getProperty("sample.Fire_1.0"));
+		Assert.assertEquals(3, cache.size());
+	}
+
+	@Test
+	public void skipsBotsInRepository() throws IOException {
+		files.put("/bots/fire.jar", robotJar("sample.Fire", "1.0"));
+
+		writeParticipants("sample.Fire 1.0,/bots/fire.jar");
+
+		new BotsDownload("roborumble", parameters).downloadMissingBots();
+
+		BotsDownload download = new BotsDownload("roborumble", parameters);
+
+		download.downloadMissingBots();
+
+		Assert.assertEquals(0, download.getDownloadsDone());
+	}
+
+	private File robotFile(String jar) {
+		return new File(parameters.getProperty("BOTSREP") + jar);
+	}
+
+	private void writeParticipants(String... participants) throws IOException {
+		PrintStream out = new PrintStream(new FileOutputStream(parameters.getProperty("PARTICIPANTSFILE")));
+		String url = "http://localhost:" + server.getAddress().getPort();
+
+		for (String participant : participants) {
+			out.println(participant.replace(",", "," + url));
+		}
+		out.close();
+	}
+
+	private Properties load(String file) throws IOException {
+		Properties properties = new Properties();
+		InputStream in = new FileInputStream(new File(dir, file));
+
+		try {
+			properties.load(in);
+		} finally {
+			in.close();
+		}
+		return properties;
+	}
+
+	private static byte[] robotJar(String classname, String version) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		JarOutputStream jar = new JarOutputStream(bytes);
+
+		jar.putNextEntry(new JarEntry(classname.replace('.', '/') + ".properties"));
+		jar.write(("robot.classname=" + classname + "\nrobot.version=" + version + "\n").getBytes("UTF-8"));
+		jar.closeEntry();
+		jar.close();
+
+		return bytes.toByteArray();
+	}
+
+	private static void delete(File file) {
+		File[] files = file.listFiles();
+
+		if (files != null) {
+			for (File child : files) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+}
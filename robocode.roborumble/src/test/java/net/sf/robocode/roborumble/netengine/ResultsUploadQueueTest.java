@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.roborumble.netengine;
+
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Vector;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+/**
+ * Tests the uploads of the pipelined client against a local server standing in for the RoboRumble server.
+ */
+public class ResultsUploadQueueTest {
+
+	private HttpServer server;
+	private final List<String> uploads = new CopyOnWriteArrayList<String>();
+	private volatile String response = "OK";
+
+	private File dir;
+	private Properties parameters;
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/results", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				BufferedReader reader = new BufferedReader(new InputStreamReader(exchange.getRequestBody()));
+
+				uploads.add(reader.readLine());
+
+				byte[] body = response.getBytes("UTF-8");
+
+				exchange.sendResponseHeaders(200, body.length);
+				exchange.getResponseBody().write(body);
+				exchange.close();
+			}
+		});
+		server.start();
+
+		dir = File.createTempFile("roborumble", "");
+		Assert.assertTrue(dir.delete() && dir.mkdir());
+
+		parameters = new Properties();
+		parameters.setProperty("USER", "tester");
+		parameters.setProperty("RESULTSURL", "http://localhost:" + server.getAddress().getPort() + "/results");
+		parameters.setProperty("OUTPUT", new File(dir, "results.txt").getPath());
+		parameters.setProperty("TEMP", dir.getPath() + File.separator);
+		parameters.setProperty("BATTLESNUMFILE", new File(dir, "battlesnumber.txt").getPath());
+		parameters.setProperty("PRIORITYBATTLESFILE", new File(dir, "prioritybattles.txt").getPath());
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+
+		File[] files = dir.listFiles();
+
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		dir.delete();
+	}
+
+	@Test
+	public void uploadsResultsAddedToQueue() {
+		ResultsUploadQueue queue = new ResultsUploadQueue("roborumble", parameters, "1.0", new Object());
+
+		queue.start();
+		queue.getResults().add(result("sample.Fire 1.0", "sample.Walls 1.0"));
+		queue.getResults().add(result("sample.Crazy 1.0", "sample.Tracker 1.0"));
+		queue.close();
+
+		Assert.assertEquals(2, uploads.size());
+		Assert.assertTrue(uploads.get(0).contains("&fname=sample.Fire 1.0"));
+		Assert.assertTrue(uploads.get(1).contains("&fname=sample.Crazy 1.0"));
+		Assert.assertFalse(new File(parameters.getProperty("OUTPUT")).exists());
+	}
+
+	@Test
+	public void uploadsFailedResultsAgainWithResultsFile() {
+		response = "Error";
+
+		ResultsUploadQueue queue = new ResultsUploadQueue("roborumble", parameters, "1.0", new Object());
+
+		queue.start();
+		queue.getResults().add(result("sample.Fire 1.0", "sample.Walls 1.0"));
+		queue.close();
+
+		Vector<String> failed = ResultsUpload.readResults(parameters.getProperty("OUTPUT"), "roborumble");
+
+		Assert.assertNotNull(failed);
+		Assert.assertEquals(result("sample.Fire 1.0", "sample.Walls 1.0"), failed);
+
+		response = "OK";
+		uploads.clear();
+
+		queue = new ResultsUploadQueue("roborumble", parameters, "1.0", new Object());
+		queue.start();
+		queue.addResultsFile();
+		queue.close();
+
+		Assert.assertEquals(1, uploads.size());
+		Assert.assertTrue(uploads.get(0).contains("&sname=sample.Walls 1.0"));
+		Assert.assertFalse(new File(parameters.getProperty("OUTPUT")).exists());
+	}
+
+	@Test
+	public void keepsResultsInResultsFileUntilUploaded() {
+		ResultsUploadQueue queue = new ResultsUploadQueue("roborumble", parameters, "1.0", new Object());
+
+		// The result is saved when added to the queue, before it is uploaded
+		queue.getResults().add(result("sample.Fire 1.0", "sample.Walls 1.0"));
+
+		Assert.assertEquals(result("sample.Fire 1.0", "sample.Walls 1.0"),
+				ResultsUpload.readResults(parameters.getProperty("OUTPUT"), "roborumble"));
+		Assert.assertEquals(0, uploads.size());
+
+		queue.start();
+		queue.close();
+
+		Assert.assertEquals(1, uploads.size());
+		Assert.assertFalse(new File(parameters.getProperty("OUTPUT")).exists());
+	}
+
+	@Test
+	public void uploadsFailedResultsOnlyWithResultsFile() {
+		response = "Error";
+
+		ResultsUploadQueue queue = new ResultsUploadQueue("roborumble", parameters, "1.0", new Object());
+
+		queue.start();
+		queue.getResults().add(result("sample.Fire 1.0", "sample.Walls 1.0"));
+		queue.close();
+		Assert.assertEquals(1, uploads.size());
+
+		response = "OK";
+
+		queue = new ResultsUploadQueue("roborumble", parameters, "1.0", new Object());
+		queue.start();
+		queue.getResults().add(result("sample.Crazy 1.0", "sample.Tracker 1.0"));
+		queue.close();
+
+		// The failed result is kept in the results file, as the results file was not added to the queue
+		Assert.assertEquals(2, uploads.size());
+		Assert.assertTrue(uploads.get(1).contains("&fname=sample.Crazy 1.0"));
+		Assert.assertEquals(result("sample.Fire 1.0", "sample.Walls 1.0"),
+				ResultsUpload.readResults(parameters.getProperty("OUTPUT"), "roborumble"));
+	}
+
+	private static List<String> result(String first, String second) {
+		return Arrays.asList("roborumble,35,800x600,tester,1700000000000,GENERAL", first + ",3000,1500,20",
+				second + ",1000,500,15");
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.roborumble.netengine;
+
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Properties;
+import java.util.Vector;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+/**
+ * Tests the uploads of the results file against a local server standing in for the RoboRumble server.
+ */
+public class ResultsUploadTest {
+
+	private HttpServer server;
+	private final List<String> uploads = new CopyOnWriteArrayList<String>();
+	private volatile String failingBot;
+
+	private File dir;
+	private Properties parameters;
+	private File resultsFile;
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/results", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				String data = new BufferedReader(new InputStreamReader(exchange.getRequestBody())).readLine();
+				String response;
+
+				if (failingBot != null && data.contains(failingBot)) {
+					response = "Error";
+				} else {
+					uploads.add(data);
+					response = "OK";
+				}
+				byte[] body = response.getBytes("UTF-8");
+
+				exchange.sendResponseHeaders(200, body.length);
+				exchange.getResponseBody().write(body);
+				exchange.close();
+			}
+		});
+		server.start();
+
+		dir = File.createTempFile("roborumble", "");
+		Assert.assertTrue(dir.delete() && new File(dir, "temp").mkdirs());
+
+		resultsFile = new File(dir, "results.txt");
+
+		parameters = new Properties();
+		parameters.setProperty("USER", "tester");
+		parameters.setProperty("RESULTSURL", "http://localhost:" + server.getAddress().getPort() + "/results");
+		parameters.setProperty("OUTPUT", resultsFile.getPath());
+		parameters.setProperty("TEMP", new File(dir, "temp").getPath() + File.separator);
+		parameters.setProperty("BATTLESNUMFILE", new File(dir, "battlesnumber.txt").getPath());
+		parameters.setProperty("PRIORITYBATTLESFILE", new File(dir, "prioritybattles.txt").getPath());
+		parameters.setProperty("UPLOADTHREADS", "3");
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+		delete(dir);
+	}
+
+	@Test
+	public void uploadsResultsFile() throws IOException {
+		writeResults("sample.Fire 1.0", "sample.Crazy 1.0", "sample.Tracker 1.0", "sample.SpinBot 1.0");
+
+		new ResultsUpload("roborumble", parameters, "1.0").uploadResults();
+
+		Assert.assertEquals(4, uploads.size());
+		Assert.assertFalse(resultsFile.exists());
+		Assert.assertFalse(new File(ResultsUpload.getCheckpointFile(resultsFile.getPath())).exists());
+	}
+
+	@Test
+	public void resumesInterruptedUpload() throws IOException {
+		writeResults("sample.Fire 1.0", "sample.Crazy 1.0", "sample.Tracker 1.0");
+
+		// The first result was uploaded before the upload was interrupted
+		Vector<String> results = ResultsUpload.readResults(resultsFile.getPath(), "roborumble");
+		PrintStream checkpoint = new PrintStream(
+				new FileOutputStream(ResultsUpload.getCheckpointFile(resultsFile.getPath())));
+
+		checkpoint.println(ResultsUpload.getResultKey(results, 0));
+		checkpoint.close();
+
+		new ResultsUpload("roborumble", parameters, "1.0").uploadResults();
+
+		Assert.assertEquals(2, uploads.size());
+		for (String upload : uploads) {
+			Assert.assertFalse(upload.contains("&fname=sample.Fire 1.0"));
+		}
+		Assert.assertFalse(resultsFile.exists());
+	}
+
+	@Test
+	public void keepsResultsThatCouldNotBeUploaded() throws IOException {
+		writeResults("sample.Fire 1.0", "sample.Crazy 1.0", "sample.Tracker 1.0");
+
+		failingBot = "sample.Crazy 1.0";
+
+		new ResultsUpload("roborumble", parameters, "1.0").uploadResults();
+
+		Assert.assertEquals(2, uploads.size());
+
+		Vector<String> failed = ResultsUpload.readResults(resultsFile.getPath(), "roborumble");
+
+		Assert.assertNotNull(failed);
+		Assert.assertEquals(3, failed.size());
+		Assert.assertTrue(failed.get(1).startsWith("sample.Crazy 1.0,"));
+		Assert.assertFalse(new File(ResultsUpload.getCheckpointFile(resultsFile.getPath())).exists());
+	}
+
+	// Writes a result against sample.Walls for each robot
+	private void writeResults(String... bots) throws IOException {
+		PrintStream out = new PrintStream(new FileOutputStream(resultsFile));
+
+		for (int i = 0; i < bots.length; i++) {
+			out.println("roborumble,35,800x600,tester," + (1700000000000L + i) + ",GENERAL");
+			out.println(bots[i] + ",3000,1500,20");
+			out.println("sample.Walls 1.0,1000,500,15");
+		}
+		out.close();
+	}
+
+	private static void delete(File file) {
+		File[] files = file.listFiles();
+
+		if (files != null) {
+			for (File child : files) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package tested.robots;
+
+
+import robocode.MessageEvent;
+import robocode.TeamRobot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+
+/**
+ * Sends binary messages to its teammates during the first turns, where each message is sent to other recipients.
+ * The same buffer is sent several times, as sending a message must not change the position of the buffer.
+ */
+public class BinaryMessages extends TeamRobot {
+
+	public static final int TURNS = 10;
+
+	public static final int BROADCAST = 1;
+	public static final int TO_MATE = 2;
+	public static final int TO_PREFIX = 3;
+	public static final int TO_NOBODY = 4;
+
+	private final ByteBuffer buffer = ByteBuffer.allocate(8);
+	private int sent;
+
+	@Override
+	public void run() {
+		// noinspection InfiniteLoopStatement
+		for (;;) {
+			if (sent < TURNS) {
+				try {
+					buffer.clear();
+					buffer.putInt(BROADCAST).putInt(++sent).flip();
+					broadcastBinaryMessage(buffer);
+
+					buffer.putInt(0, TO_MATE);
+					sendBinaryMessage("tested.robots.BinaryMessagesMate", buffer);
+
+					// Matches both this robot and its mate
+					buffer.putInt(0, TO_PREFIX);
+					sendBinaryMessage("tested.robots.BinaryMessages", buffer);
+
+					buffer.putInt(0, TO_NOBODY);
+					sendBinaryMessage("tested.robots.Nobody", buffer);
+				} catch (IOException e) {
+					e.printStackTrace(out);
+				}
+			}
+			execute();
+		}
+	}
+
+	@Override
+	public void onMessageReceived(MessageEvent event) {
+		printMessage(this, event);
+	}
+
+	static void printMessage(TeamRobot robot, MessageEvent event) {
+		ByteBuffer message = event.getBinaryMessage();
+
+		if (message != null) {
+			robot.out.println("Received " + message.getInt() + " number " + message.getInt() + " from " + event.getSender());
+		}
+	}
+}
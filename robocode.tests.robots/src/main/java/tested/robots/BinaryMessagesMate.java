@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package tested.robots;
+
+
+import robocode.MessageEvent;
+import robocode.TeamRobot;
+
+
+/**
+ * Receives the binary messages sent by {@link BinaryMessages}.
+ */
+public class BinaryMessagesMate extends TeamRobot {
+
+	@Override
+	public void run() {
+		// noinspection InfiniteLoopStatement
+		for (;;) {
+			execute();
+		}
+	}
+
+	@Override
+	public void onMessageReceived(MessageEvent event) {
+		BinaryMessages.printMessage(this, event);
+	}
+}
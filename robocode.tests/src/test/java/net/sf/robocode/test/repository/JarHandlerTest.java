@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.test.repository;
+
+
+import net.sf.robocode.core.ContainerBase;
+import net.sf.robocode.repository.IRepositoryManagerBase;
+import net.sf.robocode.security.HiddenAccess;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import robocode.control.RobotSpecification;
+
+import java.io.*;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+
+/**
+ * Tests that the robots of JAR files, which are read in parallel when the robot database is rebuilt, are all valid.
+ */
+public class JarHandlerTest {
+
+	private static final String[] ROBOTS = {
+		"Ahead", "BattleLost", "BattleWin", "BodyTurnRate", "DieFast", "GunHeat", "GunTurnRate", "MaxTurnRate",
+		"MaxVelocity", "Random", "ReverseDirection", "SkipTurns"
+	};
+
+	private File robotsDir;
+	private String robotPath;
+
+	@BeforeClass
+	public static void init() {
+		HiddenAccess.initContainer();
+	}
+
+	@Before
+	public void setUp() throws IOException {
+		robotsDir = File.createTempFile("robots", "");
+		Assert.assertTrue(robotsDir.delete() && robotsDir.mkdir());
+
+		for (String robot : ROBOTS) {
+			writeRobotJar("tested.robots." + robot);
+		}
+		robotPath = System.getProperty("ROBOTPATH");
+		System.setProperty("ROBOTPATH", robotsDir.getPath());
+	}
+
+	@After
+	public void tearDown() {
+		if (robotPath != null) {
+			System.setProperty("ROBOTPATH", robotPath);
+		} else {
+			System.clearProperty("ROBOTPATH");
+		}
+		// Drop the JAR files of this test from the repository
+		ContainerBase.getComponent(IRepositoryManagerBase.class).refresh();
+
+		File[] files = robotsDir.listFiles();
+
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		robotsDir.delete();
+	}
+
+	@Test
+	public void readsAllJarFilesInParallel() {
+		final IRepositoryManagerBase repositoryManager = ContainerBase.getComponent(IRepositoryManagerBase.class);
+
+		// Rebuilds the robot database, also when an earlier test has already loaded it
+		repositoryManager.reload(true);
+		RobotSpecification[] specifications = repositoryManager.getSpecifications();
+
+		Set<String> names = new HashSet<String>();
+
+		for (RobotSpecification specification : specifications) {
+			names.add(specification.getNameAndVersion());
+		}
+		for (String robot : ROBOTS) {
+			Assert.assertTrue("Robot is not valid: " + robot, names.contains("tested.robots." + robot + " 1.0"));
+		}
+	}
+
+	private void writeRobotJar(String classname) throws IOException {
+		String path = classname.replace('.', '/');
+		JarOutputStream jar = new JarOutputStream(new FileOutputStream(new File(robotsDir, classname + "_1.0.jar")));
+
+		try {
+			jar.putNextEntry(new JarEntry(path + ".properties"));
+			jar.write(("robot.classname=" + classname + "\nrobot.version=1.0\n").getBytes("UTF-8"));
+			jar.closeEntry();
+
+			jar.putNextEntry(new JarEntry(path + ".class"));
+
+			InputStream in = getClass().getClassLoader().getResourceAsStream(path + ".class");
+
+			Assert.assertNotNull("Robot class not found: " + classname, in);
+			try {
+				byte[] buffer = new byte[4096];
+				int read;
+
+				while ((read = in.read(buffer)) != -1) {
+					jar.write(buffer, 0, read);
+				}
+			} finally {
+				in.close();
+			}
+			jar.closeEntry();
+		} finally {
+			jar.close();
+		}
+	}
+}
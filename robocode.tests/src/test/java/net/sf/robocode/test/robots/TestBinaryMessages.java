@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.test.robots;
+
+
+import net.sf.robocode.test.helpers.RobocodeTestBed;
+import org.junit.Assert;
+import org.junit.Test;
+import robocode.control.events.TurnEndedEvent;
+import robocode.control.snapshot.IRobotSnapshot;
+import tested.robots.BinaryMessages;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * Tests that binary team messages are delivered to the recipients, which are matched by the start of their names and
+ * cached by the sending robot after the first message to each recipient.
+ */
+public class TestBinaryMessages extends RobocodeTestBed {
+
+	private static final Pattern RECEIVED = Pattern.compile("Received (\\d) number (\\d+) from (\\S+)");
+
+	private final int[] leaderReceived = new int[5];
+	private final int[] mateReceived = new int[5];
+
+	@Test
+	public void run() {
+		super.run();
+	}
+
+	@Override
+	public String getRobotName() {
+		return "tested.robots.BinaryMessagesTeam";
+	}
+
+	@Override
+	public int getExpectedRobotCount(String list) {
+		return 4;
+	}
+
+	@Override
+	public void onTurnEnded(TurnEndedEvent event) {
+		super.onTurnEnded(event);
+
+		for (IRobotSnapshot robot : event.getTurnSnapshot().getRobots()) {
+			if (robot.getName().startsWith("tested.robots.BinaryMessagesMate")) {
+				count(robot.getOutputStreamSnapshot(), mateReceived);
+			} else if (robot.getName().startsWith("tested.robots.BinaryMessages")) {
+				count(robot.getOutputStreamSnapshot(), leaderReceived);
+			}
+		}
+	}
+
+	private static void count(String out, int[] received) {
+		if (out == null) {
+			return;
+		}
+		Matcher matcher = RECEIVED.matcher(out);
+
+		while (matcher.find()) {
+			Assert.assertTrue(matcher.group(3).startsWith("tested.robots.BinaryMessages"));
+			Assert.assertTrue(Integer.parseInt(matcher.group(2)) <= BinaryMessages.TURNS);
+			received[Integer.parseInt(matcher.group(1))]++;
+		}
+	}
+
+	@Override
+	protected void runTeardown() {
+		final int turns = BinaryMessages.TURNS;
+
+		// The sender does not receive its own broadcasts, but does receive the messages sent to the start of its name
+		Assert.assertEquals(0, leaderReceived[BinaryMessages.BROADCAST]);
+		Assert.assertEquals(0, leaderReceived[BinaryMessages.TO_MATE]);
+		Assert.assertEquals(turns, leaderReceived[BinaryMessages.TO_PREFIX]);
+		Assert.assertEquals(0, leaderReceived[BinaryMessages.TO_NOBODY]);
+
+		Assert.assertEquals(turns, mateReceived[BinaryMessages.BROADCAST]);
+		Assert.assertEquals(turns, mateReceived[BinaryMessages.TO_MATE]);
+		Assert.assertEquals(turns, mateReceived[BinaryMessages.TO_PREFIX]);
+		Assert.assertEquals(0, mateReceived[BinaryMessages.TO_NOBODY]);
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.test.robots;
+
+
+import net.sf.robocode.test.helpers.RobocodeTestBed;
+import org.junit.Assert;
+import org.junit.Test;
+import robocode.BattleResults;
+import robocode.control.RandomFactory;
+import robocode.control.events.BattleCompletedEvent;
+import robocode.control.events.TurnEndedEvent;
+import robocode.control.snapshot.IBulletSnapshot;
+import robocode.control.snapshot.IRobotSnapshot;
+import robocode.control.snapshot.ITurnSnapshot;
+
+
+/**
+ * Tests that the collisions and damage of a seeded battle are the same when the collision checks use the broad phase,
+ * and when all robots and bullets are checked against each other.
+ */
+public class TestBroadPhase extends RobocodeTestBed {
+
+	private StringBuilder trace;
+
+	@Test
+	public void run() {
+		final String lockstep = System.getProperty("LOCKSTEP");
+
+		// Lockstep mode makes the battles reproducible, so only the collision checks can make them differ
+		System.setProperty("LOCKSTEP", "true");
+		try {
+			System.setProperty("BROADPHASE", "false");
+			final String bruteForce = runTraced();
+
+			System.setProperty("BROADPHASE", "true");
+			final String broadPhase = runTraced();
+
+			Assert.assertEquals(bruteForce, broadPhase);
+		} finally {
+			System.clearProperty("BROADPHASE");
+			if (lockstep == null) {
+				System.clearProperty("LOCKSTEP");
+			} else {
+				System.setProperty("LOCKSTEP", lockstep);
+			}
+		}
+	}
+
+	private String runTraced() {
+		RandomFactory.resetDeterministic(0);
+		trace = new StringBuilder();
+		super.run();
+		return trace.toString();
+	}
+
+	@Override
+	public String getRobotName() {
+		return "sample.Fire,sample.SpinBot,sample.Crazy,sample.Walls,sample.RamFire,sample.Tracker,sample.TrackFire";
+	}
+
+	@Override
+	public String getEnemyName() {
+		return "sample.Corners";
+	}
+
+	@Override
+	public int getNumRounds() {
+		return 3;
+	}
+
+	@Override
+	public void onTurnEnded(TurnEndedEvent event) {
+		super.onTurnEnded(event);
+
+		final ITurnSnapshot turn = event.getTurnSnapshot();
+
+		trace.append(turn.getRound()).append(':').append(turn.getTurn()).append('\n');
+		for (IRobotSnapshot robot : turn.getRobots()) {
+			trace.append(robot.getName()).append(' ').append(robot.getState()).append(' ').append(robot.getEnergy())
+					.append(' ').append(robot.getX()).append(' ').append(robot.getY()).append('\n');
+		}
+		for (IBulletSnapshot bullet : turn.getBullets()) {
+			trace.append(bullet.getBulletId()).append(' ').append(bullet.getState()).append(' ')
+					.append(bullet.getVictimIndex()).append(' ').append(bullet.getX()).append(' ').append(bullet.getY())
+					.append('\n');
+		}
+	}
+
+	@Override
+	public void onBattleCompleted(BattleCompletedEvent event) {
+		for (BattleResults results : event.getIndexedResults()) {
+			trace.append(results.getTeamLeaderName()).append(' ').append(results.getScore()).append(' ')
+					.append(results.getBulletDamage()).append(' ').append(results.getRamDamage()).append('\n');
+		}
+	}
+}
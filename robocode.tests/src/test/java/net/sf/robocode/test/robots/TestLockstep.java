@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.test.robots;
+
+
+import net.sf.robocode.test.helpers.RobocodeTestBed;
+import org.junit.Assert;
+import org.junit.Test;
+import robocode.BattleResults;
+import robocode.control.RandomFactory;
+import robocode.control.events.BattleCompletedEvent;
+import robocode.control.events.RoundEndedEvent;
+
+
+/**
+ * Tests that a seeded battle run twice in lockstep mode has the same turns in each round and the same results.
+ */
+public class TestLockstep extends RobocodeTestBed {
+
+	private StringBuilder trace;
+
+	@Test
+	public void run() {
+		final String lockstep = System.getProperty("LOCKSTEP");
+
+		System.setProperty("LOCKSTEP", "true");
+		try {
+			final String first = runTraced();
+			final String second = runTraced();
+
+			Assert.assertTrue("No results", first.contains("results"));
+			Assert.assertEquals(first, second);
+		} finally {
+			if (lockstep == null) {
+				System.clearProperty("LOCKSTEP");
+			} else {
+				System.setProperty("LOCKSTEP", lockstep);
+			}
+		}
+	}
+
+	private String runTraced() {
+		RandomFactory.resetDeterministic(0);
+		trace = new StringBuilder();
+		super.run();
+		return trace.toString();
+	}
+
+	@Override
+	public String getRobotName() {
+		return "sample.Fire,sample.SpinBot,sample.Crazy,sample.Tracker";
+	}
+
+	@Override
+	public String getEnemyName() {
+		return "sample.Walls";
+	}
+
+	@Override
+	public int getNumRounds() {
+		return 5;
+	}
+
+	@Override
+	public void onRoundEnded(RoundEndedEvent event) {
+		trace.append("round ").append(event.getRound()).append(": ").append(event.getTurns()).append(" turns\n");
+	}
+
+	@Override
+	public void onBattleCompleted(BattleCompletedEvent event) {
+		trace.append("results\n");
+		for (BattleResults results : event.getIndexedResults()) {
+			trace.append(results.getTeamLeaderName()).append(' ').append(results.getRank()).append(' ')
+					.append(results.getScore()).append(' ').append(results.getFirsts()).append('\n');
+		}
+	}
+}
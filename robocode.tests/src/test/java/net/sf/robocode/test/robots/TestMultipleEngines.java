@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2001-2025 Mathew A. Nelson and Robocode contributors
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://robocode.sourceforge.io/license/epl-v10.html
+ */
+package net.sf.robocode.test.robots;
+
+
+import net.sf.robocode.core.ContainerBase;
+import net.sf.robocode.host.IHostManager;
+import net.sf.robocode.test.helpers.RobocodeTestBed;
+import org.junit.Assert;
+import org.junit.Test;
+import robocode.BattleResults;
+import robocode.control.BattleSpecification;
+import robocode.control.BattlefieldSpecification;
+import robocode.control.RobocodeEngine;
+import robocode.control.RobotSpecification;
+import robocode.control.events.BattleAdaptor;
+import robocode.control.events.BattleCompletedEvent;
+import robocode.control.events.BattleErrorEvent;
+import robocode.control.events.RoundStartedEvent;
+import robocode.control.events.TurnEndedEvent;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Tests that two engines created with MULTIPLEENGINES=true run their battles concurrently, each with its own turn
+ * handoff and results, and that each engine registers one thread manager until it is closed.
+ */
+public class TestMultipleEngines extends RobocodeTestBed {
+
+	private static final int NUM_ROUNDS = 5;
+
+	@Test
+	public void runBattlesConcurrently() throws Exception {
+		final int managerCount = getThreadManagerCount();
+		final String multipleEngines = System.getProperty("MULTIPLEENGINES");
+
+		System.setProperty("MULTIPLEENGINES", "true");
+		final EngineBattle monitorBattle;
+		final EngineBattle parkBattle;
+
+		try {
+			monitorBattle = new EngineBattle("monitor", "sample.Fire", "sample.SittingDuck");
+			parkBattle = new EngineBattle("park", "sample.RamFire", "sample.Target");
+		} finally {
+			if (multipleEngines == null) {
+				System.clearProperty("MULTIPLEENGINES");
+			} else {
+				System.setProperty("MULTIPLEENGINES", multipleEngines);
+			}
+		}
+		try {
+			Assert.assertEquals("Each engine must have a thread manager", managerCount + 2, getThreadManagerCount());
+
+			final CountDownLatch bothRunning = new CountDownLatch(2);
+
+			monitorBattle.start(bothRunning);
+			parkBattle.start(bothRunning);
+			monitorBattle.join();
+			parkBattle.join();
+
+			monitorBattle.assertResults();
+			parkBattle.assertResults();
+			Assert.assertEquals(managerCount + 2, getThreadManagerCount());
+		} finally {
+			monitorBattle.engine.close();
+			parkBattle.engine.close();
+		}
+		Assert.assertEquals("Closed engines must remove their thread managers", managerCount, getThreadManagerCount());
+	}
+
+	// The engine loads its own copy of the thread manager class, so the count is read from that copy
+	private static int getThreadManagerCount() throws Exception {
+		final IHostManager hostManager = ContainerBase.getComponent(IHostManager.class);
+		final Object threadManager = hostManager.getClass().getMethod("getThreadManager").invoke(hostManager);
+
+		return (Integer) threadManager.getClass().getMethod("getManagerCount").invoke(null);
+	}
+
+	@Override
+	public String getRobotName() {
+		return "sample.Fire";
+	}
+
+	@Override
+	public int getExpectedRobotCount(String robotList) {
+		return 0;
+	}
+
+	private static class EngineBattle extends BattleAdaptor {
+		private final RobocodeEngine engine = new RobocodeEngine();
+		private final Set<String> robotNames;
+		private final BattleSpecification battleSpecification;
+		private Thread thread;
+		private Throwable failure;
+
+		private CountDownLatch bothRunning;
+		private boolean started;
+		private int rounds;
+		private int errors;
+		private BattleResults[] results;
+
+		EngineBattle(String turnHandoff, String... robots) {
+			robotNames = new HashSet<String>(Arrays.asList(robots));
+			engine.setTurnHandoff(turnHandoff);
+			engine.addBattleListener(this);
+
+			final RobotSpecification[] specifications = engine.getLocalRepository(robots[0] + "," + robots[1]);
+
+			Assert.assertEquals("Robots were not loaded", 2, specifications.length);
+			battleSpecification = new BattleSpecification(NUM_ROUNDS, new BattlefieldSpecification(800, 600),
+					specifications);
+		}
+
+		void start(CountDownLatch bothRunning) {
+			this.bothRunning = bothRunning;
+			thread = new Thread(new Runnable() {
+				public void run() {
+					try {
+						engine.runBattle(battleSpecification, true);
+					} catch (Throwable t) {
+						failure = t;
+					}
+				}
+			});
+			thread.start();
+		}
+
+		void join() throws InterruptedException {
+			thread.join(60000);
+			Assert.assertFalse("Battle did not finish", thread.isAlive());
+		}
+
+		void assertResults() {
+			Assert.assertNull(failure);
+			Assert.assertEquals("Battles must have run concurrently", 0, bothRunning.getCount());
+			Assert.assertEquals(0, errors);
+			Assert.assertEquals(NUM_ROUNDS, rounds);
+			Assert.assertNotNull("Battle did not complete", results);
+			Assert.assertEquals(2, results.length);
+
+			int firsts = 0;
+
+			for (BattleResults result : results) {
+				Assert.assertTrue("Results of another battle: " + result.getTeamLeaderName(),
+						robotNames.contains(result.getTeamLeaderName()));
+				firsts += result.getFirsts();
+			}
+			Assert.assertEquals(NUM_ROUNDS, firsts);
+		}
+
+		@Override
+		public void onRoundStarted(RoundStartedEvent event) {
+			rounds++;
+		}
+
+		@Override
+		public void onTurnEnded(TurnEndedEvent event) {
+			if (!started) {
+				started = true;
+				bothRunning.countDown();
+				try {
+					// Keeps the first turn of this battle running until the other battle has started too
+					bothRunning.await(60, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		@Override
+		public void onBattleError(BattleErrorEvent event) {
+			errors++;
+		}
+
+		@Override
+		public void onBattleCompleted(BattleCompletedEvent event) {
+			results = event.getIndexedResults();
+		}
+	}
+}
@@ -333,7 +333,12 @@ public class MenuBar extends JMenuBar {
 				if (path != null) {
 					try {
 						robocodeFrame.setBusyPointer(true);
-						recordManager.saveRecord(path, BattleRecordFormat.BINARY_ZIP, new SerializableOptions(false));
+						// Indexed records can be seeked when replayed, and are loaded like other binary records
+						BattleRecordFormat format = properties.getOptionsCommonRecordingFormat().equalsIgnoreCase("indexed")
+								? BattleRecordFormat.BINARY_INDEXED
+								: BattleRecordFormat.BINARY_ZIP;
+
+						recordManager.saveRecord(path, format, new SerializableOptions(false));
 					} finally {
 						robocodeFrame.setBusyPointer(false);
 					}
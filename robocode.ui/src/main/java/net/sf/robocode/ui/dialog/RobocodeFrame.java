@@ -81,6 +81,10 @@ public class RobocodeFrame extends JFrame {
 	private JSlider tpsSlider;
 	private JLabel tpsLabel;
 
+	private JSlider turnSlider;
+	private int turnSliderRound;
+	private boolean isTurnSliderUpdating;
+
 	private boolean iconified;
 	private boolean exitOnClose = true;
 
@@ -503,6 +507,33 @@ public class RobocodeFrame extends JFrame {
 		return tpsLabel;
 	}
 
+	/**
+	 * Return the turnSlider, which is used for seeking a turn within the current round, when a record is replayed.
+	 *
+	 * @return JSlider
+	 */
+	private JSlider getTurnSlider() {
+		if (turnSlider == null) {
+			turnSlider = new JSlider(0, 0, 0);
+			turnSlider.setToolTipText("Turn");
+			turnSlider.addChangeListener(eventHandler);
+
+			WindowUtil.setFixedSize(turnSlider, new Dimension(200, 40));
+
+			turnSlider.setVisible(false);
+		}
+		return turnSlider;
+	}
+
+	private void setTurnOnSlider(int turn) {
+		isTurnSliderUpdating = true;
+		try {
+			getTurnSlider().setValue(turn);
+		} finally {
+			isTurnSliderUpdating = false;
+		}
+	}
+
 	/**
 	 * Return the toolBar.
 	 *
@@ -521,6 +552,7 @@ public class RobocodeFrame extends JFrame {
 
 			toolBar.add(getTpsSlider());
 			toolBar.add(getTpsLabel());
+			toolBar.add(getTurnSlider());
 
 			toolBar.addSeparator();
 
@@ -782,6 +814,10 @@ public class RobocodeFrame extends JFrame {
 				}
 
 				tpsLabel.setText(getTpsFromSliderAsString());
+			} else if (e.getSource() == getTurnSlider()) {
+				if (!isTurnSliderUpdating && !turnSlider.getValueIsAdjusting()) {
+					battleManager.seekTurn(turnSliderRound, turnSlider.getValue());
+				}
 			}
 		}
 	}
@@ -818,6 +854,7 @@ public class RobocodeFrame extends JFrame {
 			getStopButton().setEnabled(true);
 			getRestartButton().setEnabled(battleManager.getBattleProperties().getSelectedRobots() != null);
 			getReplayButton().setEnabled(event.isReplay());
+			getTurnSlider().setVisible(isBattleReplay);
 			menuBar.getBattleSaveRecordAsMenuItem().setEnabled(false);
 			menuBar.getBattleExportRecordMenuItem().setEnabled(false);
 			menuBar.getBattleSaveAsMenuItem().setEnabled(true);
@@ -836,6 +873,16 @@ public class RobocodeFrame extends JFrame {
 		}
 
 		public void onRoundStarted(final RoundStartedEvent event) {
+			if (isBattleReplay) {
+				turnSliderRound = event.getRound();
+				isTurnSliderUpdating = true;
+				try {
+					getTurnSlider().setMaximum(Math.max(recordManager.getTurnsInRound(event.getRound()) - 1, 0));
+					getTurnSlider().setValue(0);
+				} finally {
+					isTurnSliderUpdating = false;
+				}
+			}
 			if (event.getRound() == 0) {
 				getRobotButtonsPanel().removeAll();
 
@@ -881,6 +928,7 @@ public class RobocodeFrame extends JFrame {
 			getStopButton().setEnabled(false);
 			getReplayButton().setEnabled(canReplayRecord);
 			getNextTurnButton().setEnabled(false);
+			getTurnSlider().setVisible(false);
 
 			menuBar.getBattleSaveRecordAsMenuItem().setEnabled(enableSaveRecord);
 			menuBar.getBattleExportRecordMenuItem().setEnabled(enableSaveRecord);
@@ -931,6 +979,9 @@ public class RobocodeFrame extends JFrame {
 			// Only update every half second to spare CPU cycles
 			if ((System.currentTimeMillis() - lastTitleUpdateTime) >= UPDATE_TITLE_INTERVAL) {
 				updateTitle();
+				if (isBattleReplay && !getTurnSlider().getValueIsAdjusting()) {
+					setTurnOnSlider(currentTurn);
+				}
 			}
 		}
 
@@ -17,6 +17,7 @@ include("robocode.tests.robots")
 include("robocode.ui")
 include("robocode.ui.editor")
 include("robocode.main")
+include("robocode.benchmarks")
 
 // Check dependencies with this command:  gradlew dependencyUpdates -Drevision=release
 dependencyResolutionManagement {